@@ -0,0 +1,103 @@
+package org.tanzu.stock_price_mcp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.ai.mcp.server.autoconfigure.McpServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.mcp.McpJsonRpcHandler;
+import org.tanzu.stock_price_mcp.mcp.McpTools;
+import org.tanzu.stock_price_mcp.mcp.StockQuoteHandler;
+import org.tanzu.stock_price_mcp.service.AlphaVantageRateLimiter;
+import org.tanzu.stock_price_mcp.service.AlphaVantageService;
+import org.tanzu.stock_price_mcp.service.ApiKeyPool;
+import org.tanzu.stock_price_mcp.service.BarStore;
+import org.tanzu.stock_price_mcp.service.HotSymbolTracker;
+import org.tanzu.stock_price_mcp.service.IndicatorService;
+import org.tanzu.stock_price_mcp.service.InMemorySharedQuoteStore;
+import org.tanzu.stock_price_mcp.service.QuoteCache;
+import org.tanzu.stock_price_mcp.service.RequestCoalescer;
+import org.tanzu.stock_price_mcp.service.SharedQuoteCache;
+import org.tanzu.stock_price_mcp.service.StockQuoteService;
+import org.tanzu.stock_price_mcp.service.SymbolTable;
+import org.tanzu.stock_price_mcp.service.TimeSeriesService;
+import org.tanzu.stock_price_mcp.service.UpstreamResilience;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Wires the service stack by hand against a WebClient whose exchange function
+ * answers every request with a recorded payload, so benchmarks measure our code
+ * rather than the network. Metrics go to a simple in-memory registry so the
+ * instrumentation cost is part of what is measured.
+ */
+final class Fixtures {
+
+    static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+    static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private Fixtures() {
+    }
+
+    static AlphaVantageConfig config(boolean cacheEnabled) {
+        AlphaVantageConfig config = new AlphaVantageConfig();
+        config.setKey("benchmark");
+        config.setBaseUrl("https://www.alphavantage.co/query");
+        config.getCache().setEnabled(cacheEnabled);
+        config.getRateLimit().setEnabled(false);
+        return config;
+    }
+
+    static WebClient stubWebClient(byte[] payload) {
+        return stubWebClient(payload, Duration.ZERO);
+    }
+
+    /**
+     * A stub that answers after a simulated upstream latency
+     */
+    static WebClient stubWebClient(byte[] payload, Duration latency) {
+        String body = new String(payload, StandardCharsets.UTF_8);
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    Mono<ClientResponse> response = Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                    return latency.isZero() ? response : response.delaySubscription(latency);
+                })
+                .build();
+    }
+
+    static AlphaVantageService alphaVantageService(AlphaVantageConfig config, WebClient webClient) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new AlphaVantageService(webClient, config, new QuoteCache(config),
+                new SharedQuoteCache(new InMemorySharedQuoteStore(), config, meterRegistry), new RequestCoalescer(),
+                new AlphaVantageRateLimiter(config), new ApiKeyPool(config), new UpstreamResilience(config), meterRegistry);
+    }
+
+    static StockQuoteHandler handler(AlphaVantageConfig config, WebClient webClient) {
+        AlphaVantageService alphaVantageService = alphaVantageService(config, webClient);
+        StockQuoteService stockQuoteService = new StockQuoteService(alphaVantageService, new SymbolTable(config),
+                new HotSymbolTracker());
+        BarStore barStore = new BarStore(config);
+        TimeSeriesService timeSeriesService = new TimeSeriesService(alphaVantageService, barStore,
+                new RequestCoalescer(), config);
+        return new StockQuoteHandler(stockQuoteService, timeSeriesService,
+                new IndicatorService(timeSeriesService, barStore, config), config, OBJECT_MAPPER,
+                new SimpleMeterRegistry());
+    }
+
+    static McpJsonRpcHandler rpcHandler(AlphaVantageConfig config, StockQuoteHandler handler) {
+        return new McpJsonRpcHandler(new McpTools(handler, OBJECT_MAPPER), OBJECT_MAPPER, config,
+                new McpServerProperties(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,102 @@
+package org.tanzu.stock_price_mcp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.mcp.McpJsonRpcHandler;
+import org.tanzu.stock_price_mcp.mcp.StockQuoteHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N quote calls made one request at a time through the REST tool endpoint,
+ * against the same N calls sent as one JSON-RPC batch to /mcp/rpc, answered
+ * either as a JSON array or as an event stream. Each call reaches the stubbed
+ * upstream (cache off, distinct symbols) so the upstream latency parameter
+ * shows how much of it a batch overlaps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpTransportBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int calls;
+
+    @Param({"0", "20"})
+    public int upstreamLatencyMillis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StockQuoteHandler handler;
+    private McpJsonRpcHandler rpcHandler;
+    private List<Map<String, Object>> restCalls;
+    private byte[] batch;
+
+    @Setup
+    public void setUp() throws IOException {
+        AlphaVantageConfig config = Fixtures.config(false);
+        handler = Fixtures.handler(config, Fixtures.stubWebClient(Payloads.load("global-quote-IBM.json"),
+                Duration.ofMillis(upstreamLatencyMillis)));
+        rpcHandler = Fixtures.rpcHandler(config, handler);
+        restCalls = new ArrayList<>(calls);
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < calls; i++) {
+            String symbol = symbol(i);
+            restCalls.add(Map.of("name", "quote", "arguments", Map.of("symbol", symbol)));
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"jsonrpc\":\"2.0\",\"id\":").append(i)
+                    .append(",\"method\":\"tools/call\",\"params\":{\"name\":\"quote\",\"arguments\":{\"symbol\":\"")
+                    .append(symbol).append("\"}}}");
+        }
+        batch = body.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String symbol(int index) {
+        return "Q" + (char) ('A' + index / 26) + (char) ('A' + index % 26);
+    }
+
+    @Benchmark
+    public int restSequential() {
+        int bytes = 0;
+        for (Map<String, Object> call : restCalls) {
+            bytes += handler.callTool(call).block().getBody().length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] rpcBatchJson() throws IOException {
+        ResponseEntity<Object> response = rpcHandler.call(batch).block();
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public int rpcBatchStream() throws IOException {
+        int bytes = 0;
+        for (var event : rpcHandler.stream(batch).collectList().block()) {
+            bytes += objectMapper.writeValueAsBytes(event.data()).length;
+        }
+        return bytes;
+    }
+}
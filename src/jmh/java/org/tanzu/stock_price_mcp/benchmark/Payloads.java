@@ -0,0 +1,22 @@
+package org.tanzu.stock_price_mcp.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Recorded AlphaVantage payloads from src/test/resources/alphavantage
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    static byte[] load(String name) throws IOException {
+        try (InputStream in = Payloads.class.getResourceAsStream("/alphavantage/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing recorded payload: " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.tanzu.stock_price_mcp.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of recorded AlphaVantage payloads. Compares the typed GlobalQuote
+ * model against the previous HashMap-only response model, for parsing alone and
+ * for a parse plus re-serialize round trip.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteParsingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] globalQuote;
+    private byte[] timeSeriesDaily;
+
+    @Setup
+    public void setUp() throws IOException {
+        globalQuote = Payloads.load("global-quote-IBM.json");
+        timeSeriesDaily = Payloads.load("time-series-daily-IBM.json");
+    }
+
+    @Benchmark
+    public Object parseMapModel() throws IOException {
+        return objectMapper.readValue(globalQuote, MapResponse.class);
+    }
+
+    @Benchmark
+    public Object parseTypedModel() throws IOException {
+        return objectMapper.readValue(globalQuote, AlphaVantageResponse.class);
+    }
+
+    @Benchmark
+    public Object parseTimeSeriesDaily() throws IOException {
+        return objectMapper.readValue(timeSeriesDaily, AlphaVantageResponse.class);
+    }
+
+    @Benchmark
+    public byte[] roundTripMapModel() throws IOException {
+        MapResponse response = objectMapper.readValue(globalQuote, MapResponse.class);
+        return objectMapper.writeValueAsBytes(Map.of("content", Map.of("type", "text", "text", response.getData())));
+    }
+
+    @Benchmark
+    public byte[] roundTripTypedModel() throws IOException {
+        AlphaVantageResponse response = objectMapper.readValue(globalQuote, AlphaVantageResponse.class);
+        return objectMapper.writeValueAsBytes(Map.of("content", Map.of("type", "text", "text", response.getData())));
+    }
+
+    /**
+     * The response model before GlobalQuote was introduced
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class MapResponse {
+
+        private final Map<String, Object> data = new HashMap<>();
+
+        @JsonAnyGetter
+        public Map<String, Object> getData() {
+            return data;
+        }
+
+        @JsonAnySetter
+        public void setData(String key, Object value) {
+            data.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.tanzu.stock_price_mcp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.tanzu.stock_price_mcp.loadtest.AlphaVantageStubServer;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time to first response and latency of the first tool call for each way of
+ * launching the packaged app: the plain fat jar, the fast-startup build with AOT
+ * only and with AOT plus its CDS archive, and the native image when one has been
+ * built. Each run starts a fresh process against a local AlphaVantage stub;
+ * modes whose artifact is missing are skipped.
+ * <p>
+ * Not a JMH benchmark, as each sample is a process launch. Build first, then run:
+ * <pre>
+ * ./mvnw -Pfast-startup package -DskipTests
+ * ./mvnw -Pbenchmark test-compile exec:exec@startup [-Dstartup.runs=5]
+ * </pre>
+ * Medians are printed and written to target/startup-result.json.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(60);
+    private static final String QUOTE_CALL = "{\"name\":\"quote\",\"arguments\":{\"symbol\":\"IBM\"}}";
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private record Sample(long readyMillis, long firstCallMillis, long rssKb) {
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(System.getProperty("startup.target", "target"));
+        String jarName = System.getProperty("startup.jar-name", "stock-price-mcp-0.0.1-SNAPSHOT");
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path result = Path.of(System.getProperty("startup.result", target.resolve("startup-result.json").toString()));
+
+        List<Mode> modes = modes(target, jarName);
+        if (modes.isEmpty()) {
+            throw new IllegalStateException("No packaged app under " + target.toAbsolutePath()
+                    + "; run ./mvnw -Pfast-startup package -DskipTests first");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<String, Object> report = new LinkedHashMap<>();
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.builder().build().start(0)) {
+            for (Mode mode : modes) {
+                List<Sample> samples = new ArrayList<>(runs);
+                for (int i = 0; i < runs; i++) {
+                    samples.add(run(mode, stub.baseUrl(), client));
+                }
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("runs", runs);
+                summary.put("readyMillis", median(samples.stream().mapToLong(Sample::readyMillis).toArray()));
+                summary.put("firstCallMillis", median(samples.stream().mapToLong(Sample::firstCallMillis).toArray()));
+                summary.put("rssKb", median(samples.stream().mapToLong(Sample::rssKb).toArray()));
+                report.put(mode.name(), summary);
+                System.out.printf("%-8s ready %5d ms  first call %4d ms  rss %7d kB%n", mode.name(),
+                        summary.get("readyMillis"), summary.get("firstCallMillis"), summary.get("rssKb"));
+            }
+        }
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+        System.out.println("Results written to " + result);
+    }
+
+    private static List<Mode> modes(Path target, String jarName) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Path jar = target.resolve(jarName + ".jar");
+        Path extracted = target.resolve("extracted");
+        Path extractedJar = extracted.resolve(jarName + ".jar");
+        Path archive = extracted.resolve("application.jsa");
+        Path nativeImage = target.resolve(jarName.replaceFirst("-\\d.*$", ""));
+
+        List<Mode> modes = new ArrayList<>();
+        if (Files.isRegularFile(jar)) {
+            modes.add(new Mode("jvm", List.of(java, "-jar", jar.toString())));
+        }
+        if (Files.isRegularFile(extractedJar)) {
+            modes.add(new Mode("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", extractedJar.toString())));
+        }
+        if (Files.isRegularFile(archive)) {
+            modes.add(new Mode("aot-cds", List.of(java, "-XX:SharedArchiveFile=" + archive,
+                    "-Dspring.aot.enabled=true", "-jar", extractedJar.toString())));
+        }
+        if (Files.isExecutable(nativeImage)) {
+            modes.add(new Mode("native", List.of(nativeImage.toString())));
+        }
+        return modes;
+    }
+
+    private static Sample run(Mode mode, String stubUrl, HttpClient client) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command());
+        command.addAll(Arrays.asList(
+                "--server.port=" + port,
+                "--alphavantage.api.key=startup-bench",
+                "--alphavantage.api.base-url=" + stubUrl,
+                "--logging.level.root=WARN"));
+        String base = "http://localhost:" + port;
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            awaitFirstResponse(client, URI.create(base + "/actuator/health"), process);
+            long ready = System.nanoTime();
+
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/mcp/tools/call"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(QUOTE_CALL))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            long firstCall = System.nanoTime();
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(mode.name() + ": first tool call returned " + response.statusCode());
+            }
+            return new Sample(Duration.ofNanos(ready - started).toMillis(),
+                    Duration.ofNanos(firstCall - ready).toMillis(), rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void awaitFirstResponse(HttpClient client, URI health, Process process) throws Exception {
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(health).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("App exited with status " + process.exitValue() + " before starting");
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (ConnectException e) {
+                Thread.sleep(5);
+            }
+        }
+        throw new IllegalStateException("App did not start within " + START_TIMEOUT);
+    }
+
+    private static long rssKb(long pid) {
+        // Linux only; reported as 0 elsewhere
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+        return 0;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
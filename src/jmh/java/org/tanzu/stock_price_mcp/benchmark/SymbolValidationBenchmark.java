@@ -0,0 +1,96 @@
+package org.tanzu.stock_price_mcp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.StockQuoteRequest;
+import org.tanzu.stock_price_mcp.service.SymbolTable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Symbol validation and normalization on the quote path. legacyQuotePath is the
+ * path before the symbol table: a regex format check, bean validation of
+ * StockQuoteRequest, then trim and upper-casing for the upstream call.
+ * symbolTable is the single pass that replaced it, with and without a
+ * reference list of listed tickers. Run with -prof gc to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolValidationBenchmark {
+
+    @Param({"IBM", " aapl ", "IBM123"})
+    public String symbol;
+
+    private SymbolTable symbolTable;
+    private SymbolTable listedSymbolTable;
+
+    @Setup
+    public void setUp() throws IOException {
+        symbolTable = new SymbolTable(Fixtures.config(false));
+
+        // Roughly the size of a full LISTING_STATUS download
+        StringBuilder csv = new StringBuilder("symbol,name\nIBM,x\nAAPL,x\n");
+        for (int i = 0; i < 12_000; i++) {
+            csv.append((char) ('A' + i / 676 % 26)).append((char) ('A' + i / 26 % 26))
+                    .append((char) ('A' + i % 26)).append("X,x\n");
+        }
+        Path listing = Files.createTempFile("listing", ".csv");
+        try {
+            Files.writeString(listing, csv, StandardCharsets.UTF_8);
+            AlphaVantageConfig config = Fixtures.config(false);
+            config.getSymbols().setReferenceFile(listing.toString());
+            listedSymbolTable = new SymbolTable(config);
+        } finally {
+            Files.delete(listing);
+        }
+    }
+
+    @Benchmark
+    public String legacyQuotePath() {
+        if (symbol == null || symbol.trim().isEmpty() || !symbol.trim().matches("^[A-Za-z]{1,5}$")) {
+            return null;
+        }
+        if (!Fixtures.VALIDATOR.validate(new StockQuoteRequest(symbol)).isEmpty()) {
+            return null;
+        }
+        return symbol.trim().toUpperCase();
+    }
+
+    @Benchmark
+    public Object beanValidation() {
+        return Fixtures.VALIDATOR.validate(new StockQuoteRequest(symbol));
+    }
+
+    @Benchmark
+    public int encode() {
+        return SymbolTable.encode(symbol);
+    }
+
+    @Benchmark
+    public String symbolTable() {
+        return symbolTable.normalize(symbol);
+    }
+
+    @Benchmark
+    public String symbolTableWithReferenceList() {
+        return listedSymbolTable.normalize(symbol);
+    }
+}
@@ -0,0 +1,73 @@
+package org.tanzu.stock_price_mcp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.mcp.StockQuoteHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MCP tool path through StockQuoteHandler: the tools list (full body and
+ * 304 revalidation), response building for a tool call, and a full quote
+ * round trip (dispatch, argument binding, validation, service chain, stubbed
+ * WebClient decode, serialization). The cached variant
+ * measures the hot path when the quote is served from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolDispatchBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private StockQuoteHandler handler;
+    private String etag;
+    private Map<String, Object> quoteCall;
+    private Map<String, Object> validateCall;
+
+    @Setup
+    public void setUp() throws IOException {
+        AlphaVantageConfig config = Fixtures.config(cached);
+        handler = Fixtures.handler(config, Fixtures.stubWebClient(Payloads.load("global-quote-IBM.json")));
+        quoteCall = Map.of("name", "quote", "arguments", Map.of("symbol", "IBM"));
+        validateCall = Map.of("name", "validate_symbol", "arguments", Map.of("symbol", "IBM"));
+        etag = handler.tools().etag();
+    }
+
+    @Benchmark
+    public byte[] listTools() {
+        return handler.listTools(null).getBody();
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> listToolsNotModified() {
+        return handler.listTools(etag);
+    }
+
+    @Benchmark
+    public byte[] validateSymbolTool() {
+        return handler.callTool(validateCall).block().getBody();
+    }
+
+    @Benchmark
+    public byte[] quoteToolRoundTrip() {
+        return handler.callTool(quoteCall).block().getBody();
+    }
+}
@@ -3,10 +3,13 @@ package org.tanzu.stock_price_mcp;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.config.StockPriceRuntimeHints;
 
 @SpringBootApplication
 @EnableConfigurationProperties(AlphaVantageConfig.class)
+@ImportRuntimeHints(StockPriceRuntimeHints.class)
 public class StockPriceMcpApplication {
 
 	public static void main(String[] args) {
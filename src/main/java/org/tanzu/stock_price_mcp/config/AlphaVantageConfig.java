@@ -3,18 +3,79 @@ package org.tanzu.stock_price_mcp.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @ConfigurationProperties(prefix = "alphavantage.api")
 @Validated
 public class AlphaVantageConfig {
 
-    @NotBlank(message = "AlphaVantage API key is required")
     private String key;
 
+    private List<String> keys = new ArrayList<>();
+
+    @NotNull(message = "API key cooldown is required")
+    private Duration keyCooldown = Duration.ofSeconds(60);
+
     @NotBlank(message = "AlphaVantage API base URL is required")
     private String baseUrl;
 
+    @Valid
+    private Cache cache = new Cache();
+
+    @Valid
+    private RateLimit rateLimit = new RateLimit();
+
+    @Valid
+    private Batch batch = new Batch();
+
+    @Valid
+    private Subscriptions subscriptions = new Subscriptions();
+
+    @Valid
+    private TimeSeries timeSeries = new TimeSeries();
+
+    @Valid
+    private Prewarm prewarm = new Prewarm();
+
+    @Valid
+    private Http http = new Http();
+
+    @Valid
+    private SharedCache sharedCache = new SharedCache();
+
+    @Valid
+    private Resilience resilience = new Resilience();
+
+    @Valid
+    private Symbols symbols = new Symbols();
+
+    @Valid
+    private Snapshot snapshot = new Snapshot();
+
+    @Valid
+    private Batching batching = new Batching();
+
+    @Valid
+    private Indicators indicators = new Indicators();
+
+    @Valid
+    private Rpc rpc = new Rpc();
+
     public String getKey() {
         return key;
     }
@@ -23,6 +84,44 @@ public class AlphaVantageConfig {
         this.key = key;
     }
 
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<String> keys) {
+        this.keys = keys;
+    }
+
+    public Duration getKeyCooldown() {
+        return keyCooldown;
+    }
+
+    public void setKeyCooldown(Duration keyCooldown) {
+        this.keyCooldown = keyCooldown;
+    }
+
+    /**
+     * All configured API keys: the single key followed by the key list, without blanks or duplicates
+     */
+    public List<String> getApiKeys() {
+        Set<String> apiKeys = new LinkedHashSet<>();
+        if (key != null && !key.isBlank()) {
+            apiKeys.add(key.trim());
+        }
+        if (keys != null) {
+            keys.stream()
+                    .filter(k -> k != null && !k.isBlank())
+                    .map(String::trim)
+                    .forEach(apiKeys::add);
+        }
+        return List.copyOf(apiKeys);
+    }
+
+    @AssertTrue(message = "AlphaVantage API key is required")
+    public boolean isApiKeyConfigured() {
+        return !getApiKeys().isEmpty();
+    }
+
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -30,4 +129,1097 @@ public class AlphaVantageConfig {
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
-}
\ No newline at end of file
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public Subscriptions getSubscriptions() {
+        return subscriptions;
+    }
+
+    public void setSubscriptions(Subscriptions subscriptions) {
+        this.subscriptions = subscriptions;
+    }
+
+    public TimeSeries getTimeSeries() {
+        return timeSeries;
+    }
+
+    public void setTimeSeries(TimeSeries timeSeries) {
+        this.timeSeries = timeSeries;
+    }
+
+    public Prewarm getPrewarm() {
+        return prewarm;
+    }
+
+    public void setPrewarm(Prewarm prewarm) {
+        this.prewarm = prewarm;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public void setHttp(Http http) {
+        this.http = http;
+    }
+
+    public SharedCache getSharedCache() {
+        return sharedCache;
+    }
+
+    public void setSharedCache(SharedCache sharedCache) {
+        this.sharedCache = sharedCache;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public void setResilience(Resilience resilience) {
+        this.resilience = resilience;
+    }
+
+    public Symbols getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(Symbols symbols) {
+        this.symbols = symbols;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Batching getBatching() {
+        return batching;
+    }
+
+    public void setBatching(Batching batching) {
+        this.batching = batching;
+    }
+
+    public Indicators getIndicators() {
+        return indicators;
+    }
+
+    public void setIndicators(Indicators indicators) {
+        this.indicators = indicators;
+    }
+
+    public Rpc getRpc() {
+        return rpc;
+    }
+
+    public void setRpc(Rpc rpc) {
+        this.rpc = rpc;
+    }
+
+    /**
+     * Settings for the in-process quote cache (alphavantage.api.cache.*)
+     */
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        @NotNull(message = "Quote cache TTL is required")
+        private Duration ttl = Duration.ofSeconds(60);
+
+        @Min(value = 1, message = "Quote cache max size must be at least 1")
+        private int maxSize = 1000;
+
+        @NotNull(message = "Quote cache stale mode is required")
+        private StaleMode staleMode = StaleMode.NONE;
+
+        @NotNull(message = "Quote cache max stale is required")
+        private Duration maxStale = Duration.ofMinutes(15);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public StaleMode getStaleMode() {
+            return staleMode;
+        }
+
+        public void setStaleMode(StaleMode staleMode) {
+            this.staleMode = staleMode;
+        }
+
+        public Duration getMaxStale() {
+            return maxStale;
+        }
+
+        public void setMaxStale(Duration maxStale) {
+            this.maxStale = maxStale;
+        }
+
+        /**
+         * How quotes past their TTL, but within max-stale, are used
+         */
+        public enum StaleMode {
+            /** Expired quotes are never served */
+            NONE,
+            /** Refresh first; serve the stale quote only if the refresh fails or is throttled */
+            ON_ERROR,
+            /** Serve the stale quote immediately and refresh it in the background */
+            WHILE_REVALIDATE
+        }
+    }
+
+    /**
+     * Client-side token bucket limits per API key (alphavantage.api.rate-limit.*).
+     * The effective limit scales with the number of configured keys.
+     * Defaults match the AlphaVantage free tier.
+     */
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        @Min(value = 1, message = "Requests per minute must be at least 1")
+        private int requestsPerMinute = 5;
+
+        @Min(value = 1, message = "Requests per day must be at least 1")
+        private int requestsPerDay = 25;
+
+        @Min(value = 0, message = "Max queue depth cannot be negative")
+        private int maxQueueDepth = 50;
+
+        @NotNull(message = "Max rate limit wait is required")
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(int requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public int getRequestsPerDay() {
+            return requestsPerDay;
+        }
+
+        public void setRequestsPerDay(int requestsPerDay) {
+            this.requestsPerDay = requestsPerDay;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        public void setMaxQueueDepth(int maxQueueDepth) {
+            this.maxQueueDepth = maxQueueDepth;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Limits for the batch_quote tool (alphavantage.api.batch.*)
+     */
+    public static class Batch {
+
+        @Min(value = 1, message = "Batch max symbols must be at least 1")
+        private int maxSymbols = 50;
+
+        @Min(value = 1, message = "Batch concurrency must be at least 1")
+        private int concurrency = 8;
+
+        public int getMaxSymbols() {
+            return maxSymbols;
+        }
+
+        public void setMaxSymbols(int maxSymbols) {
+            this.maxSymbols = maxSymbols;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    /**
+     * Server-side polling for streamed quote subscriptions (alphavantage.api.subscriptions.*).
+     * Each subscribed symbol is polled once per interval however many clients watch it.
+     */
+    public static class Subscriptions {
+
+        @NotNull(message = "Subscription poll interval is required")
+        private Duration pollInterval = Duration.ofSeconds(60);
+
+        @NotNull(message = "Subscription heartbeat interval is required")
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        @Min(value = 1, message = "Subscription max symbols must be at least 1")
+        private int maxSymbols = 100;
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getHeartbeat() {
+            return heartbeat;
+        }
+
+        public void setHeartbeat(Duration heartbeat) {
+            this.heartbeat = heartbeat;
+        }
+
+        public int getMaxSymbols() {
+            return maxSymbols;
+        }
+
+        public void setMaxSymbols(int maxSymbols) {
+            this.maxSymbols = maxSymbols;
+        }
+    }
+
+    /**
+     * Local bar store behind the time_series tool (alphavantage.api.time-series.*)
+     */
+    public static class TimeSeries {
+
+        @NotNull(message = "Time series store directory is required")
+        private Path storeDir = Path.of(System.getProperty("java.io.tmpdir"), "stock-price-mcp", "bars");
+
+        @NotNull(message = "Time series refresh interval is required")
+        private Duration refreshInterval = Duration.ofHours(1);
+
+        @Min(value = 1, message = "Time series default limit must be at least 1")
+        private int defaultLimit = 100;
+
+        @Min(value = 1, message = "Time series max bars must be at least 1")
+        private int maxBars = 5000;
+
+        @Min(value = 1, message = "Time series max open files must be at least 1")
+        private int maxOpenFiles = 256;
+
+        public Path getStoreDir() {
+            return storeDir;
+        }
+
+        public void setStoreDir(Path storeDir) {
+            this.storeDir = storeDir;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public int getDefaultLimit() {
+            return defaultLimit;
+        }
+
+        public void setDefaultLimit(int defaultLimit) {
+            this.defaultLimit = defaultLimit;
+        }
+
+        public int getMaxBars() {
+            return maxBars;
+        }
+
+        public void setMaxBars(int maxBars) {
+            this.maxBars = maxBars;
+        }
+
+        public int getMaxOpenFiles() {
+            return maxOpenFiles;
+        }
+
+        public void setMaxOpenFiles(int maxOpenFiles) {
+            this.maxOpenFiles = maxOpenFiles;
+        }
+    }
+
+    /**
+     * Background refresh of a hot-symbol watchlist (alphavantage.api.prewarm.*).
+     * The watchlist is the configured symbols plus the most requested symbols
+     * from recent traffic; refreshes are spread over the interval and use at most
+     * budget-share of the per-minute rate limit.
+     */
+    public static class Prewarm {
+
+        private boolean enabled = false;
+
+        private List<String> symbols = new ArrayList<>();
+
+        @Min(value = 0, message = "Prewarm learned symbols must not be negative")
+        private int learnedSymbols = 50;
+
+        @Min(value = 1, message = "Prewarm max symbols must be at least 1")
+        private int maxSymbols = 200;
+
+        @NotNull(message = "Prewarm market hours interval is required")
+        private Duration marketHoursInterval = Duration.ofMinutes(5);
+
+        @NotNull(message = "Prewarm off hours interval is required")
+        private Duration offHoursInterval = Duration.ofHours(1);
+
+        @DecimalMin(value = "0.0", inclusive = false, message = "Prewarm budget share must be greater than 0")
+        @DecimalMax(value = "1.0", message = "Prewarm budget share must be at most 1")
+        private double budgetShare = 0.5;
+
+        @Min(value = 0, message = "Prewarm reserved permits must not be negative")
+        private int reservedPermits = 1;
+
+        @NotNull(message = "Prewarm market zone is required")
+        private ZoneId marketZone = ZoneId.of("America/New_York");
+
+        @NotNull(message = "Prewarm market open time is required")
+        private LocalTime marketOpen = LocalTime.of(9, 30);
+
+        @NotNull(message = "Prewarm market close time is required")
+        private LocalTime marketClose = LocalTime.of(16, 0);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getSymbols() {
+            return symbols;
+        }
+
+        public void setSymbols(List<String> symbols) {
+            this.symbols = symbols;
+        }
+
+        public int getLearnedSymbols() {
+            return learnedSymbols;
+        }
+
+        public void setLearnedSymbols(int learnedSymbols) {
+            this.learnedSymbols = learnedSymbols;
+        }
+
+        public int getMaxSymbols() {
+            return maxSymbols;
+        }
+
+        public void setMaxSymbols(int maxSymbols) {
+            this.maxSymbols = maxSymbols;
+        }
+
+        public Duration getMarketHoursInterval() {
+            return marketHoursInterval;
+        }
+
+        public void setMarketHoursInterval(Duration marketHoursInterval) {
+            this.marketHoursInterval = marketHoursInterval;
+        }
+
+        public Duration getOffHoursInterval() {
+            return offHoursInterval;
+        }
+
+        public void setOffHoursInterval(Duration offHoursInterval) {
+            this.offHoursInterval = offHoursInterval;
+        }
+
+        public double getBudgetShare() {
+            return budgetShare;
+        }
+
+        public void setBudgetShare(double budgetShare) {
+            this.budgetShare = budgetShare;
+        }
+
+        public int getReservedPermits() {
+            return reservedPermits;
+        }
+
+        public void setReservedPermits(int reservedPermits) {
+            this.reservedPermits = reservedPermits;
+        }
+
+        public ZoneId getMarketZone() {
+            return marketZone;
+        }
+
+        public void setMarketZone(ZoneId marketZone) {
+            this.marketZone = marketZone;
+        }
+
+        public LocalTime getMarketOpen() {
+            return marketOpen;
+        }
+
+        public void setMarketOpen(LocalTime marketOpen) {
+            this.marketOpen = marketOpen;
+        }
+
+        public LocalTime getMarketClose() {
+            return marketClose;
+        }
+
+        public void setMarketClose(LocalTime marketClose) {
+            this.marketClose = marketClose;
+        }
+    }
+
+    /**
+     * Reactor Netty client and connection pool used for AlphaVantage calls (alphavantage.api.http.*).
+     * Idle connections are kept for reuse so most calls skip the TCP and TLS handshakes.
+     */
+    public static class Http {
+
+        @NotNull(message = "HTTP connect timeout is required")
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        @NotNull(message = "HTTP response timeout is required")
+        private Duration responseTimeout = Duration.ofSeconds(30);
+
+        @Min(value = 1, message = "HTTP max connections must be at least 1")
+        private int maxConnections = 50;
+
+        @Min(value = 1, message = "HTTP pending acquire max count must be at least 1")
+        private int pendingAcquireMaxCount = 500;
+
+        @NotNull(message = "HTTP pending acquire timeout is required")
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+        @NotNull(message = "HTTP max idle time is required")
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        @NotNull(message = "HTTP max life time is required")
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        @NotNull(message = "HTTP eviction interval is required")
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        private boolean http2 = false;
+
+        @NotNull(message = "HTTP DNS cache TTL is required")
+        private Duration dnsCacheTtl = Duration.ofMinutes(5);
+
+        @Min(value = 0, message = "HTTP warm-up connections must not be negative")
+        private int warmupConnections = 2;
+
+        private boolean poolMetrics = true;
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public Duration getDnsCacheTtl() {
+            return dnsCacheTtl;
+        }
+
+        public void setDnsCacheTtl(Duration dnsCacheTtl) {
+            this.dnsCacheTtl = dnsCacheTtl;
+        }
+
+        public int getWarmupConnections() {
+            return warmupConnections;
+        }
+
+        public void setWarmupConnections(int warmupConnections) {
+            this.warmupConnections = warmupConnections;
+        }
+
+        public boolean isPoolMetrics() {
+            return poolMetrics;
+        }
+
+        public void setPoolMetrics(boolean poolMetrics) {
+            this.poolMetrics = poolMetrics;
+        }
+    }
+
+    /**
+     * Quote cache shared by all instances (alphavantage.api.shared-cache.*). With a
+     * Redis URL the cache lives in Redis; without one an in-process stand-in is used.
+     * Only one instance fetches a symbol at a time; the others wait up to lock-wait
+     * for its result.
+     */
+    public static class SharedCache {
+
+        private boolean enabled = false;
+
+        private String redisUrl;
+
+        @NotBlank(message = "Shared cache key prefix is required")
+        private String keyPrefix = "stock-price-mcp:";
+
+        @NotNull(message = "Shared cache TTL is required")
+        private Duration ttl = Duration.ofSeconds(60);
+
+        @NotNull(message = "Shared cache lock TTL is required")
+        private Duration lockTtl = Duration.ofSeconds(10);
+
+        @NotNull(message = "Shared cache lock wait is required")
+        private Duration lockWait = Duration.ofSeconds(5);
+
+        @NotNull(message = "Shared cache poll interval is required")
+        private Duration pollInterval = Duration.ofMillis(100);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getRedisUrl() {
+            return redisUrl;
+        }
+
+        public void setRedisUrl(String redisUrl) {
+            this.redisUrl = redisUrl;
+        }
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getLockTtl() {
+            return lockTtl;
+        }
+
+        public void setLockTtl(Duration lockTtl) {
+            this.lockTtl = lockTtl;
+        }
+
+        public Duration getLockWait() {
+            return lockWait;
+        }
+
+        public void setLockWait(Duration lockWait) {
+            this.lockWait = lockWait;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    /**
+     * Timeouts, hedging, retries and the circuit breaker around AlphaVantage calls
+     * (alphavantage.api.resilience.*). The timeout adapts to timeout-multiplier times
+     * the observed p99 latency, within [min-timeout, max-timeout]; hedged requests
+     * start after the observed p95. Only network errors are retried.
+     */
+    public static class Resilience {
+
+        @NotNull(message = "Resilience min timeout is required")
+        private Duration minTimeout = Duration.ofSeconds(2);
+
+        @NotNull(message = "Resilience max timeout is required")
+        private Duration maxTimeout = Duration.ofSeconds(30);
+
+        @DecimalMin(value = "1.0", message = "Resilience timeout multiplier must be at least 1")
+        private double timeoutMultiplier = 3.0;
+
+        @Min(value = 1, message = "Resilience latency window must be at least 1")
+        private int latencyWindow = 200;
+
+        @Min(value = 1, message = "Resilience min latency samples must be at least 1")
+        private int minLatencySamples = 20;
+
+        private boolean hedgingEnabled = false;
+
+        @Min(value = 0, message = "Resilience max retries must not be negative")
+        private int maxRetries = 2;
+
+        @NotNull(message = "Resilience retry backoff is required")
+        private Duration retryBackoff = Duration.ofMillis(200);
+
+        @DecimalMin(value = "0.0", message = "Resilience retry jitter must be between 0 and 1")
+        @DecimalMax(value = "1.0", message = "Resilience retry jitter must be between 0 and 1")
+        private double retryJitter = 0.5;
+
+        private boolean circuitBreakerEnabled = true;
+
+        @Min(value = 1, message = "Resilience failure rate threshold must be between 1 and 100")
+        @Max(value = 100, message = "Resilience failure rate threshold must be between 1 and 100")
+        private int failureRateThreshold = 50;
+
+        @Min(value = 1, message = "Resilience sliding window must be at least 1")
+        private int slidingWindow = 20;
+
+        @Min(value = 1, message = "Resilience minimum calls must be at least 1")
+        private int minimumCalls = 10;
+
+        @NotNull(message = "Resilience open duration is required")
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        @Min(value = 1, message = "Resilience half-open calls must be at least 1")
+        private int halfOpenCalls = 3;
+
+        public Duration getMinTimeout() {
+            return minTimeout;
+        }
+
+        public void setMinTimeout(Duration minTimeout) {
+            this.minTimeout = minTimeout;
+        }
+
+        public Duration getMaxTimeout() {
+            return maxTimeout;
+        }
+
+        public void setMaxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+        }
+
+        public double getTimeoutMultiplier() {
+            return timeoutMultiplier;
+        }
+
+        public void setTimeoutMultiplier(double timeoutMultiplier) {
+            this.timeoutMultiplier = timeoutMultiplier;
+        }
+
+        public int getLatencyWindow() {
+            return latencyWindow;
+        }
+
+        public void setLatencyWindow(int latencyWindow) {
+            this.latencyWindow = latencyWindow;
+        }
+
+        public int getMinLatencySamples() {
+            return minLatencySamples;
+        }
+
+        public void setMinLatencySamples(int minLatencySamples) {
+            this.minLatencySamples = minLatencySamples;
+        }
+
+        public boolean isHedgingEnabled() {
+            return hedgingEnabled;
+        }
+
+        public void setHedgingEnabled(boolean hedgingEnabled) {
+            this.hedgingEnabled = hedgingEnabled;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public double getRetryJitter() {
+            return retryJitter;
+        }
+
+        public void setRetryJitter(double retryJitter) {
+            this.retryJitter = retryJitter;
+        }
+
+        public boolean isCircuitBreakerEnabled() {
+            return circuitBreakerEnabled;
+        }
+
+        public void setCircuitBreakerEnabled(boolean circuitBreakerEnabled) {
+            this.circuitBreakerEnabled = circuitBreakerEnabled;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindow() {
+            return slidingWindow;
+        }
+
+        public void setSlidingWindow(int slidingWindow) {
+            this.slidingWindow = slidingWindow;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    /**
+     * Symbol validation (alphavantage.api.symbols.*). With a reference file, only
+     * the symbols it lists are accepted; the file is a plain list or an AlphaVantage
+     * LISTING_STATUS CSV, read from its first column.
+     */
+    public static class Symbols {
+
+        private String referenceFile;
+
+        @Min(value = 1, message = "Max interned symbols must be at least 1")
+        private int maxInterned = 100_000;
+
+        public String getReferenceFile() {
+            return referenceFile;
+        }
+
+        public void setReferenceFile(String referenceFile) {
+            this.referenceFile = referenceFile;
+        }
+
+        public int getMaxInterned() {
+            return maxInterned;
+        }
+
+        public void setMaxInterned(int maxInterned) {
+            this.maxInterned = maxInterned;
+        }
+    }
+
+    /**
+     * Quote cache snapshot for warm restarts (alphavantage.api.snapshot.*). The
+     * cache is written to the file every interval and on shutdown, and read back
+     * in the background on startup. Time series need no snapshot: the bar store
+     * is already on disk.
+     */
+    public static class Snapshot {
+
+        private boolean enabled = false;
+
+        @NotNull(message = "Snapshot file is required")
+        private Path file = Path.of(System.getProperty("java.io.tmpdir"), "stock-price-mcp", "quotes.snapshot");
+
+        @NotNull(message = "Snapshot interval is required")
+        private Duration interval = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public void setFile(Path file) {
+            this.file = file;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+    }
+
+    /**
+     * Micro-batching of quote lookups into REALTIME_BULK_QUOTES calls
+     * (alphavantage.api.batching.*). Lookups arriving within the window, up to
+     * max-batch-size symbols, share one bulk call. Bulk quotes are a premium
+     * function: when AlphaVantage refuses them, lookups go one GLOBAL_QUOTE call
+     * per symbol again until the entitlement-retry interval has passed.
+     */
+    public static class Batching {
+
+        private boolean enabled = false;
+
+        @NotNull(message = "Batching window is required")
+        private Duration window = Duration.ofMillis(50);
+
+        @Min(value = 1, message = "Max batch size must be at least 1")
+        @Max(value = 100, message = "Max batch size must be at most 100, the bulk quote limit")
+        private int maxBatchSize = 100;
+
+        @NotNull(message = "Batching entitlement retry interval is required")
+        private Duration entitlementRetry = Duration.ofHours(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public Duration getEntitlementRetry() {
+            return entitlementRetry;
+        }
+
+        public void setEntitlementRetry(Duration entitlementRetry) {
+            this.entitlementRetry = entitlementRetry;
+        }
+    }
+
+    /**
+     * Locally computed indicators behind the indicators tool
+     * (alphavantage.api.indicators.*). Indicator state is kept per symbol and
+     * interval for up to max-cached-series series, least recently used first out.
+     */
+    public static class Indicators {
+
+        @Min(value = 1, message = "Max indicators per call must be at least 1")
+        private int maxIndicators = 10;
+
+        @Min(value = 1, message = "Max indicator period must be at least 1")
+        private int maxPeriod = 500;
+
+        @Min(value = 1, message = "Max cached indicator series must be at least 1")
+        private int maxCachedSeries = 500;
+
+        public int getMaxIndicators() {
+            return maxIndicators;
+        }
+
+        public void setMaxIndicators(int maxIndicators) {
+            this.maxIndicators = maxIndicators;
+        }
+
+        public int getMaxPeriod() {
+            return maxPeriod;
+        }
+
+        public void setMaxPeriod(int maxPeriod) {
+            this.maxPeriod = maxPeriod;
+        }
+
+        public int getMaxCachedSeries() {
+            return maxCachedSeries;
+        }
+
+        public void setMaxCachedSeries(int maxCachedSeries) {
+            this.maxCachedSeries = maxCachedSeries;
+        }
+    }
+
+    /**
+     * JSON-RPC endpoint for MCP clients (alphavantage.api.rpc.*). A batch holds
+     * at most max-batch-size messages, of which up to concurrency run at once.
+     */
+    public static class Rpc {
+
+        @Min(value = 1, message = "RPC max batch size must be at least 1")
+        private int maxBatchSize = 50;
+
+        @Min(value = 1, message = "RPC concurrency must be at least 1")
+        private int concurrency = 8;
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+}
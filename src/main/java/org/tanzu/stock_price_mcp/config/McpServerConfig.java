@@ -0,0 +1,77 @@
+package org.tanzu.stock_price_mcp.config;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.tanzu.stock_price_mcp.mcp.McpTools;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registers the stock tools with the Spring AI MCP server, which serves them
+ * over its session transport (GET /sse for the event stream, POST
+ * /mcp/message for client messages). The server runs in ASYNC mode so tool
+ * calls stay non-blocking end to end.
+ */
+@Configuration
+public class McpServerConfig {
+
+    @Bean
+    public List<McpServerFeatures.AsyncToolSpecification> stockToolSpecifications(McpTools mcpTools) {
+        return mcpTools.specifications();
+    }
+
+    @Bean
+    public McpSessionCloser mcpSessionCloser(McpAsyncServer mcpServer) {
+        return new McpSessionCloser(mcpServer);
+    }
+
+    /**
+     * Ends the open /sse sessions when the application stops. Each session is
+     * a request that never finishes on its own, so left open it would hold the
+     * web server's graceful shutdown for its whole timeout.
+     */
+    static class McpSessionCloser implements SmartLifecycle {
+
+        private static final Logger logger = LoggerFactory.getLogger(McpSessionCloser.class);
+        private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+        private final McpAsyncServer mcpServer;
+        private volatile boolean running;
+
+        McpSessionCloser(McpAsyncServer mcpServer) {
+            this.mcpServer = mcpServer;
+        }
+
+        @Override
+        public void start() {
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+            try {
+                mcpServer.closeGracefully().block(CLOSE_TIMEOUT);
+            } catch (RuntimeException e) {
+                logger.warn("Closing MCP sessions failed: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public int getPhase() {
+            // Above the web server's graceful shutdown phase, so sessions end before it waits on requests
+            return SmartLifecycle.DEFAULT_PHASE - 512;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.tanzu.stock_price_mcp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.tanzu.stock_price_mcp.service.InMemorySharedQuoteStore;
+import org.tanzu.stock_price_mcp.service.RedisSharedQuoteStore;
+import org.tanzu.stock_price_mcp.service.SharedQuoteStore;
+
+/**
+ * Selects the store behind the shared quote cache: Redis when the shared cache
+ * is enabled with a Redis URL, otherwise the in-process stand-in.
+ */
+@Configuration
+public class SharedCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedCacheConfig.class);
+
+    @Bean
+    public SharedQuoteStore sharedQuoteStore(AlphaVantageConfig config) {
+        AlphaVantageConfig.SharedCache settings = config.getSharedCache();
+        if (settings.isEnabled() && settings.getRedisUrl() != null && !settings.getRedisUrl().isBlank()) {
+            logger.info("Sharing the quote cache through Redis");
+            return new RedisSharedQuoteStore(settings.getRedisUrl());
+        }
+        if (settings.isEnabled()) {
+            logger.info("No shared cache Redis URL configured, using an in-process store");
+        }
+        return new InMemorySharedQuoteStore();
+    }
+}
@@ -0,0 +1,44 @@
+package org.tanzu.stock_price_mcp.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+import org.tanzu.stock_price_mcp.mcp.StockQuoteHandler;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import org.tanzu.stock_price_mcp.model.StockQuoteRequest;
+
+import java.util.Arrays;
+
+/**
+ * Reflection hints for a GraalVM native image, for what AOT processing cannot
+ * see on its own:
+ * <ul>
+ *   <li>Jackson binding of the AlphaVantage payloads and tool results, including
+ *       the custom (de)serializers they name</li>
+ *   <li>binding of alphavantage.api.* onto AlphaVantageConfig and its nested
+ *       settings classes</li>
+ *   <li>the {@code @McpTool} methods and argument records that the tool registry
+ *       reads and invokes reflectively</li>
+ * </ul>
+ */
+public class StockPriceRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+        bindingHints.registerReflectionHints(hints.reflection(),
+                AlphaVantageResponse.class, GlobalQuote.class, Bar.class, StockQuoteRequest.class);
+
+        BindableRuntimeHintsRegistrar.forTypes(AlphaVantageConfig.class).registerHints(hints, classLoader);
+
+        hints.reflection().registerType(StockQuoteHandler.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        Class<?>[] argumentRecords = Arrays.stream(StockQuoteHandler.class.getDeclaredClasses())
+                .filter(Class::isRecord)
+                .toArray(Class<?>[]::new);
+        bindingHints.registerReflectionHints(hints.reflection(), argumentRecords);
+    }
+}
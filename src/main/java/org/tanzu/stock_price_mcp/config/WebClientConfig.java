@@ -1,25 +1,114 @@
 package org.tanzu.stock_price_mcp.config;
 
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.net.URI;
 import java.time.Duration;
 
+/**
+ * HTTP client for AlphaVantage calls. Connections come from a dedicated,
+ * bounded pool that keeps idle connections alive for reuse and evicts them in
+ * the background once idle or too old, so most calls skip the TCP and TLS
+ * handshakes. Once the application is ready, a few connections are opened
+ * ahead of traffic.
+ */
 @Configuration
 public class WebClientConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebClientConfig.class);
+
+    static final String POOL_NAME = "alphavantage";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider alphaVantageConnectionProvider(AlphaVantageConfig config) {
+        return connectionProvider(config.getHttp());
+    }
+
     @Bean
-    public WebClient webClient() {
-        HttpClient httpClient = HttpClient.create()
-                .responseTimeout(Duration.ofSeconds(30))
-                .followRedirect(true);
+    public HttpClient alphaVantageHttpClient(ConnectionProvider alphaVantageConnectionProvider,
+                                             AlphaVantageConfig config) {
+        return httpClient(alphaVantageConnectionProvider, config.getHttp(), config.getBaseUrl());
+    }
 
+    @Bean
+    public WebClient webClient(HttpClient alphaVantageHttpClient) {
         return WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .clientConnector(new ReactorClientHttpConnector(alphaVantageHttpClient))
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024)) // 1MB
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> alphaVantageConnectionWarmup(HttpClient alphaVantageHttpClient,
+                                                                                   AlphaVantageConfig config) {
+        return event -> warmUp(alphaVantageHttpClient, config.getBaseUrl(), config.getHttp().getWarmupConnections())
+                .subscribe(opened -> logger.info("Warmed up {} AlphaVantage connections", opened));
+    }
+
+    static ConnectionProvider connectionProvider(AlphaVantageConfig.Http settings) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .evictInBackground(settings.getEvictionInterval())
+                .metrics(settings.isPoolMetrics())
+                .build();
+    }
+
+    /**
+     * HTTP/2 is negotiated through TLS ALPN, so it is only offered for an https base URL
+     */
+    static HttpClient httpClient(ConnectionProvider provider, AlphaVantageConfig.Http settings, String baseUrl) {
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(settings.getResponseTimeout())
+                .followRedirect(true);
+        if (settings.isHttp2() && "https".equalsIgnoreCase(URI.create(baseUrl).getScheme())) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        Duration dnsCacheTtl = settings.getDnsCacheTtl();
+        if (!dnsCacheTtl.isZero()) {
+            httpClient = httpClient.resolver(spec -> spec.cacheMaxTimeToLive(dnsCacheTtl));
+        }
+        return httpClient;
+    }
+
+    /**
+     * Initialize the event loop and DNS resolver, then open connections to the
+     * base URL host with concurrent HEAD requests. The requests carry no API key,
+     * so they do not count against the AlphaVantage quota.
+     * @return Mono of the number of connections that completed a request
+     */
+    static Mono<Long> warmUp(HttpClient httpClient, String baseUrl, int connections) {
+        if (connections == 0) {
+            return Mono.empty();
+        }
+        return httpClient.warmup()
+                .thenMany(Flux.range(0, connections)
+                        .flatMap(i -> httpClient.head()
+                                .uri(baseUrl)
+                                .responseSingle((response, body) -> body.then(Mono.just(response.status())))
+                                .onErrorResume(e -> {
+                                    logger.warn("Warming up AlphaVantage connection failed: {}", e.getMessage());
+                                    return Mono.empty();
+                                }), connections))
+                .count();
+    }
+}
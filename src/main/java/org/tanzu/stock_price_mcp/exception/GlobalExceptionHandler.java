@@ -3,15 +3,24 @@ package org.tanzu.stock_price_mcp.exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.tanzu.stock_price_mcp.service.AlphaVantageRateLimiter;
+import org.tanzu.stock_price_mcp.service.QuoteSubscriptionService;
+import org.tanzu.stock_price_mcp.service.UpstreamResilience;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Error responses are always JSON; the content type is set explicitly so errors
+ * from endpoints that produce something else, such as the quote event stream,
+ * are still written.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -26,7 +35,18 @@ public class GlobalExceptionHandler {
         errorResponse.put("message", ex.getMessage());
         errorResponse.put("code", ex.getErrorCode());
         
-        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(errorResponse);
+        HttpStatus status;
+        if (AlphaVantageRateLimiter.RATE_LIMITED.equals(ex.getErrorCode())) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+        } else if (UpstreamResilience.CIRCUIT_OPEN.equals(ex.getErrorCode())
+                || QuoteSubscriptionService.SUBSCRIPTION_LIMIT.equals(ex.getErrorCode())) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            status = HttpStatus.BAD_GATEWAY;
+        }
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 
     @ExceptionHandler(WebClientResponseException.class)
@@ -38,7 +58,9 @@ public class GlobalExceptionHandler {
         errorResponse.put("message", "Failed to call AlphaVantage API");
         errorResponse.put("status", ex.getStatusCode().value());
         
-        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 
     @ExceptionHandler(WebClientException.class)
@@ -49,7 +71,9 @@ public class GlobalExceptionHandler {
         errorResponse.put("error", "Network Error");
         errorResponse.put("message", "Failed to connect to AlphaVantage API");
         
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -60,7 +84,9 @@ public class GlobalExceptionHandler {
         errorResponse.put("error", "Invalid Argument");
         errorResponse.put("message", ex.getMessage());
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 
     @ExceptionHandler(Exception.class)
@@ -71,6 +97,8 @@ public class GlobalExceptionHandler {
         errorResponse.put("error", "Internal Server Error");
         errorResponse.put("message", "An unexpected error occurred");
         
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.server.autoconfigure.McpServerProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MCP over plain JSON-RPC on one endpoint, for clients that want to send many
+ * tool calls in one message. The body is a single JSON-RPC message or a batch
+ * (an array of them). Requests in a batch run concurrently, up to the
+ * configured concurrency.
+ * <p>
+ * With Accept: text/event-stream, each response is sent as a "message" event
+ * as soon as its call finishes, in completion order. With Accept:
+ * application/json, the responses come back together, as one object for a
+ * single request or an array in request order for a batch. A body holding only
+ * notifications is answered with 202 Accepted.
+ * <p>
+ * Supports initialize, ping, tools/list and tools/call. There are no sessions
+ * here; clients that need them use the MCP server's /sse transport.
+ */
+@RestController
+@RequestMapping("/mcp")
+public class McpJsonRpcHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpJsonRpcHandler.class);
+
+    static final String BATCH_SIZE = "mcp.rpc.batch.size";
+
+    /**
+     * 2025-03-26 is the protocol revision that defines JSON-RPC batching
+     */
+    static final String PROTOCOL_VERSION = "2025-03-26";
+    private static final Set<String> PROTOCOL_VERSIONS = Set.of(McpSchema.LATEST_PROTOCOL_VERSION, PROTOCOL_VERSION);
+
+    private final McpTools mcpTools;
+    private final ObjectMapper objectMapper;
+    private final AlphaVantageConfig.Rpc settings;
+    private final Map<String, Object> serverInfo;
+    private final DistributionSummary batchSize;
+
+    @Autowired
+    public McpJsonRpcHandler(McpTools mcpTools, ObjectMapper objectMapper, AlphaVantageConfig config,
+                             McpServerProperties serverProperties, MeterRegistry meterRegistry) {
+        this.mcpTools = mcpTools;
+        this.objectMapper = objectMapper;
+        this.settings = config.getRpc();
+        this.serverInfo = Map.of("name", serverProperties.getName(), "version", serverProperties.getVersion());
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE)
+                .description("Messages per JSON-RPC request body")
+                .register(meterRegistry);
+    }
+
+    @PostMapping(value = "/rpc", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, Object>>> stream(@RequestBody byte[] body) {
+        return responses(parse(body), false)
+                .map(response -> ServerSentEvent.builder(response).event("message").build());
+    }
+
+    @PostMapping(value = "/rpc", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> call(@RequestBody byte[] body) {
+        JsonNode message = parse(body);
+        Flux<Map<String, Object>> responses = responses(message, true);
+        if (message != null && isBatch(message)) {
+            return responses.collectList()
+                    .map(list -> list.isEmpty() ? ResponseEntity.accepted().build() : ResponseEntity.ok(list));
+        }
+        return responses.next()
+                .map(response -> ResponseEntity.<Object>ok(response))
+                .defaultIfEmpty(ResponseEntity.accepted().build());
+    }
+
+    /**
+     * Responses to the messages in a body
+     * @param message The parsed body, or null if it was not valid JSON
+     * @param ordered Emit responses in request order rather than as they complete
+     */
+    Flux<Map<String, Object>> responses(JsonNode message, boolean ordered) {
+        if (message == null) {
+            return Flux.just(error(null, McpSchema.ErrorCodes.PARSE_ERROR, "Parse error"));
+        }
+        if (!message.isArray()) {
+            batchSize.record(1);
+            return handle(message).flux();
+        }
+        if (!isBatch(message)) {
+            return Flux.just(error(null, McpSchema.ErrorCodes.INVALID_REQUEST,
+                    "Batch must hold between 1 and " + settings.getMaxBatchSize() + " messages"));
+        }
+        batchSize.record(message.size());
+        logger.debug("JSON-RPC batch of {} messages", message.size());
+        List<JsonNode> requests = new ArrayList<>(message.size());
+        message.forEach(requests::add);
+        return ordered
+                ? Flux.fromIterable(requests).flatMapSequential(this::handle, settings.getConcurrency())
+                : Flux.fromIterable(requests).flatMap(this::handle, settings.getConcurrency());
+    }
+
+    private boolean isBatch(JsonNode message) {
+        return message.isArray() && !message.isEmpty() && message.size() <= settings.getMaxBatchSize();
+    }
+
+    private JsonNode parse(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Handle one message. Notifications (messages without an id) complete empty.
+     */
+    private Mono<Map<String, Object>> handle(JsonNode request) {
+        if (!request.isObject() || !McpSchema.JSONRPC_VERSION.equals(request.path("jsonrpc").asText())
+                || !request.path("method").isTextual()) {
+            return Mono.just(error(request.isObject() ? request.get("id") : null,
+                    McpSchema.ErrorCodes.INVALID_REQUEST, "Invalid request"));
+        }
+        JsonNode id = request.get("id");
+        String method = request.get("method").asText();
+        JsonNode params = request.path("params");
+        Mono<Object> result = switch (method) {
+            case McpSchema.METHOD_INITIALIZE -> Mono.just(initializeResult(params));
+            case McpSchema.METHOD_PING -> Mono.just(Map.of());
+            case McpSchema.METHOD_TOOLS_LIST -> Mono.just(Map.of("tools", mcpTools.tools()));
+            case McpSchema.METHOD_TOOLS_CALL -> callTool(params);
+            default -> method.startsWith("notifications/") ? Mono.empty()
+                    : Mono.error(new RpcException(McpSchema.ErrorCodes.METHOD_NOT_FOUND, "Method not found: " + method));
+        };
+        if (id == null) {
+            return result.onErrorResume(e -> Mono.empty()).then(Mono.empty());
+        }
+        return result
+                .map(value -> success(id, value))
+                .onErrorResume(RpcException.class, e -> Mono.just(error(id, e.code, e.getMessage())))
+                .onErrorResume(e -> {
+                    logger.error("JSON-RPC {} failed", method, e);
+                    return Mono.just(error(id, McpSchema.ErrorCodes.INTERNAL_ERROR, String.valueOf(e.getMessage())));
+                });
+    }
+
+    private Map<String, Object> initializeResult(JsonNode params) {
+        String requested = params.path("protocolVersion").asText();
+        return Map.of(
+            "protocolVersion", PROTOCOL_VERSIONS.contains(requested) ? requested : PROTOCOL_VERSION,
+            "capabilities", Map.of("tools", Map.of()),
+            "serverInfo", serverInfo
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Object> callTool(JsonNode params) {
+        String name = params.path("name").asText(null);
+        if (name == null || !mcpTools.hasTool(name)) {
+            return Mono.error(new RpcException(McpSchema.ErrorCodes.INVALID_PARAMS, "Unknown tool: " + name));
+        }
+        JsonNode arguments = params.path("arguments");
+        if (!arguments.isMissingNode() && !arguments.isObject()) {
+            return Mono.error(new RpcException(McpSchema.ErrorCodes.INVALID_PARAMS, "Tool arguments must be an object"));
+        }
+        Map<String, Object> argumentMap = arguments.isObject()
+                ? objectMapper.convertValue(arguments, Map.class) : Map.of();
+        return mcpTools.call(name, argumentMap).cast(Object.class);
+    }
+
+    private static Map<String, Object> success(JsonNode id, Object result) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jsonrpc", McpSchema.JSONRPC_VERSION);
+        response.put("id", id);
+        response.put("result", result);
+        return response;
+    }
+
+    private static Map<String, Object> error(JsonNode id, int code, String message) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jsonrpc", McpSchema.JSONRPC_VERSION);
+        response.put("id", id);
+        response.put("error", Map.of("code", code, "message", message));
+        return response;
+    }
+
+    private static final class RpcException extends RuntimeException {
+
+        private final int code;
+
+        RpcException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+}
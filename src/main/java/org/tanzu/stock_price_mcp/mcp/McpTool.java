@@ -0,0 +1,25 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a method as an MCP tool for {@link ToolRegistry}. The method takes
+ * a single record of arguments, described with {@link McpToolParam}, and
+ * returns a Mono of the tool's result map.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface McpTool {
+
+    /**
+     * Tool name used by clients to call the tool
+     */
+    String name();
+
+    String description();
+}
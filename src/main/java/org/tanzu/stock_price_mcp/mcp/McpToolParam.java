@@ -0,0 +1,30 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Describes one argument of an {@link McpTool}, as a component of the tool's
+ * argument record. The JSON schema type comes from the component's Java type.
+ * <p>
+ * Strings may refer to configured limits as ${name}, resolved from the limits
+ * given to the {@link ToolRegistry}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.RECORD_COMPONENT)
+public @interface McpToolParam {
+
+    String description();
+
+    boolean required() default false;
+
+    /**
+     * Further JSON schema keywords for the argument as a JSON object, e.g.
+     * {"minimum": 1}
+     */
+    String schema() default "";
+}
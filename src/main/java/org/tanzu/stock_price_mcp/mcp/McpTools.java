@@ -0,0 +1,78 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The tools of {@link StockQuoteHandler} in MCP protocol form: tool
+ * descriptors with their input schemas, and calls that return a
+ * CallToolResult with the tool's JSON result as text content. Used both for
+ * the MCP server's session transport and for the JSON-RPC endpoint.
+ */
+@Component
+public class McpTools {
+
+    private final StockQuoteHandler handler;
+    private final ObjectMapper objectMapper;
+    private final Map<String, McpSchema.Tool> tools;
+
+    @Autowired
+    public McpTools(StockQuoteHandler handler, ObjectMapper objectMapper) {
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+        Map<String, McpSchema.Tool> tools = new LinkedHashMap<>();
+        for (ToolRegistry.Tool tool : handler.tools().tools()) {
+            tools.put(tool.name(), new McpSchema.Tool(tool.name(), tool.description(), tool.inputSchema()));
+        }
+        this.tools = Collections.unmodifiableMap(tools);
+    }
+
+    public List<McpSchema.Tool> tools() {
+        return new ArrayList<>(tools.values());
+    }
+
+    public boolean hasTool(String name) {
+        return tools.containsKey(name);
+    }
+
+    /**
+     * Call a tool. A result carrying an "error" entry is flagged isError, as
+     * MCP expects for tool-level failures.
+     */
+    public Mono<McpSchema.CallToolResult> call(String name, Map<String, Object> arguments) {
+        return handler.invoke(name, arguments)
+                .map(result -> new McpSchema.CallToolResult(
+                        List.of(new McpSchema.TextContent(toJson(result))), result.containsKey("error")));
+    }
+
+    /**
+     * Tool specifications for the MCP server
+     */
+    public List<McpServerFeatures.AsyncToolSpecification> specifications() {
+        List<McpServerFeatures.AsyncToolSpecification> specifications = new ArrayList<>(tools.size());
+        for (McpSchema.Tool tool : tools.values()) {
+            specifications.add(new McpServerFeatures.AsyncToolSpecification(tool,
+                    (exchange, arguments) -> call(tool.name(), arguments)));
+        }
+        return specifications;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Tool output is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.service.QuoteSubscriptionService;
+import org.tanzu.stock_price_mcp.service.StockQuoteService;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/mcp")
+public class QuoteSubscriptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteSubscriptionHandler.class);
+
+    private final QuoteSubscriptionService subscriptionService;
+    private final StockQuoteService stockQuoteService;
+    private final Duration heartbeat;
+
+    @Autowired
+    public QuoteSubscriptionHandler(QuoteSubscriptionService subscriptionService, StockQuoteService stockQuoteService,
+                                    AlphaVantageConfig config) {
+        this.subscriptionService = subscriptionService;
+        this.stockQuoteService = stockQuoteService;
+        this.heartbeat = config.getSubscriptions().getHeartbeat();
+    }
+
+    /**
+     * Stream quote updates for one or more symbols as server-sent events. Each
+     * "quote" event carries the raw AlphaVantage response; it is sent when the
+     * subscription starts and again whenever the quote changes. Closing the
+     * connection unsubscribes. Comment-only heartbeats keep idle connections
+     * open through proxies and surface disconnects promptly.
+     * <p>
+     * Symbols beyond the subscription limit are rejected before the stream opens.
+     * If another client takes the last slots in the meantime, the symbols that
+     * no longer fit get an "error" event and the others keep streaming.
+     */
+    @GetMapping(value = "/quotes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, Object>>> streamQuotes(@RequestParam List<String> symbols) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (!stockQuoteService.isValidSymbol(symbol)) {
+                throw new IllegalArgumentException("Invalid stock symbol format: " + symbol);
+            }
+            normalized.add(symbol.trim().toUpperCase());
+        }
+
+        subscriptionService.checkCapacity(normalized);
+
+        logger.info("Quote stream opened for symbols: {}", normalized);
+
+        Flux<ServerSentEvent<Map<String, Object>>> quotes = Flux.fromIterable(normalized)
+                .flatMap(symbol -> subscriptionService.subscribe(symbol)
+                        .map(response -> ServerSentEvent.<Map<String, Object>>builder(response.getData())
+                                .event("quote")
+                                .build())
+                        .onErrorResume(AlphaVantageException.class, e -> Flux.just(
+                                ServerSentEvent.<Map<String, Object>>builder(Map.of(
+                                        "symbol", symbol,
+                                        "code", e.getErrorCode(),
+                                        "message", e.getMessage()))
+                                        .event("error")
+                                        .build())), normalized.size());
+        Flux<ServerSentEvent<Map<String, Object>>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<Map<String, Object>>builder().comment("heartbeat").build());
+
+        return Flux.merge(quotes, heartbeats)
+                .doFinally(signal -> logger.info("Quote stream closed for symbols: {}", normalized));
+    }
+}
@@ -1,15 +1,37 @@
 package org.tanzu.stock_price_mcp.mcp;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
 import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.IndicatorSpec;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import org.tanzu.stock_price_mcp.service.IndicatorService;
 import org.tanzu.stock_price_mcp.service.StockQuoteService;
+import org.tanzu.stock_price_mcp.service.TimeSeriesService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/mcp")
@@ -17,173 +39,507 @@ public class StockQuoteHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(StockQuoteHandler.class);
 
+    static final String TOOL_TIMER = "mcp.tool.calls";
+    static final String TOOL_ACTIVE = "mcp.tool.calls.active";
+
     private final StockQuoteService stockQuoteService;
+    private final TimeSeriesService timeSeriesService;
+    private final IndicatorService indicatorService;
+    private final AlphaVantageConfig config;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger activeCalls;
+    private final ToolRegistry tools;
 
     @Autowired
-    public StockQuoteHandler(StockQuoteService stockQuoteService) {
+    public StockQuoteHandler(StockQuoteService stockQuoteService, TimeSeriesService timeSeriesService,
+                             IndicatorService indicatorService, AlphaVantageConfig config,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.stockQuoteService = stockQuoteService;
+        this.timeSeriesService = timeSeriesService;
+        this.indicatorService = indicatorService;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.activeCalls = meterRegistry.gauge(TOOL_ACTIVE, new AtomicInteger());
+        this.tools = new ToolRegistry(this, objectMapper, Map.of(
+            "batch.max-symbols", config.getBatch().getMaxSymbols(),
+            "time-series.default-limit", config.getTimeSeries().getDefaultLimit(),
+            "time-series.max-bars", config.getTimeSeries().getMaxBars(),
+            "indicators.max-indicators", config.getIndicators().getMaxIndicators(),
+            "indicators.max-period", config.getIndicators().getMaxPeriod()
+        ));
+    }
+
+    /**
+     * List available tools endpoint for MCP protocol. The body is serialized once
+     * at startup; clients polling with If-None-Match get 304 Not Modified.
+     */
+    @GetMapping(value = "/tools", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listTools(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.debug("MCP tools list requested");
+
+        if (tools.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tools.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(tools.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(tools.toolsList());
     }
 
     /**
-     * List available tools endpoint for MCP protocol
+     * The tools, shared by the REST endpoints and the MCP server transports
      */
-    @GetMapping("/tools")
-    public ResponseEntity<Map<String, Object>> listTools() {
-        logger.info("MCP tools list requested");
-
-        Map<String, Object> response = Map.of(
-            "tools", List.of(
-                Map.of(
-                    "name", "quote",
-                    "description", "Get real-time stock quote information for a given stock symbol using AlphaVantage API",
-                    "inputSchema", Map.of(
-                        "type", "object",
-                        "properties", Map.of(
-                            "symbol", Map.of(
-                                "type", "string",
-                                "description", "Stock ticker symbol (e.g., 'IBM', 'AAPL', 'MSFT'). Must be 1-5 uppercase letters."
-                            )
-                        ),
-                        "required", List.of("symbol")
-                    )
-                ),
-                Map.of(
-                    "name", "validate_symbol",
-                    "description", "Validate if a stock symbol has the correct format",
-                    "inputSchema", Map.of(
-                        "type", "object",
-                        "properties", Map.of(
-                            "symbol", Map.of(
-                                "type", "string",
-                                "description", "Stock ticker symbol to validate"
-                            )
-                        ),
-                        "required", List.of("symbol")
-                    )
-                )
-            )
-        );
-
-        return ResponseEntity.ok(response);
+    public ToolRegistry tools() {
+        return tools;
     }
 
     /**
-     * Call tool endpoint for MCP protocol
+     * Call tool endpoint for MCP protocol. Tool execution is non-blocking, so the
+     * servlet thread is released while the AlphaVantage call is in flight. The
+     * result is serialized directly into the response body.
      */
-    @PostMapping("/tools/call")
-    public ResponseEntity<Map<String, Object>> callTool(@RequestBody Map<String, Object> request) {
+    @PostMapping(value = "/tools/call", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> callTool(@RequestBody Map<String, Object> request) {
         String toolName = (String) request.get("name");
         @SuppressWarnings("unchecked")
         Map<String, Object> arguments = (Map<String, Object>) request.get("arguments");
 
+        return invoke(toolName, arguments).map(toolResult -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(tools.callResponse(toolResult)));
+    }
+
+    /**
+     * Run a tool and time it. Tool failures are reported in the result map under
+     * "error" rather than as an error signal.
+     * @param arguments Tool arguments; null is treated as no arguments
+     */
+    public Mono<Map<String, Object>> invoke(String toolName, Map<String, Object> arguments) {
         logger.info("MCP tool '{}' called with arguments: {}", toolName, arguments);
 
-        Map<String, Object> result;
-        switch (toolName) {
-            case "quote":
-                result = handleQuoteTool(arguments);
-                break;
-            case "validate_symbol":
-                result = handleValidateSymbolTool(arguments);
-                break;
-            default:
-                logger.warn("Unknown tool called: {}", toolName);
-                result = Map.of(
-                    "error", "Unknown tool",
-                    "message", "Tool '" + toolName + "' is not supported",
-                    "tool", toolName
-                );
-        }
-
-        Map<String, Object> response = Map.of(
-            "content", List.of(
-                Map.of(
-                    "type", "text",
-                    "text", result
-                )
-            )
-        );
-
-        return ResponseEntity.ok(response);
+        return timed(toolName, () -> tools.call(toolName, arguments == null ? Map.of() : arguments));
+    }
+
+    /**
+     * Time a tool call from dispatch to result. Unknown tool names share one tag
+     * value so callers cannot inflate the metric's cardinality.
+     */
+    private Mono<Map<String, Object>> timed(String toolName, Supplier<Mono<Map<String, Object>>> call) {
+        String tool = tools.contains(toolName) ? toolName : "unknown";
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            activeCalls.incrementAndGet();
+            return Mono.defer(call)
+                    .doOnNext(toolResult -> sample.stop(toolTimer(tool,
+                            toolResult.containsKey("error") ? "error" : "success")))
+                    .doOnError(ex -> sample.stop(toolTimer(tool, "exception")))
+                    .doFinally(signal -> activeCalls.decrementAndGet());
+        });
+    }
+
+    private Timer toolTimer(String tool, String result) {
+        return Timer.builder(TOOL_TIMER)
+                .description("MCP tool call latency")
+                .tag("tool", tool)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
      * Direct quote endpoint for easier testing
      */
     @GetMapping("/quote/{symbol}")
-    public ResponseEntity<Map<String, Object>> getQuote(@PathVariable String symbol) {
+    public Mono<ResponseEntity<Map<String, Object>>> getQuote(@PathVariable String symbol) {
         logger.info("Direct quote request for symbol: {}", symbol);
-        
-        Map<String, Object> result = handleQuoteTool(Map.of("symbol", symbol));
-        return ResponseEntity.ok(result);
+
+        return handleQuoteTool(new QuoteArguments(symbol))
+                .map(ResponseEntity::ok);
     }
 
-    private Map<String, Object> handleQuoteTool(Map<String, Object> arguments) {
-        String symbol = (String) arguments.get("symbol");
-        
+    record QuoteArguments(
+        @McpToolParam(description = "Stock ticker symbol (e.g., 'IBM', 'AAPL', 'MSFT'). Must be 1-5 uppercase letters.",
+                required = true)
+        String symbol
+    ) {
+    }
+
+    @McpTool(name = "quote",
+            description = "Get real-time stock quote information for a given stock symbol using AlphaVantage API")
+    private Mono<Map<String, Object>> handleQuoteTool(QuoteArguments arguments) {
+        String symbol = arguments.symbol();
+
         if (symbol == null || symbol.trim().isEmpty()) {
-            return Map.of(
+            return Mono.just(Map.of(
                 "error", "Missing symbol",
                 "message", "Symbol parameter is required"
-            );
+            ));
         }
 
-        try {
-            // Validate symbol
-            if (!stockQuoteService.isValidSymbol(symbol)) {
-                logger.warn("Invalid symbol format provided: {}", symbol);
-                return Map.of(
-                    "error", "Invalid symbol format",
-                    "message", "Stock symbol must be 1-5 uppercase letters (e.g., 'IBM', 'AAPL')",
-                    "symbol", symbol
-                );
+        // Validate symbol
+        if (!stockQuoteService.isValidSymbol(symbol)) {
+            logger.warn("Invalid symbol format provided: {}", symbol);
+            return Mono.just(Map.of(
+                "error", "Invalid symbol format",
+                "message", "Stock symbol must be 1-5 uppercase letters (e.g., 'IBM', 'AAPL')",
+                "symbol", symbol
+            ));
+        }
+
+        return stockQuoteService.getStockQuote(symbol)
+                .map(response -> {
+                    logger.info("Successfully retrieved stock quote for symbol: {}", symbol);
+                    // Return the raw AlphaVantage response as requested
+                    return response.getData();
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.error("Received null response for symbol: {}", symbol);
+                    return Map.of(
+                        "error", "No data received",
+                        "message", "Failed to retrieve stock quote data",
+                        "symbol", symbol
+                    );
+                }))
+                .onErrorResume(AlphaVantageException.class, e -> {
+                    logger.error("Error retrieving stock quote for symbol: {}", symbol, e);
+                    return Mono.just(Map.of(
+                        "error", "Failed to retrieve stock quote",
+                        "message", String.valueOf(e.getMessage()),
+                        "code", e.getErrorCode(),
+                        "symbol", symbol
+                    ));
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error retrieving stock quote for symbol: {}", symbol, e);
+                    return Mono.just(Map.of(
+                        "error", "Failed to retrieve stock quote",
+                        "message", String.valueOf(e.getMessage()),
+                        "symbol", symbol
+                    ));
+                });
+    }
+
+    /**
+     * A single comma-separated string binds as a one-element list
+     */
+    record BatchQuoteArguments(
+        @McpToolParam(description = "Stock ticker symbols (e.g., ['IBM', 'AAPL', 'MSFT']). Each must be 1-5 letters.",
+                required = true, schema = "{\"maxItems\": ${batch.max-symbols}}")
+        List<String> symbols
+    ) {
+    }
+
+    @McpTool(name = "batch_quote",
+            description = "Get real-time stock quotes for many symbols in one call. Returns per-symbol results and per-symbol errors.")
+    private Mono<Map<String, Object>> handleBatchQuoteTool(BatchQuoteArguments arguments) {
+        if (arguments.symbols() == null) {
+            return Mono.just(Map.of(
+                "error", "Missing symbols",
+                "message", "Symbols parameter is required and must be a list of stock symbols"
+            ));
+        }
+
+        // Normalize and deduplicate while keeping the caller's order
+        Set<String> symbols = new LinkedHashSet<>();
+        for (String entry : arguments.symbols()) {
+            if (entry == null) {
+                continue;
+            }
+            for (String value : entry.split(",")) {
+                if (!value.isBlank()) {
+                    symbols.add(value.trim().toUpperCase());
+                }
             }
+        }
 
-            // Get stock quote synchronously (blocking for MCP tool)
-            AlphaVantageResponse response = stockQuoteService.getStockQuote(symbol).block();
-            
-            if (response == null) {
-                logger.error("Received null response for symbol: {}", symbol);
-                return Map.of(
+        int maxSymbols = config.getBatch().getMaxSymbols();
+        if (symbols.isEmpty() || symbols.size() > maxSymbols) {
+            return Mono.just(Map.of(
+                "error", "Invalid symbols",
+                "message", "Between 1 and " + maxSymbols + " distinct symbols are required",
+                "count", symbols.size()
+            ));
+        }
+
+        logger.info("Batch quote requested for {} symbols", symbols.size());
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        Map<String, Object> errors = new LinkedHashMap<>();
+        return Flux.fromIterable(symbols)
+                .flatMapSequential(symbol -> lookupForBatch(symbol)
+                        .map(outcome -> Map.entry(symbol, outcome)),
+                        config.getBatch().getConcurrency())
+                .doOnNext(entry -> {
+                    Map<String, Object> outcome = entry.getValue();
+                    if (outcome.containsKey("error")) {
+                        errors.put(entry.getKey(), outcome);
+                    } else {
+                        results.put(entry.getKey(), outcome);
+                    }
+                })
+                .then(Mono.fromSupplier(() -> Map.of(
+                    "results", results,
+                    "errors", errors,
+                    "requested", symbols.size(),
+                    "succeeded", results.size(),
+                    "failed", errors.size()
+                )));
+    }
+
+    private Mono<Map<String, Object>> lookupForBatch(String symbol) {
+        if (!stockQuoteService.isValidSymbol(symbol)) {
+            return Mono.just(Map.of(
+                "error", "Invalid symbol format",
+                "message", "Stock symbol must be 1-5 uppercase letters (e.g., 'IBM', 'AAPL')"
+            ));
+        }
+        return stockQuoteService.getStockQuote(symbol)
+                .map(AlphaVantageResponse::getData)
+                .onErrorResume(AlphaVantageException.class, e -> Mono.just(Map.of(
+                    "error", "Failed to retrieve stock quote",
+                    "message", String.valueOf(e.getMessage()),
+                    "code", e.getErrorCode()
+                )))
+                .onErrorResume(e -> Mono.just(Map.of(
+                    "error", "Failed to retrieve stock quote",
+                    "message", String.valueOf(e.getMessage())
+                )))
+                .defaultIfEmpty(Map.of(
                     "error", "No data received",
-                    "message", "Failed to retrieve stock quote data",
-                    "symbol", symbol
-                );
-            }
+                    "message", "Failed to retrieve stock quote data"
+                ));
+    }
 
-            logger.info("Successfully retrieved stock quote for symbol: {}", symbol);
-            
-            // Return the raw AlphaVantage response as requested
-            return response.getData();
+    record TimeSeriesArguments(
+        @McpToolParam(description = "Stock ticker symbol (e.g., 'IBM', 'AAPL', 'MSFT'). Must be 1-5 letters.",
+                required = true)
+        String symbol,
+        @McpToolParam(description = "Bar interval. Defaults to daily.",
+                schema = "{\"enum\": [\"daily\", \"weekly\", \"monthly\"]}")
+        String interval,
+        @McpToolParam(description = "First date to include (YYYY-MM-DD)")
+        LocalDate from,
+        @McpToolParam(description = "Last date to include (YYYY-MM-DD)")
+        LocalDate to,
+        @McpToolParam(description = "Maximum number of bars; the most recent bars in range are returned. Defaults to ${time-series.default-limit}.",
+                schema = "{\"minimum\": 1, \"maximum\": ${time-series.max-bars}}")
+        Integer limit
+    ) {
+    }
 
-        } catch (Exception e) {
-            logger.error("Error retrieving stock quote for symbol: {}", symbol, e);
-            return Map.of(
-                "error", "Failed to retrieve stock quote",
-                "message", e.getMessage(),
-                "symbol", symbol
-            );
+    @McpTool(name = "time_series",
+            description = "Get historical OHLCV bars for a stock symbol, served from a local store that is refreshed incrementally from AlphaVantage")
+    private Mono<Map<String, Object>> handleTimeSeriesTool(TimeSeriesArguments arguments) {
+        String symbol = arguments.symbol();
+        if (symbol == null || !stockQuoteService.isValidSymbol(symbol)) {
+            return Mono.just(Map.of(
+                "error", "Invalid symbol format",
+                "message", "Stock symbol must be 1-5 uppercase letters (e.g., 'IBM', 'AAPL')"
+            ));
         }
+
+        TimeSeriesInterval interval = interval(arguments.interval());
+        if (interval == null) {
+            return Mono.just(Map.of(
+                "error", "Invalid interval",
+                "message", "Interval must be one of daily, weekly, monthly",
+                "interval", arguments.interval()
+            ));
+        }
+
+        LocalDate from = arguments.from();
+        LocalDate to = arguments.to();
+        int limit = arguments.limit() == null ? config.getTimeSeries().getDefaultLimit() : arguments.limit();
+        int maxBars = config.getTimeSeries().getMaxBars();
+        if (limit < 1 || limit > maxBars) {
+            return Mono.just(Map.of(
+                "error", "Invalid limit",
+                "message", "Limit must be between 1 and " + maxBars
+            ));
+        }
+
+        String normalizedSymbol = symbol.trim().toUpperCase();
+        return timeSeriesService.getBars(normalizedSymbol, interval, from, to, limit)
+                .<Map<String, Object>>map(bars -> Map.of(
+                    "symbol", normalizedSymbol,
+                    "interval", interval.id(),
+                    "count", bars.size(),
+                    "bars", bars
+                ))
+                .onErrorResume(AlphaVantageException.class, e -> {
+                    logger.error("Error retrieving time series for symbol: {}", symbol, e);
+                    return Mono.just(Map.of(
+                        "error", "Failed to retrieve time series",
+                        "message", String.valueOf(e.getMessage()),
+                        "code", e.getErrorCode(),
+                        "symbol", symbol
+                    ));
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error retrieving time series for symbol: {}", symbol, e);
+                    return Mono.just(Map.of(
+                        "error", "Failed to retrieve time series",
+                        "message", String.valueOf(e.getMessage()),
+                        "symbol", symbol
+                    ));
+                });
     }
 
-    private Map<String, Object> handleValidateSymbolTool(Map<String, Object> arguments) {
-        String symbol = (String) arguments.get("symbol");
+    /**
+     * Each indicator is a name or an object of name and parameters, parsed by
+     * {@link IndicatorSpec#parse(Object)}
+     */
+    record IndicatorsArguments(
+        @McpToolParam(description = "Stock ticker symbol (e.g., 'IBM', 'AAPL', 'MSFT'). Must be 1-5 letters.",
+                required = true)
+        String symbol,
+        @McpToolParam(description = "Bar interval. Defaults to daily.",
+                schema = "{\"enum\": [\"daily\", \"weekly\", \"monthly\"]}")
+        String interval,
+        @McpToolParam(description = "Indicators by name with default parameters (SMA/EMA 20, RSI 14, MACD 12/26/9, Bollinger 20 with 2 deviations), or objects such as {\"name\": \"sma\", \"period\": 50}",
+                required = true, schema = """
+                {
+                  "maxItems": ${indicators.max-indicators},
+                  "items": {
+                    "oneOf": [
+                      {"type": "string", "enum": ["sma", "ema", "rsi", "macd", "bollinger"]},
+                      {
+                        "type": "object",
+                        "properties": {
+                          "name": {"type": "string", "enum": ["sma", "ema", "rsi", "macd", "bollinger"]},
+                          "period": {"type": "integer", "minimum": 1, "maximum": ${indicators.max-period}},
+                          "fast": {"type": "integer", "minimum": 1},
+                          "slow": {"type": "integer", "minimum": 2},
+                          "signal": {"type": "integer", "minimum": 1},
+                          "deviations": {"type": "number", "exclusiveMinimum": 0}
+                        },
+                        "required": ["name"]
+                      }
+                    ]
+                  }
+                }""")
+        List<Object> indicators,
+        @McpToolParam(description = "Maximum number of values per indicator; the most recent are returned. Defaults to ${time-series.default-limit}.",
+                schema = "{\"minimum\": 1, \"maximum\": ${time-series.max-bars}}")
+        Integer limit
+    ) {
+    }
+
+    @McpTool(name = "indicators",
+            description = "Compute technical indicators (SMA, EMA, RSI, MACD, Bollinger bands) for a stock symbol locally over its stored bars, with one upstream refresh for all requested indicators")
+    private Mono<Map<String, Object>> handleIndicatorsTool(IndicatorsArguments arguments) {
+        String symbol = arguments.symbol();
+        if (symbol == null || !stockQuoteService.isValidSymbol(symbol)) {
+            return Mono.just(Map.of(
+                "error", "Invalid symbol format",
+                "message", "Stock symbol must be 1-5 uppercase letters (e.g., 'IBM', 'AAPL')"
+            ));
+        }
+
+        TimeSeriesInterval interval = interval(arguments.interval());
+        if (interval == null) {
+            return Mono.just(Map.of(
+                "error", "Invalid interval",
+                "message", "Interval must be one of daily, weekly, monthly",
+                "interval", arguments.interval()
+            ));
+        }
+
+        int maxIndicators = config.getIndicators().getMaxIndicators();
+        List<Object> requested = arguments.indicators();
+        if (requested == null || requested.isEmpty() || requested.size() > maxIndicators) {
+            return Mono.just(Map.of(
+                "error", "Invalid indicators",
+                "message", "Between 1 and " + maxIndicators + " indicators are required"
+            ));
+        }
+
+        List<IndicatorSpec> specs = new ArrayList<>(requested.size());
+        try {
+            for (Object indicator : requested) {
+                IndicatorSpec spec = IndicatorSpec.parse(indicator);
+                if (spec.lookback() > config.getIndicators().getMaxPeriod()) {
+                    throw new IllegalArgumentException("Indicator periods must be at most "
+                            + config.getIndicators().getMaxPeriod());
+                }
+                specs.add(spec);
+            }
+        } catch (IllegalArgumentException e) {
+            return Mono.just(Map.of(
+                "error", "Invalid indicators",
+                "message", String.valueOf(e.getMessage())
+            ));
+        }
+        int limit = arguments.limit() == null ? config.getTimeSeries().getDefaultLimit() : arguments.limit();
+        int maxBars = config.getTimeSeries().getMaxBars();
+        if (limit < 1 || limit > maxBars) {
+            return Mono.just(Map.of(
+                "error", "Invalid limit",
+                "message", "Limit must be between 1 and " + maxBars
+            ));
+        }
+
+        String normalizedSymbol = symbol.trim().toUpperCase();
+        return indicatorService.getIndicators(normalizedSymbol, interval, specs, limit)
+                .<Map<String, Object>>map(indicators -> Map.of(
+                    "symbol", normalizedSymbol,
+                    "interval", interval.id(),
+                    "indicators", indicators
+                ))
+                .onErrorResume(AlphaVantageException.class, e -> {
+                    logger.error("Error computing indicators for symbol: {}", symbol, e);
+                    return Mono.just(Map.of(
+                        "error", "Failed to compute indicators",
+                        "message", String.valueOf(e.getMessage()),
+                        "code", e.getErrorCode(),
+                        "symbol", symbol
+                    ));
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error computing indicators for symbol: {}", symbol, e);
+                    return Mono.just(Map.of(
+                        "error", "Failed to compute indicators",
+                        "message", String.valueOf(e.getMessage()),
+                        "symbol", symbol
+                    ));
+                });
+    }
+
+    record ValidateSymbolArguments(
+        @McpToolParam(description = "Stock ticker symbol to validate", required = true)
+        String symbol
+    ) {
+    }
+
+    @McpTool(name = "validate_symbol", description = "Validate if a stock symbol has the correct format")
+    private Mono<Map<String, Object>> handleValidateSymbolTool(ValidateSymbolArguments arguments) {
+        String symbol = arguments.symbol();
         
         if (symbol == null) {
-            return Map.of(
+            return Mono.just(Map.of(
                 "error", "Missing symbol",
                 "message", "Symbol parameter is required"
-            );
+            ));
         }
 
         logger.info("Validating symbol: {}", symbol);
 
         boolean isValid = stockQuoteService.isValidSymbol(symbol);
         
-        return Map.of(
+        return Mono.just(Map.of(
             "symbol", symbol,
             "valid", isValid,
             "message", isValid ? "Valid stock symbol format" : "Invalid stock symbol format. Must be 1-5 uppercase letters."
-        );
+        ));
+    }
+
+    /**
+     * Interval argument, daily when absent
+     * @return the interval, or null if the argument names none
+     */
+    private static TimeSeriesInterval interval(String argument) {
+        return argument == null ? TimeSeriesInterval.DAILY : TimeSeriesInterval.fromId(argument);
     }
 }
\ No newline at end of file
@@ -0,0 +1,292 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link McpTool} methods of a host object, collected once at startup.
+ * <p>
+ * Calls look the tool up by name in a hash map and bind the argument map to the
+ * tool's argument record with Jackson, so tools receive typed arguments and a
+ * mistyped argument is reported without reaching the tool. Input schemas are
+ * derived from the argument records, and the tools list is serialized to bytes
+ * with its ETag when the registry is built; it never changes afterwards.
+ */
+public final class ToolRegistry {
+
+    private static final byte[] CALL_PREFIX = "{\"content\":[{\"type\":\"text\",\"text\":"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CALL_SUFFIX = "}]}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * A registered tool
+     * @param inputSchema JSON schema of the arguments, serialized
+     */
+    public record Tool(String name, String description, String inputSchema) {
+    }
+
+    private record Binding(Tool tool, Class<?> argumentType, MethodHandle method) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Binding> bindings;
+    private final List<Tool> tools;
+    private final byte[] toolsList;
+    private final String etag;
+
+    /**
+     * @param limits Values for ${name} references in {@link McpToolParam} strings
+     */
+    public ToolRegistry(Object host, ObjectMapper objectMapper, Map<String, ?> limits) {
+        // Arguments the tool does not declare are ignored, and a single value is accepted for a list
+        this.objectMapper = objectMapper.copy()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        List<Method> methods = new ArrayList<>(List.of(ReflectionUtils.getUniqueDeclaredMethods(
+                host.getClass(), method -> method.isAnnotationPresent(McpTool.class))));
+        methods.sort(Comparator.comparing(method -> method.getAnnotation(McpTool.class).name()));
+
+        Map<String, Binding> bindings = new HashMap<>();
+        List<Tool> tools = new ArrayList<>(methods.size());
+        List<Map<String, Object>> descriptors = new ArrayList<>(methods.size());
+        for (Method method : methods) {
+            McpTool annotation = method.getAnnotation(McpTool.class);
+            Class<?> argumentType = argumentType(method);
+            Map<String, Object> inputSchema = inputSchema(argumentType, limits);
+            Tool tool = new Tool(annotation.name(), annotation.description(), toJson(inputSchema));
+            if (bindings.put(tool.name(), new Binding(tool, argumentType, handle(method, host))) != null) {
+                throw new IllegalStateException("Duplicate MCP tool name: " + tool.name());
+            }
+            tools.add(tool);
+            Map<String, Object> descriptor = new LinkedHashMap<>();
+            descriptor.put("name", tool.name());
+            descriptor.put("description", tool.description());
+            descriptor.put("inputSchema", inputSchema);
+            descriptors.add(descriptor);
+        }
+        this.bindings = bindings;
+        this.tools = List.copyOf(tools);
+        this.toolsList = toJson(Map.of("tools", descriptors)).getBytes(StandardCharsets.UTF_8);
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(toolsList) + "\"";
+    }
+
+    public List<Tool> tools() {
+        return tools;
+    }
+
+    public boolean contains(String name) {
+        return name != null && bindings.containsKey(name);
+    }
+
+    /**
+     * The tools list response body, {"tools": [...]}, serialized once
+     */
+    public byte[] toolsList() {
+        return toolsList;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * Whether an If-None-Match header value matches the tools list's ETag
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Call a tool. An unknown tool or arguments that do not bind to the tool's
+     * argument record give an error result rather than an error signal.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Map<String, Object>> call(String name, Map<String, Object> arguments) {
+        Binding binding = name == null ? null : bindings.get(name);
+        if (binding == null) {
+            return Mono.just(Map.of(
+                "error", "Unknown tool",
+                "message", "Tool '" + name + "' is not supported",
+                "tool", String.valueOf(name)
+            ));
+        }
+        Object boundArguments;
+        try {
+            boundArguments = objectMapper.convertValue(arguments, binding.argumentType());
+        } catch (IllegalArgumentException e) {
+            return Mono.just(Map.of(
+                "error", "Invalid arguments",
+                "message", invalidArgumentsMessage(e)
+            ));
+        }
+        try {
+            return (Mono<Map<String, Object>>) binding.method().invoke(boundArguments);
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * A tools/call response body with the result as its text content, written
+     * straight to bytes around a pre-encoded envelope
+     */
+    public byte[] callResponse(Map<String, Object> result) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        out.writeBytes(CALL_PREFIX);
+        try {
+            objectMapper.writeValue(out, result);
+        } catch (IOException e) {
+            throw new IllegalStateException("Tool output is not serializable", e);
+        }
+        out.writeBytes(CALL_SUFFIX);
+        return out.toByteArray();
+    }
+
+    private static Class<?> argumentType(Method method) {
+        Class<?>[] parameters = method.getParameterTypes();
+        if (parameters.length != 1 || !parameters[0].isRecord() || !Mono.class.equals(method.getReturnType())) {
+            throw new IllegalStateException("@McpTool method " + method.getName()
+                    + " must take one record of arguments and return a Mono");
+        }
+        return parameters[0];
+    }
+
+    private static MethodHandle handle(Method method, Object host) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).bindTo(host);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("@McpTool method " + method.getName() + " is not accessible", e);
+        }
+    }
+
+    private Map<String, Object> inputSchema(Class<?> argumentType, Map<String, ?> limits) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        for (RecordComponent component : argumentType.getRecordComponents()) {
+            McpToolParam param = component.getAnnotation(McpToolParam.class);
+            if (param == null) {
+                throw new IllegalStateException("Argument " + argumentType.getSimpleName() + "."
+                        + component.getName() + " has no @McpToolParam");
+            }
+            Map<String, Object> property = new LinkedHashMap<>(typeSchema(component.getGenericType()));
+            if (!param.schema().isEmpty()) {
+                property.putAll(fromJson(resolve(param.schema(), limits)));
+            }
+            property.put("description", resolve(param.description(), limits));
+            properties.put(component.getName(), property);
+            if (param.required()) {
+                required.add(component.getName());
+            }
+        }
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        if (!required.isEmpty()) {
+            schema.put("required", required);
+        }
+        return schema;
+    }
+
+    private static Map<String, Object> typeSchema(Type type) {
+        Class<?> rawType = TypeFactory.rawClass(type);
+        if (rawType == String.class) {
+            return Map.of("type", "string");
+        }
+        if (rawType == Integer.class || rawType == int.class || rawType == Long.class || rawType == long.class) {
+            return Map.of("type", "integer");
+        }
+        if (Number.class.isAssignableFrom(rawType) || rawType == double.class) {
+            return Map.of("type", "number");
+        }
+        if (rawType == Boolean.class || rawType == boolean.class) {
+            return Map.of("type", "boolean");
+        }
+        if (Collection.class.isAssignableFrom(rawType)) {
+            if (type instanceof ParameterizedType parameterized
+                    && parameterized.getActualTypeArguments()[0] != Object.class) {
+                return Map.of("type", "array", "items", typeSchema(parameterized.getActualTypeArguments()[0]));
+            }
+            return Map.of("type", "array");
+        }
+        if (rawType == LocalDate.class) {
+            return Map.of("type", "string", "format", "date");
+        }
+        return Map.of("type", "object");
+    }
+
+    private static String resolve(String value, Map<String, ?> limits) {
+        if (!value.contains("${")) {
+            return value;
+        }
+        String resolved = value;
+        for (Map.Entry<String, ?> limit : limits.entrySet()) {
+            resolved = resolved.replace("${" + limit.getKey() + "}", String.valueOf(limit.getValue()));
+        }
+        if (resolved.contains("${")) {
+            throw new IllegalStateException("Unresolved limit in tool schema: " + value);
+        }
+        return resolved;
+    }
+
+    private static String invalidArgumentsMessage(IllegalArgumentException e) {
+        if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()
+                && mapping.getPath().get(0).getFieldName() != null) {
+            return "Argument '" + mapping.getPath().get(0).getFieldName() + "' has an invalid value";
+        }
+        return "Arguments must be an object matching the tool's input schema";
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Tool schema is not serializable", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid tool schema: " + json, e);
+        }
+    }
+}
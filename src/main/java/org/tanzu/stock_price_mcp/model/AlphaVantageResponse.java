@@ -2,14 +2,38 @@ package org.tanzu.stock_price_mcp.model;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Raw AlphaVantage response. A "Global Quote" payload is parsed into a typed
+ * {@link GlobalQuote}; every other field is kept as generic JSON values, so
+ * unknown functions still work through the map.
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(using = AlphaVantageResponse.Deserializer.class)
 public class AlphaVantageResponse {
 
+    /**
+     * Field added to quotes served from cache past their TTL
+     */
+    public static final String STALENESS_FIELD = "Staleness";
+
+    /**
+     * Error code for a response that arrived but carries values in an unexpected format
+     */
+    public static final String PARSE_ERROR = "PARSE_ERROR";
+
     private Map<String, Object> data = new HashMap<>();
 
     @JsonAnyGetter
@@ -22,12 +46,55 @@ public class AlphaVantageResponse {
         this.data.put(key, value);
     }
 
+    /**
+     * Typed GLOBAL_QUOTE payload, if this response carries one
+     */
+    @JsonIgnore
+    public GlobalQuote getGlobalQuote() {
+        return data.get(GlobalQuote.FIELD) instanceof GlobalQuote quote ? quote : null;
+    }
+
+    /**
+     * Copy of this response marked as stale, e.g. {"Staleness": {"stale": true, "ageSeconds": 95}}
+     */
+    public AlphaVantageResponse asStale(Duration age) {
+        AlphaVantageResponse copy = new AlphaVantageResponse();
+        copy.data.putAll(data);
+        copy.data.put(STALENESS_FIELD, Map.of("stale", true, "ageSeconds", age.toSeconds()));
+        return copy;
+    }
+
+    @JsonIgnore
+    public boolean isStale() {
+        return data.containsKey(STALENESS_FIELD);
+    }
+
     public boolean hasError() {
         return data.containsKey("Error Message") || 
                data.containsKey("Note") ||
                data.containsKey("Information");
     }
 
+    /**
+     * Whether AlphaVantage rejected the request because the API key exceeded its rate limit
+     */
+    @JsonIgnore
+    public boolean isThrottled() {
+        if (data.containsKey("Note")) {
+            return true;
+        }
+        Object information = data.get("Information");
+        return information instanceof String message && isThrottleMessage("Information", message);
+    }
+
+    /**
+     * Whether a top-level error field carries a rate limit message
+     */
+    public static boolean isThrottleMessage(String field, String message) {
+        return "Note".equals(field)
+                || ("Information".equals(field) && message != null && message.toLowerCase().contains("rate limit"));
+    }
+
     public String getErrorMessage() {
         if (data.containsKey("Error Message")) {
             return (String) data.get("Error Message");
@@ -47,4 +114,33 @@ public class AlphaVantageResponse {
                 "data=" + data +
                 '}';
     }
-}
\ No newline at end of file
+
+    /**
+     * Streaming deserializer: reads top-level fields one token at a time and only
+     * falls back to untyped maps for payloads without a typed model.
+     */
+    public static class Deserializer extends StdDeserializer<AlphaVantageResponse> {
+
+        public Deserializer() {
+            super(AlphaVantageResponse.class);
+        }
+
+        @Override
+        public AlphaVantageResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return (AlphaVantageResponse) context.handleUnexpectedToken(AlphaVantageResponse.class, parser);
+            }
+            AlphaVantageResponse response = new AlphaVantageResponse();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (GlobalQuote.FIELD.equals(field) && value == JsonToken.START_OBJECT) {
+                    response.setData(field, GlobalQuote.parse(parser));
+                } else {
+                    response.setData(field, context.readValue(parser, Object.class));
+                }
+            }
+            return response;
+        }
+    }
+}
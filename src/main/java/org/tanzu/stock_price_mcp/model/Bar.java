@@ -0,0 +1,15 @@
+package org.tanzu.stock_price_mcp.model;
+
+import java.time.LocalDate;
+
+/**
+ * One OHLCV bar of an AlphaVantage time series
+ */
+public record Bar(LocalDate date, double open, double high, double low, double close, long volume) {
+
+    static final String OPEN = "1. open";
+    static final String HIGH = "2. high";
+    static final String LOW = "3. low";
+    static final String CLOSE = "4. close";
+    static final String VOLUME = "5. volume";
+}
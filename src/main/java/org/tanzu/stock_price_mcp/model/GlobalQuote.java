@@ -0,0 +1,215 @@
+package org.tanzu.stock_price_mcp.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Typed GLOBAL_QUOTE payload. Parsed token by token from the "Global Quote"
+ * object and written back with the original AlphaVantage field names, so clients
+ * see the same JSON as the raw response.
+ */
+@JsonDeserialize(using = GlobalQuote.Deserializer.class)
+@JsonSerialize(using = GlobalQuote.Serializer.class)
+public record GlobalQuote(
+        String symbol,
+        BigDecimal open,
+        BigDecimal high,
+        BigDecimal low,
+        BigDecimal price,
+        long volume,
+        LocalDate latestTradingDay,
+        BigDecimal previousClose,
+        BigDecimal change,
+        BigDecimal changePercent) {
+
+    public static final String FIELD = "Global Quote";
+
+    static final String SYMBOL = "01. symbol";
+    static final String OPEN = "02. open";
+    static final String HIGH = "03. high";
+    static final String LOW = "04. low";
+    static final String PRICE = "05. price";
+    static final String VOLUME = "06. volume";
+    static final String LATEST_TRADING_DAY = "07. latest trading day";
+    static final String PREVIOUS_CLOSE = "08. previous close";
+    static final String CHANGE = "09. change";
+    static final String CHANGE_PERCENT = "10. change percent";
+
+    /**
+     * AlphaVantage answers unknown symbols with an empty "Global Quote" object
+     */
+    public boolean isEmpty() {
+        return symbol == null;
+    }
+
+    /**
+     * Parse a "Global Quote" object. The parser must be positioned on its START_OBJECT token.
+     * @throws AlphaVantageException with code PARSE_ERROR if a price or date is not in the expected format
+     */
+    public static GlobalQuote parse(JsonParser parser) throws IOException {
+        String symbol = null;
+        BigDecimal open = null;
+        BigDecimal high = null;
+        BigDecimal low = null;
+        BigDecimal price = null;
+        long volume = 0;
+        LocalDate latestTradingDay = null;
+        BigDecimal previousClose = null;
+        BigDecimal change = null;
+        BigDecimal changePercent = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value != JsonToken.VALUE_STRING) {
+                parser.skipChildren();
+                continue;
+            }
+            try {
+                switch (field) {
+                    case SYMBOL -> symbol = parser.getText();
+                    case OPEN -> open = decimal(parser, false);
+                    case HIGH -> high = decimal(parser, false);
+                    case LOW -> low = decimal(parser, false);
+                    case PRICE -> price = decimal(parser, false);
+                    case VOLUME -> volume = parser.getTextLength() == 0 ? 0 : parser.getValueAsLong();
+                    case LATEST_TRADING_DAY -> latestTradingDay = parser.getTextLength() == 0
+                            ? null : LocalDate.parse(parser.getText());
+                    case PREVIOUS_CLOSE -> previousClose = decimal(parser, false);
+                    case CHANGE -> change = decimal(parser, false);
+                    case CHANGE_PERCENT -> changePercent = decimal(parser, true);
+                    default -> {
+                        // Unknown fields are ignored
+                    }
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new AlphaVantageException("Malformed \"" + field + "\" in " + FIELD + ": " + parser.getText(),
+                        AlphaVantageResponse.PARSE_ERROR, e);
+            }
+        }
+        return new GlobalQuote(symbol, open, high, low, price, volume, latestTradingDay,
+                previousClose, change, changePercent);
+    }
+
+    /**
+     * Convert one entry of a REALTIME_BULK_QUOTES "data" array, e.g.
+     * {"symbol": "IBM", "timestamp": "2025-07-22 16:00:00.000", "close": "189.84", ...}.
+     * The close is the latest price, and the trading day is the date of the timestamp.
+     * @throws IllegalArgumentException if a field is not in the expected format
+     */
+    public static GlobalQuote fromBulkQuote(Map<String, ?> entry) {
+        String timestamp = text(entry, "timestamp");
+        String volume = text(entry, "volume");
+        try {
+            return new GlobalQuote(
+                    text(entry, "symbol"),
+                    decimal(text(entry, "open")),
+                    decimal(text(entry, "high")),
+                    decimal(text(entry, "low")),
+                    decimal(text(entry, "close")),
+                    volume == null ? 0 : Long.parseLong(volume),
+                    timestamp == null || timestamp.length() < 10 ? null : LocalDate.parse(timestamp.substring(0, 10)),
+                    decimal(text(entry, "previous_close")),
+                    decimal(text(entry, "change")),
+                    decimal(text(entry, "change_percent")));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed bulk quote for " + entry.get("symbol"), e);
+        }
+    }
+
+    private static String text(Map<String, ?> entry, String field) {
+        Object value = entry.get(field);
+        return value == null || value.toString().isEmpty() ? null : value.toString();
+    }
+
+    private static BigDecimal decimal(String text) {
+        if (text == null) {
+            return null;
+        }
+        return new BigDecimal(text.endsWith("%") ? text.substring(0, text.length() - 1) : text);
+    }
+
+    /**
+     * Read a decimal straight from the parser's character buffer, without an intermediate String
+     */
+    private static BigDecimal decimal(JsonParser parser, boolean percent) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (percent && length > 0 && chars[offset + length - 1] == '%') {
+            length--;
+        }
+        return length == 0 ? null : new BigDecimal(chars, offset, length);
+    }
+
+    /**
+     * Write the quote as an AlphaVantage "Global Quote" object
+     */
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (!isEmpty()) {
+            generator.writeStringField(SYMBOL, symbol);
+            writeDecimal(generator, OPEN, open, "");
+            writeDecimal(generator, HIGH, high, "");
+            writeDecimal(generator, LOW, low, "");
+            writeDecimal(generator, PRICE, price, "");
+            generator.writeStringField(VOLUME, Long.toString(volume));
+            if (latestTradingDay != null) {
+                generator.writeStringField(LATEST_TRADING_DAY, latestTradingDay.toString());
+            }
+            writeDecimal(generator, PREVIOUS_CLOSE, previousClose, "");
+            writeDecimal(generator, CHANGE, change, "");
+            writeDecimal(generator, CHANGE_PERCENT, changePercent, "%");
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeDecimal(JsonGenerator generator, String field, BigDecimal value, String suffix)
+            throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toPlainString() + suffix);
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<GlobalQuote> {
+
+        public Deserializer() {
+            super(GlobalQuote.class);
+        }
+
+        @Override
+        public GlobalQuote deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return context.reportInputMismatch(GlobalQuote.class, "Expected \"%s\" object", FIELD);
+            }
+            return parse(parser);
+        }
+    }
+
+    public static class Serializer extends StdSerializer<GlobalQuote> {
+
+        public Serializer() {
+            super(GlobalQuote.class);
+        }
+
+        @Override
+        public void serialize(GlobalQuote quote, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            quote.write(generator);
+        }
+    }
+}
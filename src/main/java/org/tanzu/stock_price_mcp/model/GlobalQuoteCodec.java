@@ -0,0 +1,150 @@
+package org.tanzu.stock_price_mcp.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+
+/**
+ * Compact binary form of a {@link GlobalQuote} for the shared cache. A full
+ * quote takes under 64 bytes against roughly 300 bytes of JSON.
+ * <p>
+ * Layout: a version byte, a presence bitmask of the nullable fields, then each
+ * present field in declaration order. Decimals are a scale byte followed by the
+ * zig-zag varint unscaled value, or the string form when the unscaled value
+ * does not fit in a long. The volume is a varint and the trading day is a
+ * varint epoch day.
+ */
+public final class GlobalQuoteCodec {
+
+    static final byte VERSION = 1;
+
+    private static final int SYMBOL = 1;
+    private static final int OPEN = 1 << 1;
+    private static final int HIGH = 1 << 2;
+    private static final int LOW = 1 << 3;
+    private static final int PRICE = 1 << 4;
+    private static final int LATEST_TRADING_DAY = 1 << 5;
+    private static final int PREVIOUS_CLOSE = 1 << 6;
+    private static final int CHANGE = 1 << 7;
+    private static final int CHANGE_PERCENT = 1 << 8;
+
+    private static final byte STRING_DECIMAL = Byte.MIN_VALUE;
+
+    private GlobalQuoteCodec() {
+    }
+
+    public static byte[] encode(GlobalQuote quote) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            int present = (quote.symbol() != null ? SYMBOL : 0)
+                    | (quote.open() != null ? OPEN : 0)
+                    | (quote.high() != null ? HIGH : 0)
+                    | (quote.low() != null ? LOW : 0)
+                    | (quote.price() != null ? PRICE : 0)
+                    | (quote.latestTradingDay() != null ? LATEST_TRADING_DAY : 0)
+                    | (quote.previousClose() != null ? PREVIOUS_CLOSE : 0)
+                    | (quote.change() != null ? CHANGE : 0)
+                    | (quote.changePercent() != null ? CHANGE_PERCENT : 0);
+            out.writeShort(present);
+            if (quote.symbol() != null) {
+                out.writeUTF(quote.symbol());
+            }
+            writeDecimal(out, quote.open());
+            writeDecimal(out, quote.high());
+            writeDecimal(out, quote.low());
+            writeDecimal(out, quote.price());
+            writeVarLong(out, quote.volume());
+            if (quote.latestTradingDay() != null) {
+                writeVarLong(out, quote.latestTradingDay().toEpochDay());
+            }
+            writeDecimal(out, quote.previousClose());
+            writeDecimal(out, quote.change());
+            writeDecimal(out, quote.changePercent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not an encoded quote of this version
+     */
+    public static GlobalQuote decode(byte[] encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported quote encoding version " + version);
+            }
+            int present = in.readUnsignedShort();
+            String symbol = (present & SYMBOL) != 0 ? in.readUTF() : null;
+            BigDecimal open = readDecimal(in, present, OPEN);
+            BigDecimal high = readDecimal(in, present, HIGH);
+            BigDecimal low = readDecimal(in, present, LOW);
+            BigDecimal price = readDecimal(in, present, PRICE);
+            long volume = readVarLong(in);
+            LocalDate latestTradingDay = (present & LATEST_TRADING_DAY) != 0
+                    ? LocalDate.ofEpochDay(readVarLong(in)) : null;
+            BigDecimal previousClose = readDecimal(in, present, PREVIOUS_CLOSE);
+            BigDecimal change = readDecimal(in, present, CHANGE);
+            BigDecimal changePercent = readDecimal(in, present, CHANGE_PERCENT);
+            return new GlobalQuote(symbol, open, high, low, price, volume, latestTradingDay,
+                    previousClose, change, changePercent);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated quote encoding", e);
+        }
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        int scale = value.scale();
+        if (unscaled.bitLength() < Long.SIZE && scale > Byte.MIN_VALUE && scale <= Byte.MAX_VALUE) {
+            out.writeByte(scale);
+            writeVarLong(out, unscaled.longValue());
+        } else {
+            out.writeByte(STRING_DECIMAL);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in, int present, int field) throws IOException {
+        if ((present & field) == 0) {
+            return null;
+        }
+        byte scale = in.readByte();
+        if (scale == STRING_DECIMAL) {
+            return new BigDecimal(in.readUTF());
+        }
+        return BigDecimal.valueOf(readVarLong(in), scale);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,138 @@
+package org.tanzu.stock_price_mcp.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One technical indicator requested from the indicators tool, with its parameters.
+ * For MACD, period is the fast EMA period; for Bollinger bands, deviations is the
+ * band width in standard deviations. Parameters an indicator does not use are zero.
+ */
+public record IndicatorSpec(Kind kind, int period, int slowPeriod, int signalPeriod, double deviations) {
+
+    public enum Kind {
+
+        SMA("sma", List.of("sma")),
+        EMA("ema", List.of("ema")),
+        RSI("rsi", List.of("rsi")),
+        MACD("macd", List.of("macd", "signal", "histogram")),
+        BOLLINGER("bollinger", List.of("middle", "upper", "lower"));
+
+        private final String id;
+        private final List<String> outputs;
+
+        Kind(String id, List<String> outputs) {
+            this.id = id;
+            this.outputs = outputs;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        /**
+         * Names of the values the indicator produces for each bar
+         */
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        /**
+         * Look up an indicator by its tool argument value, e.g. "rsi"
+         * @return the indicator, or null if it is not supported
+         */
+        public static Kind fromId(String id) {
+            for (Kind kind : values()) {
+                if (kind.id.equalsIgnoreCase(id)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static IndicatorSpec sma(int period) {
+        return new IndicatorSpec(Kind.SMA, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec ema(int period) {
+        return new IndicatorSpec(Kind.EMA, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec rsi(int period) {
+        return new IndicatorSpec(Kind.RSI, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+        return new IndicatorSpec(Kind.MACD, fastPeriod, slowPeriod, signalPeriod, 0);
+    }
+
+    public static IndicatorSpec bollinger(int period, double deviations) {
+        return new IndicatorSpec(Kind.BOLLINGER, period, 0, 0, deviations);
+    }
+
+    /**
+     * Parse a tool argument: either an indicator name such as "rsi", which uses the
+     * usual defaults (SMA/EMA 20, RSI 14, MACD 12/26/9, Bollinger 20 with 2
+     * deviations), or an object such as {"name": "sma", "period": 50}.
+     * @throws IllegalArgumentException if the name or a parameter is invalid
+     */
+    public static IndicatorSpec parse(Object argument) {
+        Map<?, ?> fields = argument instanceof Map<?, ?> map ? map : Map.of("name", String.valueOf(argument));
+        Kind kind = Kind.fromId(String.valueOf(fields.get("name")));
+        if (kind == null) {
+            throw new IllegalArgumentException("Unknown indicator '" + fields.get("name")
+                    + "'; supported: sma, ema, rsi, macd, bollinger");
+        }
+        IndicatorSpec spec = switch (kind) {
+            case SMA -> sma(integer(fields, "period", 20));
+            case EMA -> ema(integer(fields, "period", 20));
+            case RSI -> rsi(integer(fields, "period", 14));
+            case MACD -> macd(integer(fields, "fast", 12), integer(fields, "slow", 26), integer(fields, "signal", 9));
+            case BOLLINGER -> bollinger(integer(fields, "period", 20), decimal(fields, "deviations", 2));
+        };
+        if (spec.period < 1 || (kind == Kind.MACD && (spec.slowPeriod <= spec.period || spec.signalPeriod < 1))) {
+            throw new IllegalArgumentException("Invalid periods for " + spec.id());
+        }
+        if (kind == Kind.BOLLINGER && !(spec.deviations > 0)) {
+            throw new IllegalArgumentException("Bollinger deviations must be positive");
+        }
+        return spec;
+    }
+
+    /**
+     * Longest lookback of the indicator, in bars
+     */
+    public int lookback() {
+        return kind == Kind.MACD ? slowPeriod + signalPeriod : period;
+    }
+
+    /**
+     * Stable identifier including the parameters, e.g. "macd(12,26,9)"
+     */
+    public String id() {
+        return switch (kind) {
+            case MACD -> kind.id + "(" + period + "," + slowPeriod + "," + signalPeriod + ")";
+            case BOLLINGER -> kind.id + "(" + period + "," + deviations + ")";
+            default -> kind.id + "(" + period + ")";
+        };
+    }
+
+    private static int integer(Map<?, ?> fields, String name, int defaultValue) {
+        Object value = fields.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Indicator " + name + " must be an integer");
+        }
+    }
+
+    private static double decimal(Map<?, ?> fields, String name, double defaultValue) {
+        Object value = fields.get(name);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Indicator " + name + " must be a number");
+        }
+    }
+}
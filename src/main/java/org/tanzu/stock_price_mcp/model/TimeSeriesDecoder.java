@@ -0,0 +1,208 @@
+package org.tanzu.stock_price_mcp.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for AlphaVantage time series payloads. Body chunks are
+ * fed to a non-blocking Jackson parser as they arrive, and each bar is emitted
+ * as soon as its object closes, so memory stays proportional to the bars kept
+ * rather than to the payload.
+ * <p>
+ * Only bars dated within [from, to] are built. AlphaVantage lists bars newest
+ * first, so the first bar older than {@code from} ends decoding and the rest of
+ * the body can be dropped. Top-level "Error Message", "Note" and "Information"
+ * fields also end decoding and are reported through {@link #errorMessage()}.
+ * A bar with a malformed date or value fails decoding with an
+ * AlphaVantageException with code PARSE_ERROR.
+ * Instances are single-use and not thread-safe.
+ */
+public final class TimeSeriesDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final String seriesField;
+    private final long fromDay;
+    private final long toDay;
+
+    private int depth;
+    private String topField;
+    private boolean inSeries;
+    private boolean seriesSeen;
+    private boolean done;
+    private String errorField;
+    private String errorMessage;
+
+    private long barDay;
+    private String barField;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+
+    /**
+     * @param from First date to keep, or null for no lower bound
+     * @param to Last date to keep, or null for no upper bound
+     */
+    public TimeSeriesDecoder(TimeSeriesInterval interval, LocalDate from, LocalDate to) {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.seriesField = interval.field();
+        this.fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        this.toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+    }
+
+    /**
+     * Feed the next body chunk. The buffer is fully consumed before this returns.
+     * @return Bars completed within this chunk, newest first
+     */
+    public List<Bar> decode(ByteBuffer chunk) throws IOException {
+        List<Bar> bars = new ArrayList<>();
+        if (done) {
+            return bars;
+        }
+        feeder.feedInput(chunk);
+        drain(bars);
+        return bars;
+    }
+
+    /**
+     * Signal the end of the body and decode whatever is still buffered
+     * @return Bars completed by the end of input, newest first
+     */
+    public List<Bar> finish() throws IOException {
+        List<Bar> bars = new ArrayList<>();
+        if (!done) {
+            feeder.endOfInput();
+            drain(bars);
+            done = true;
+        }
+        parser.close();
+        return bars;
+    }
+
+    /**
+     * Whether decoding has ended, either because every wanted bar was read or because of an error field
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Whether the payload contained the time series object
+     */
+    public boolean isSeriesSeen() {
+        return seriesSeen;
+    }
+
+    /**
+     * Message of the top-level error field, or null if none was seen
+     */
+    public String errorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Whether the error field reports that the API key was rate limited
+     */
+    public boolean isThrottled() {
+        return errorField != null && AlphaVantageResponse.isThrottleMessage(errorField, errorMessage);
+    }
+
+    private void drain(List<Bar> bars) throws IOException {
+        JsonToken token;
+        while (!done && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && seriesField.equals(topField) && token == JsonToken.START_OBJECT) {
+                        inSeries = true;
+                        seriesSeen = true;
+                    } else if (inSeries && depth == 3) {
+                        open = high = low = close = 0;
+                        volume = 0;
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (inSeries && depth == 2) {
+                        if (barDay < fromDay) {
+                            done = true;
+                        } else if (barDay <= toDay) {
+                            bars.add(new Bar(LocalDate.ofEpochDay(barDay), open, high, low, close, volume));
+                        }
+                    } else if (inSeries && depth == 1) {
+                        inSeries = false;
+                        done = true;
+                    }
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        topField = parser.currentName();
+                    } else if (inSeries && depth == 2) {
+                        barDay = parseDay(parser.currentName());
+                    } else if (inSeries && depth == 3) {
+                        barField = parser.currentName();
+                    }
+                }
+                case VALUE_STRING -> {
+                    if (depth == 1 && isErrorField(topField)) {
+                        errorField = topField;
+                        errorMessage = parser.getText();
+                        done = true;
+                    } else if (inSeries && depth == 3) {
+                        readBarField(parser.getText());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static long parseDay(String date) {
+        try {
+            return LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new AlphaVantageException("Malformed bar date: " + date, AlphaVantageResponse.PARSE_ERROR, e);
+        }
+    }
+
+    private void readBarField(String value) {
+        try {
+            switch (barField) {
+                case Bar.OPEN -> open = Double.parseDouble(value);
+                case Bar.HIGH -> high = Double.parseDouble(value);
+                case Bar.LOW -> low = Double.parseDouble(value);
+                case Bar.CLOSE -> close = Double.parseDouble(value);
+                case Bar.VOLUME -> volume = Long.parseLong(value);
+                default -> {
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new AlphaVantageException("Malformed \"" + barField + "\" in bar " + LocalDate.ofEpochDay(barDay)
+                    + ": " + value, AlphaVantageResponse.PARSE_ERROR, e);
+        }
+    }
+
+    private static boolean isErrorField(String field) {
+        return "Error Message".equals(field) || "Note".equals(field) || "Information".equals(field);
+    }
+}
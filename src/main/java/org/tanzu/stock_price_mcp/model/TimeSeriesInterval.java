@@ -0,0 +1,65 @@
+package org.tanzu.stock_price_mcp.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+
+/**
+ * Bar intervals served by the time_series tool, with the AlphaVantage function
+ * that produces them and the response field that holds the bars
+ */
+public enum TimeSeriesInterval {
+
+    DAILY("daily", "TIME_SERIES_DAILY", "Time Series (Daily)"),
+    WEEKLY("weekly", "TIME_SERIES_WEEKLY", "Weekly Time Series"),
+    MONTHLY("monthly", "TIME_SERIES_MONTHLY", "Monthly Time Series");
+
+    private final String id;
+    private final String function;
+    private final String field;
+
+    TimeSeriesInterval(String id, String function, String field) {
+        this.id = id;
+        this.function = function;
+        this.field = field;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String function() {
+        return function;
+    }
+
+    public String field() {
+        return field;
+    }
+
+    /**
+     * Whether two bar dates fall in the same period of this interval. AlphaVantage
+     * dates the bar of a week or month still in progress with its latest trading
+     * day, so that date moves forward until the period closes.
+     */
+    public boolean samePeriod(LocalDate a, LocalDate b) {
+        return switch (this) {
+            case DAILY -> a.equals(b);
+            case WEEKLY -> a.get(IsoFields.WEEK_BASED_YEAR) == b.get(IsoFields.WEEK_BASED_YEAR)
+                    && a.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR) == b.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            case MONTHLY -> YearMonth.from(a).equals(YearMonth.from(b));
+        };
+    }
+
+    /**
+     * Look up an interval by its tool argument value, e.g. "daily"
+     * @return the interval, or null if the value is not supported
+     */
+    public static TimeSeriesInterval fromId(String id) {
+        for (TimeSeriesInterval interval : values()) {
+            if (interval.id.equalsIgnoreCase(id)) {
+                return interval;
+            }
+        }
+        return null;
+    }
+}
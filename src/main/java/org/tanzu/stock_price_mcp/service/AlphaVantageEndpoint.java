@@ -0,0 +1,25 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint (/actuator/alphavantage) showing the circuit breaker state and
+ * the latency estimates behind the current timeout and hedge delay.
+ */
+@Component
+@Endpoint(id = "alphavantage")
+public class AlphaVantageEndpoint {
+
+    private final UpstreamResilience resilience;
+
+    public AlphaVantageEndpoint(UpstreamResilience resilience) {
+        this.resilience = resilience;
+    }
+
+    @ReadOperation
+    public UpstreamResilience.Snapshot resilience() {
+        return resilience.snapshot();
+    }
+}
@@ -0,0 +1,109 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the counters the quote cache, request coalescer, rate limiter, API
+ * key pool and quote subscriptions already keep. Values are read from their
+ * stats at scrape time, so nothing is added to the request path.
+ */
+@Component
+public class AlphaVantageMetrics implements MeterBinder {
+
+    private final QuoteCache quoteCache;
+    private final RequestCoalescer requestCoalescer;
+    private final AlphaVantageRateLimiter rateLimiter;
+    private final ApiKeyPool apiKeyPool;
+    private final QuoteSubscriptionService subscriptionService;
+
+    public AlphaVantageMetrics(QuoteCache quoteCache, RequestCoalescer requestCoalescer,
+                               AlphaVantageRateLimiter rateLimiter, ApiKeyPool apiKeyPool,
+                               QuoteSubscriptionService subscriptionService) {
+        this.quoteCache = quoteCache;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.apiKeyPool = apiKeyPool;
+        this.subscriptionService = subscriptionService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("alphavantage.cache.requests", quoteCache, cache -> cache.stats().hits())
+                .description("Quote cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("alphavantage.cache.requests", quoteCache, cache -> cache.stats().staleHits())
+                .description("Quote cache lookups")
+                .tag("result", "stale")
+                .register(registry);
+        FunctionCounter.builder("alphavantage.cache.requests", quoteCache, cache -> cache.stats().misses())
+                .description("Quote cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("alphavantage.cache.evictions", quoteCache, cache -> cache.stats().evictions())
+                .description("Quote cache entries evicted to stay within the size bound")
+                .register(registry);
+        Gauge.builder("alphavantage.cache.size", quoteCache, cache -> cache.stats().size())
+                .description("Quote cache entries")
+                .register(registry);
+
+        Gauge.builder("alphavantage.coalescer.in.flight", requestCoalescer, RequestCoalescer::inFlightCount)
+                .description("Distinct upstream calls currently shared by callers")
+                .register(registry);
+        FunctionCounter.builder("alphavantage.coalescer.coalesced", requestCoalescer, RequestCoalescer::coalescedCount)
+                .description("Calls that joined an in-flight upstream call instead of making their own")
+                .register(registry);
+
+        Gauge.builder("alphavantage.ratelimit.queue.depth", rateLimiter, limiter -> limiter.stats().queueDepth())
+                .description("Calls waiting for a rate limit permit")
+                .register(registry);
+        FunctionCounter.builder("alphavantage.ratelimit.permits", rateLimiter, limiter -> limiter.stats().granted())
+                .description("Rate limit permit requests")
+                .tag("result", "granted")
+                .register(registry);
+        FunctionCounter.builder("alphavantage.ratelimit.permits", rateLimiter, limiter -> limiter.stats().rejected())
+                .description("Rate limit permit requests")
+                .tag("result", "rejected")
+                .register(registry);
+        FunctionTimer.builder("alphavantage.ratelimit.wait", rateLimiter,
+                        limiter -> limiter.stats().granted(),
+                        limiter -> limiter.stats().totalWait().toNanos(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time granted calls spent queued for a permit")
+                .register(registry);
+
+        Gauge.builder("alphavantage.subscriptions.symbols", subscriptionService, QuoteSubscriptionService::activeSymbols)
+                .description("Symbols polled for streaming subscribers")
+                .register(registry);
+        Gauge.builder("alphavantage.subscriptions.subscribers", subscriptionService,
+                        QuoteSubscriptionService::activeSubscribers)
+                .description("Open streaming quote subscriptions")
+                .register(registry);
+
+        // The key set is fixed at startup, so one meter per key stays low cardinality. Keys are
+        // tagged by pool index: masked keys can share a suffix, and their meters would collide
+        for (int i = 0; i < apiKeyPool.size(); i++) {
+            int index = i;
+            String key = Integer.toString(i);
+            FunctionCounter.builder("alphavantage.keys.requests", apiKeyPool, pool -> pool.stats().get(index).requests())
+                    .description("Upstream calls made with each API key")
+                    .tag("key", key)
+                    .register(registry);
+            FunctionCounter.builder("alphavantage.keys.throttled", apiKeyPool, pool -> pool.stats().get(index).throttled())
+                    .description("Throttle responses received for each API key")
+                    .tag("key", key)
+                    .register(registry);
+            Gauge.builder("alphavantage.keys.cooling.down", apiKeyPool, pool -> pool.stats().get(index).coolingDown() ? 1 : 0)
+                    .description("Whether each API key is cooling down after a throttle response")
+                    .tag("key", key)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side token bucket limiter for outgoing AlphaVantage calls.
+ * Two buckets are enforced together: a per-minute bucket and a per-day bucket,
+ * each sized as the per-key limit times the number of pooled API keys.
+ * Callers reserve a permit in arrival order and wait until it becomes valid, so
+ * the queue is FIFO. A caller cancelled while waiting gives its permits back.
+ * When the queue is too deep, or the wait would exceed the configured maximum,
+ * the call fails fast with a RATE_LIMITED error instead of spending a round trip
+ * on an upstream throttle response.
+ */
+@Component
+public class AlphaVantageRateLimiter {
+
+    public static final String RATE_LIMITED = "RATE_LIMITED";
+
+    private static final Logger logger = LoggerFactory.getLogger(AlphaVantageRateLimiter.class);
+
+    private final boolean enabled;
+    private final int maxQueueDepth;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final TokenBucket minuteBucket;
+    private final TokenBucket dayBucket;
+
+    private int queueDepth;
+    private long granted;
+    private long rejected;
+    private long totalWaitNanos;
+    private long maxObservedWaitNanos;
+
+    @Autowired
+    public AlphaVantageRateLimiter(AlphaVantageConfig config) {
+        this(config.getRateLimit(), Math.max(1, config.getApiKeys().size()), System::nanoTime);
+    }
+
+    AlphaVantageRateLimiter(AlphaVantageConfig.RateLimit settings, int keyCount, LongSupplier nanoClock) {
+        this.enabled = settings.isEnabled();
+        this.maxQueueDepth = settings.getMaxQueueDepth();
+        this.maxWaitNanos = settings.getMaxWait().toNanos();
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.minuteBucket = new TokenBucket(settings.getRequestsPerMinute() * keyCount, TimeUnit.MINUTES.toNanos(1), now);
+        this.dayBucket = new TokenBucket(settings.getRequestsPerDay() * keyCount, TimeUnit.DAYS.toNanos(1), now);
+    }
+
+    /**
+     * Acquire a permit for one upstream call
+     * @return Mono that completes once the call may proceed, or errors with
+     *         an AlphaVantageException with code RATE_LIMITED when load is shed
+     */
+    public Mono<Void> acquire() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            if (waitNanos <= 0) {
+                return Mono.empty();
+            }
+            logger.debug("Rate limit reached, delaying AlphaVantage call by {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            // A losing hedge, a client disconnect or a timeout never reaches upstream
+            return Mono.delay(Duration.ofNanos(waitNanos))
+                    .doOnCancel(() -> refund(waitNanos))
+                    .doFinally(signal -> dequeue())
+                    .then();
+        });
+    }
+
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        if (queueDepth >= maxQueueDepth) {
+            rejected++;
+            throw new AlphaVantageException("AlphaVantage rate limit queue is full (" + queueDepth
+                    + " waiting calls)", RATE_LIMITED);
+        }
+        long waitNanos = Math.max(minuteBucket.waitFor(now), dayBucket.waitFor(now));
+        if (waitNanos > maxWaitNanos) {
+            rejected++;
+            throw new AlphaVantageException("AlphaVantage rate limit exceeded, next permit available in "
+                    + TimeUnit.NANOSECONDS.toSeconds(waitNanos) + "s", RATE_LIMITED);
+        }
+        minuteBucket.take(now);
+        dayBucket.take(now);
+        granted++;
+        totalWaitNanos += waitNanos;
+        maxObservedWaitNanos = Math.max(maxObservedWaitNanos, waitNanos);
+        if (waitNanos > 0) {
+            queueDepth++;
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Whole permits that could be granted right now without waiting, or
+     * Integer.MAX_VALUE when rate limiting is disabled
+     */
+    public synchronized int availablePermits() {
+        if (!enabled) {
+            return Integer.MAX_VALUE;
+        }
+        long now = nanoClock.getAsLong();
+        return (int) Math.min(minuteBucket.available(now), dayBucket.available(now));
+    }
+
+    /**
+     * Total permits per minute across all pooled keys, or 0 when rate limiting is disabled
+     */
+    public int permitsPerMinute() {
+        return enabled ? (int) minuteBucket.capacity : 0;
+    }
+
+    /**
+     * Whole permits left in the per-day bucket, or Integer.MAX_VALUE when rate limiting is disabled
+     */
+    public synchronized int availableDailyPermits() {
+        return enabled ? (int) dayBucket.available(nanoClock.getAsLong()) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Total permits per day across all pooled keys, or 0 when rate limiting is disabled
+     */
+    public int permitsPerDay() {
+        return enabled ? (int) dayBucket.capacity : 0;
+    }
+
+    private synchronized void dequeue() {
+        queueDepth--;
+    }
+
+    synchronized void refund(long waitNanos) {
+        long now = nanoClock.getAsLong();
+        minuteBucket.refund(now);
+        dayBucket.refund(now);
+        granted--;
+        totalWaitNanos -= waitNanos;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(queueDepth, granted, rejected,
+                granted == 0 ? Duration.ZERO : Duration.ofNanos(totalWaitNanos / granted),
+                Duration.ofNanos(maxObservedWaitNanos), Duration.ofNanos(totalWaitNanos));
+    }
+
+    public record Stats(int queueDepth, long granted, long rejected, Duration averageWait, Duration maxWait,
+                        Duration totalWait) {
+    }
+
+    /**
+     * Token bucket refilled continuously at capacity per period. Permits may go
+     * negative; the deficit is the backlog that later callers queue behind.
+     */
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double nanosPerPermit;
+        private double permits;
+        private long lastRefill;
+
+        TokenBucket(int capacity, long periodNanos, long now) {
+            this.capacity = capacity;
+            this.nanosPerPermit = (double) periodNanos / capacity;
+            this.permits = capacity;
+            this.lastRefill = now;
+        }
+
+        long waitFor(long now) {
+            refill(now);
+            return permits >= 1 ? 0 : (long) Math.ceil((1 - permits) * nanosPerPermit);
+        }
+
+        long available(long now) {
+            refill(now);
+            return (long) Math.max(0, Math.floor(permits));
+        }
+
+        void take(long now) {
+            refill(now);
+            permits -= 1;
+        }
+
+        void refund(long now) {
+            refill(now);
+            permits = Math.min(capacity, permits + 1);
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                permits = Math.min(capacity, permits + (now - lastRefill) / nanosPerPermit);
+                lastRefill = now;
+            }
+        }
+    }
+}
@@ -1,62 +1,147 @@
 package org.tanzu.stock_price_mcp.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
 import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
 import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.TimeSeriesDecoder;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Service
 public class AlphaVantageService {
 
     private static final Logger logger = LoggerFactory.getLogger(AlphaVantageService.class);
 
+    static final String UPSTREAM_TIMER = "alphavantage.upstream.requests";
+    static final String UPSTREAM_ACTIVE = "alphavantage.upstream.active";
+    static final String ERROR_COUNTER = "alphavantage.errors";
+    static final String RETRY_COUNTER = "alphavantage.upstream.retries";
+    static final String HEDGE_COUNTER = "alphavantage.upstream.hedges";
+
     private final WebClient webClient;
     private final AlphaVantageConfig config;
+    private final QuoteCache quoteCache;
+    private final SharedQuoteCache sharedQuoteCache;
+    private final RequestCoalescer requestCoalescer;
+    private final AlphaVantageRateLimiter rateLimiter;
+    private final ApiKeyPool apiKeyPool;
+    private final UpstreamResilience resilience;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger activeRequests;
+    private final QuoteBatcher quoteBatcher;
 
     @Autowired
-    public AlphaVantageService(WebClient webClient, AlphaVantageConfig config) {
+    public AlphaVantageService(WebClient webClient, AlphaVantageConfig config, QuoteCache quoteCache,
+                               SharedQuoteCache sharedQuoteCache, RequestCoalescer requestCoalescer, AlphaVantageRateLimiter rateLimiter,
+                               ApiKeyPool apiKeyPool, UpstreamResilience resilience, MeterRegistry meterRegistry) {
         this.webClient = webClient;
         this.config = config;
+        this.quoteCache = quoteCache;
+        this.sharedQuoteCache = sharedQuoteCache;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.apiKeyPool = apiKeyPool;
+        this.resilience = resilience;
+        this.meterRegistry = meterRegistry;
+        this.activeRequests = meterRegistry.gauge(UPSTREAM_ACTIVE, new AtomicInteger());
+        this.quoteBatcher = new QuoteBatcher(config.getBatching(), this::fetchBulkQuotes, this::fetchGlobalQuote,
+                meterRegistry, Schedulers.parallel());
     }
 
     /**
-     * Get global quote for a stock symbol
-     * @param symbol Stock symbol (e.g., "IBM", "AAPL")
+     * Get global quote for a stock symbol. Depending on the cache stale mode, a
+     * quote past its TTL is either served at once and refreshed in the background,
+     * or served only when the refresh fails; either way it carries a "Staleness" marker.
+     * @param symbol Stock symbol as normalized by {@link SymbolTable#normalize} (e.g., "IBM", "AAPL")
      * @return AlphaVantageResponse containing the raw API response
      */
     public Mono<AlphaVantageResponse> getGlobalQuote(String symbol) {
-        if (symbol == null || symbol.trim().isEmpty()) {
+        if (symbol == null || symbol.isEmpty()) {
             return Mono.error(new IllegalArgumentException("Stock symbol cannot be null or empty"));
         }
 
-        String normalizedSymbol = symbol.trim().toUpperCase();
+        QuoteCache.Lookup cached = quoteCache.lookup(symbol);
+        if (cached != null && !cached.stale()) {
+            logger.debug("Serving cached quote for symbol: {}", symbol);
+            return Mono.just(cached.response());
+        }
+
+        Mono<AlphaVantageResponse> refresh = refreshGlobalQuote(symbol);
+        if (cached == null) {
+            return refresh;
+        }
+
+        if (config.getCache().getStaleMode() == AlphaVantageConfig.Cache.StaleMode.WHILE_REVALIDATE) {
+            logger.debug("Serving stale quote for symbol {} ({}s old) while refreshing",
+                    symbol, cached.age().toSeconds());
+            refresh.subscribe(response -> { },
+                    e -> logger.warn("Background refresh of quote for symbol {} failed: {}",
+                            symbol, e.getMessage()));
+            return Mono.just(cached.staleResponse());
+        }
+
+        return refresh.onErrorResume(AlphaVantageException.class, e -> {
+            logger.warn("Refreshing quote for symbol {} failed, serving stale quote ({}s old): {}",
+                    symbol, cached.age().toSeconds(), e.getMessage());
+            return Mono.just(cached.staleResponse());
+        });
+    }
+
+    /**
+     * Fetch a fresh global quote regardless of what this instance has cached, and
+     * cache it. Concurrent lookups of the same symbol share the fetch, and with the
+     * shared cache enabled, so do other instances. With batching enabled, lookups
+     * of different symbols arriving together share one bulk quote call.
+     * @param symbol Stock symbol, normalized like {@link #getGlobalQuote}
+     * @return Mono containing the fetched response
+     */
+    public Mono<AlphaVantageResponse> refreshGlobalQuote(String symbol) {
+        return requestCoalescer.execute(RequestCoalescer.key("GLOBAL_QUOTE", symbol, null),
+                () -> sharedQuoteCache.load(symbol, () -> quoteBatcher.fetch(symbol))
+                        .doOnNext(quote -> quoteCache.put(symbol, quote.response(), quote.age()))
+                        .map(QuoteCache.CachedQuote::response));
+    }
+
+    private Mono<AlphaVantageResponse> fetchGlobalQuote(String normalizedSymbol) {
         logger.info("Fetching global quote for symbol: {}", normalizedSymbol);
 
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .scheme("https")
-                        .host("www.alphavantage.co")
-                        .path("/query")
+        return withApiKey("GLOBAL_QUOTE", apiKey -> webClient.get()
+                .uri(config.getBaseUrl(), uriBuilder -> uriBuilder
                         .queryParam("function", "GLOBAL_QUOTE")
                         .queryParam("symbol", normalizedSymbol)
-                        .queryParam("apikey", config.getKey())
+                        .queryParam("apikey", apiKey)
                         .build())
                 .retrieve()
-                .bodyToMono(AlphaVantageResponse.class)
-                .timeout(Duration.ofSeconds(30))
+                .bodyToMono(AlphaVantageResponse.class))
                 .doOnSuccess(response -> {
                     if (response != null && response.hasError()) {
                         String errorMsg = response.getErrorMessage();
                         logger.warn("AlphaVantage API returned error for symbol {}: {}", normalizedSymbol, errorMsg);
-                        throw new AlphaVantageException(errorMsg, "API_ERROR");
+                        throw new AlphaVantageException(errorMsg, errorCode(response));
                     }
                     logger.info("Successfully retrieved quote for symbol: {}", normalizedSymbol);
                 })
@@ -78,7 +163,12 @@ public class AlphaVantageService {
                     }
                     return new AlphaVantageException("Failed to fetch quote for symbol: " + normalizedSymbol, 
                             "NETWORK_ERROR", ex);
-                });
+                })
+                .doOnError(AlphaVantageException.class, ex -> countError("GLOBAL_QUOTE", ex));
+    }
+
+    private Mono<AlphaVantageResponse> fetchBulkQuotes(List<String> symbols) {
+        return callAlphaVantageFunction(QuoteBatcher.FUNCTION, String.join(",", symbols), null);
     }
 
     /**
@@ -98,17 +188,20 @@ public class AlphaVantageService {
         }
 
         String normalizedSymbol = symbol.trim().toUpperCase();
+        return requestCoalescer.execute(RequestCoalescer.key(function, normalizedSymbol, additionalParams),
+                () -> fetchFunction(function, normalizedSymbol, additionalParams));
+    }
+
+    private Mono<AlphaVantageResponse> fetchFunction(String function, String normalizedSymbol,
+                                                     java.util.Map<String, String> additionalParams) {
         logger.info("Calling AlphaVantage function: {} for symbol: {}", function, normalizedSymbol);
 
-        return webClient.get()
-                .uri(uriBuilder -> {
+        return withApiKey(function, apiKey -> webClient.get()
+                .uri(config.getBaseUrl(), uriBuilder -> {
                     var builder = uriBuilder
-                            .scheme("https")
-                            .host("www.alphavantage.co")
-                            .path("/query")
                             .queryParam("function", function)
                             .queryParam("symbol", normalizedSymbol)
-                            .queryParam("apikey", config.getKey());
+                            .queryParam("apikey", apiKey);
                     
                     if (additionalParams != null) {
                         additionalParams.forEach(builder::queryParam);
@@ -117,14 +210,13 @@ public class AlphaVantageService {
                     return builder.build();
                 })
                 .retrieve()
-                .bodyToMono(AlphaVantageResponse.class)
-                .timeout(Duration.ofSeconds(30))
+                .bodyToMono(AlphaVantageResponse.class))
                 .doOnSuccess(response -> {
                     if (response != null && response.hasError()) {
                         String errorMsg = response.getErrorMessage();
                         logger.warn("AlphaVantage API returned error for function {} and symbol {}: {}", 
                                 function, normalizedSymbol, errorMsg);
-                        throw new AlphaVantageException(errorMsg, "API_ERROR");
+                        throw new AlphaVantageException(errorMsg, errorCode(response));
                     }
                     logger.info("Successfully called function {} for symbol: {}", function, normalizedSymbol);
                 })
@@ -137,6 +229,238 @@ public class AlphaVantageService {
                     }
                     return new AlphaVantageException("Failed to call function " + function + " for symbol: " + normalizedSymbol, 
                             "NETWORK_ERROR", ex);
-                });
+                })
+                .doOnError(AlphaVantageException.class, ex -> countError(function, ex));
+    }
+
+    /**
+     * Run the call with the next pooled API key, once the circuit breaker allows it
+     * and a rate limit permit is available. Keys whose response carries a throttle
+     * message are put into cool-down. The call times out after the adaptive timeout,
+     * is hedged with a second attempt once it runs past the observed p95 (when
+     * enabled and a permit is spare), and is retried with backoff on network errors.
+     * A failed hedge is ignored, so only the first call's outcome can fail the call.
+     */
+    private Mono<AlphaVantageResponse> withApiKey(String function, Function<String, Mono<AlphaVantageResponse>> call) {
+        Mono<AlphaVantageResponse> attempt = attempt(function, call);
+        return Mono.defer(() -> {
+                    Duration hedgeDelay = resilience.hedgeDelay();
+                    if (hedgeDelay == null) {
+                        return attempt;
+                    }
+                    Mono<AlphaVantageResponse> hedge = Mono.delay(hedgeDelay).then(Mono.defer(() -> {
+                        if (rateLimiter.availablePermits() == 0) {
+                            return Mono.never();
+                        }
+                        meterRegistry.counter(HEDGE_COUNTER, "function", function).increment();
+                        return attempt.onErrorResume(ex -> Mono.never());
+                    }));
+                    return Mono.firstWithSignal(attempt, hedge);
+                })
+                .retryWhen(resilience.retrySpec()
+                        .doBeforeRetry(signal -> meterRegistry.counter(RETRY_COUNTER, "function", function).increment()));
+    }
+
+    /**
+     * A single upstream attempt. Only the upstream round trip is timed; time spent
+     * queued for a permit is reported by the rate limiter metrics.
+     */
+    private Mono<AlphaVantageResponse> attempt(String function, Function<String, Mono<AlphaVantageResponse>> call) {
+        return Mono.defer(() -> {
+            if (!resilience.tryAcquire()) {
+                return Mono.error(circuitOpen());
+            }
+            return rateLimiter.acquire()
+                    .doOnError(ex -> resilience.onIgnored())
+                    .doOnCancel(resilience::onIgnored)
+                    .then(Mono.defer(() -> {
+                        String apiKey = apiKeyPool.nextKey();
+                        Timer.Sample sample = Timer.start(meterRegistry);
+                        activeRequests.incrementAndGet();
+                        return call.apply(apiKey)
+                                // retrieve() wraps a failure to decode a 2xx body, such as a PARSE_ERROR
+                                .onErrorMap(WebClientResponseException.class, ex ->
+                                        ex.getCause() instanceof AlphaVantageException cause ? cause : ex)
+                                .timeout(resilience.timeout())
+                                .doOnNext(response -> {
+                                    if (response.isThrottled()) {
+                                        apiKeyPool.markThrottled(apiKey);
+                                    }
+                                })
+                                // retrieve() only emits for 2xx responses, and AlphaVantage reports API errors with a 200
+                                .doOnSuccess(response -> resilience.onSuccess(sample.stop(upstreamTimer(function,
+                                        response != null && response.hasError() ? errorCode(response) : "SUCCESS", "200"))))
+                                .doOnError(ex -> {
+                                    sample.stop(upstreamTimer(function, ex));
+                                    recordFailure(ex);
+                                })
+                                .doOnCancel(() -> {
+                                    sample.stop(upstreamTimer(function, "CANCELLED", "none"));
+                                    resilience.onIgnored();
+                                })
+                                .doFinally(signal -> activeRequests.decrementAndGet());
+                    }));
+        });
+    }
+
+    private void recordFailure(Throwable error) {
+        if (UpstreamResilience.isFailure(error)) {
+            resilience.onFailure();
+        } else {
+            // A 4xx or an API error still proves the upstream is reachable
+            resilience.onSuccess();
+        }
+    }
+
+    private static AlphaVantageException circuitOpen() {
+        return new AlphaVantageException("AlphaVantage circuit breaker is open, failing fast",
+                UpstreamResilience.CIRCUIT_OPEN);
+    }
+
+    /**
+     * Stream a time series without buffering the body. Bars are decoded from the
+     * response chunks as they arrive and filtered by date during the parse; once
+     * the payload reaches bars older than {@code from}, the rest of the body is
+     * dropped. Unlike {@link #callAlphaVantageFunction}, this is not limited by the
+     * WebClient in-memory codec size, so full histories can be fetched. The whole
+     * download, not each chunk, must finish within {@code resilience.max-timeout}.
+     * @param outputSize "compact" for the latest 100 bars, "full" for the whole history
+     * @param from First date to keep, or null for no lower bound
+     * @param to Last date to keep, or null for no upper bound
+     * @return Flux of bars, newest first
+     */
+    public Flux<Bar> streamTimeSeries(TimeSeriesInterval interval, String symbol, String outputSize,
+                                      LocalDate from, LocalDate to) {
+        if (symbol == null || symbol.trim().isEmpty()) {
+            return Flux.error(new IllegalArgumentException("Stock symbol cannot be null or empty"));
+        }
+
+        String normalizedSymbol = symbol.trim().toUpperCase();
+        String function = interval.function();
+        logger.info("Streaming AlphaVantage function: {} for symbol: {}", function, normalizedSymbol);
+
+        return Flux.defer(() -> {
+            if (!resilience.tryAcquire()) {
+                return Flux.error(circuitOpen());
+            }
+            return rateLimiter.acquire()
+                    .doOnError(ex -> resilience.onIgnored())
+                    .doOnCancel(resilience::onIgnored)
+                    .thenMany(Flux.defer(() -> {
+                        String apiKey = apiKeyPool.nextKey();
+                        TimeSeriesDecoder decoder = new TimeSeriesDecoder(interval, from, to);
+                        long deadline = System.nanoTime() + config.getResilience().getMaxTimeout().toNanos();
+                        Timer.Sample sample = Timer.start(meterRegistry);
+                        activeRequests.incrementAndGet();
+                        return webClient.get()
+                                .uri(config.getBaseUrl(), uriBuilder -> uriBuilder
+                                        .queryParam("function", function)
+                                        .queryParam("symbol", normalizedSymbol)
+                                        .queryParam("outputsize", outputSize)
+                                        .queryParam("apikey", apiKey)
+                                        .build())
+                                .retrieve()
+                                .bodyToFlux(DataBuffer.class)
+                                // max-timeout bounds the whole download, not the gap between chunks
+                                .timeout(untilDeadline(deadline), chunk -> untilDeadline(deadline))
+                                .map(buffer -> decode(decoder, buffer))
+                                .takeUntil(chunk -> decoder.isDone())
+                                .concatWith(Mono.fromCallable(decoder::finish))
+                                .concatMapIterable(bars -> bars)
+                                .concatWith(Mono.defer(() -> {
+                                    if (decoder.errorMessage() != null) {
+                                        logger.warn("AlphaVantage API returned error for function {} and symbol {}: {}",
+                                                function, normalizedSymbol, decoder.errorMessage());
+                                        if (decoder.isThrottled()) {
+                                            apiKeyPool.markThrottled(apiKey);
+                                        }
+                                        return Mono.error(new AlphaVantageException(decoder.errorMessage(),
+                                                decoder.isThrottled() ? AlphaVantageRateLimiter.RATE_LIMITED : "API_ERROR"));
+                                    }
+                                    if (!decoder.isSeriesSeen()) {
+                                        return Mono.error(new AlphaVantageException("AlphaVantage response has no \""
+                                                + interval.field() + "\" data", "API_ERROR"));
+                                    }
+                                    return Mono.empty();
+                                }))
+                                .doOnComplete(() -> {
+                                    sample.stop(upstreamTimer(function, "SUCCESS", "200"));
+                                    resilience.onSuccess();
+                                })
+                                .doOnError(ex -> {
+                                    sample.stop(upstreamTimer(function, ex));
+                                    recordFailure(ex);
+                                })
+                                .doOnCancel(() -> {
+                                    sample.stop(upstreamTimer(function, "CANCELLED", "none"));
+                                    resilience.onIgnored();
+                                })
+                                .doFinally(signal -> activeRequests.decrementAndGet());
+                    }));
+        })
+                .onErrorMap(WebClientResponseException.class, ex ->
+                        new AlphaVantageException("HTTP error: " + ex.getStatusCode() + " - " + ex.getMessage(),
+                                "HTTP_ERROR", ex))
+                .onErrorMap(Exception.class, ex -> {
+                    if (ex instanceof AlphaVantageException) {
+                        return ex;
+                    }
+                    return new AlphaVantageException("Failed to stream function " + function + " for symbol: " + normalizedSymbol,
+                            "NETWORK_ERROR", ex);
+                })
+                .doOnError(AlphaVantageException.class, ex -> countError(function, ex));
+    }
+
+    private static Mono<Long> untilDeadline(long deadline) {
+        return Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+    }
+
+    private static List<Bar> decode(TimeSeriesDecoder decoder, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            List<Bar> bars = new ArrayList<>();
+            while (chunks.hasNext() && !decoder.isDone()) {
+                ByteBuffer chunk = chunks.next();
+                bars.addAll(decoder.decode(chunk));
+            }
+            return bars;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed AlphaVantage time series payload", e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private Timer upstreamTimer(String function, Throwable error) {
+        if (error instanceof AlphaVantageException ex) {
+            // AlphaVantage reports API errors in a 200 response body
+            return upstreamTimer(function, String.valueOf(ex.getErrorCode()), "200");
+        }
+        if (error instanceof WebClientResponseException httpError) {
+            return upstreamTimer(function, "HTTP_ERROR", String.valueOf(httpError.getStatusCode().value()));
+        }
+        return upstreamTimer(function, "NETWORK_ERROR", "none");
+    }
+
+    private Timer upstreamTimer(String function, String outcome, String status) {
+        return Timer.builder(UPSTREAM_TIMER)
+                .description("AlphaVantage round trip latency")
+                .tag("function", function)
+                .tag("outcome", outcome)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void countError(String function, AlphaVantageException ex) {
+        Counter.builder(ERROR_COUNTER)
+                .description("Failed AlphaVantage calls, including calls shed by the rate limiter")
+                .tag("function", function)
+                .tag("code", String.valueOf(ex.getErrorCode()))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String errorCode(AlphaVantageResponse response) {
+        return response.isThrottled() ? AlphaVantageRateLimiter.RATE_LIMITED : "API_ERROR";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Pool of AlphaVantage API keys. Requests are spread across keys by picking the
+ * least recently used key. A key whose response carries a throttle message is
+ * taken out of rotation for the configured cool-down.
+ */
+@Component
+public class ApiKeyPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyPool.class);
+
+    private final List<KeyState> keys = new ArrayList<>();
+    private final long cooldownNanos;
+    private final LongSupplier nanoClock;
+    private long useSequence;
+
+    @Autowired
+    public ApiKeyPool(AlphaVantageConfig config) {
+        this(config.getApiKeys(), config.getKeyCooldown(), System::nanoTime);
+    }
+
+    ApiKeyPool(List<String> apiKeys, Duration cooldown, LongSupplier nanoClock) {
+        if (apiKeys.isEmpty()) {
+            throw new IllegalArgumentException("At least one AlphaVantage API key is required");
+        }
+        long now = nanoClock.getAsLong();
+        apiKeys.forEach(apiKey -> keys.add(new KeyState(apiKey, now)));
+        this.cooldownNanos = cooldown.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Select the least recently used key that is not cooling down
+     * @return API key to use for the next request
+     * @throws AlphaVantageException with code RATE_LIMITED if every key is cooling down
+     */
+    public synchronized String nextKey() {
+        long now = nanoClock.getAsLong();
+        KeyState selected = null;
+        for (KeyState state : keys) {
+            if (state.cooldownUntil - now > 0) {
+                continue;
+            }
+            if (selected == null || state.lastUsed < selected.lastUsed) {
+                selected = state;
+            }
+        }
+        if (selected == null) {
+            throw new AlphaVantageException("All AlphaVantage API keys are cooling down after throttling",
+                    AlphaVantageRateLimiter.RATE_LIMITED);
+        }
+        selected.lastUsed = ++useSequence;
+        selected.requests++;
+        return selected.apiKey;
+    }
+
+    /**
+     * Take a key out of rotation after AlphaVantage throttled it
+     * @param apiKey Key that received a throttle response
+     */
+    public synchronized void markThrottled(String apiKey) {
+        for (KeyState state : keys) {
+            if (state.apiKey.equals(apiKey)) {
+                state.throttled++;
+                state.cooldownUntil = nanoClock.getAsLong() + cooldownNanos;
+                logger.warn("AlphaVantage API key {} throttled, cooling down for {}", mask(apiKey),
+                        Duration.ofNanos(cooldownNanos));
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public synchronized List<KeyStats> stats() {
+        long now = nanoClock.getAsLong();
+        return keys.stream()
+                .map(state -> new KeyStats(mask(state.apiKey), state.requests, state.throttled,
+                        state.cooldownUntil - now > 0))
+                .toList();
+    }
+
+    static String mask(String apiKey) {
+        return apiKey.length() <= 4 ? "****" : "****" + apiKey.substring(apiKey.length() - 4);
+    }
+
+    private static final class KeyState {
+
+        private final String apiKey;
+        private long lastUsed;
+        private long cooldownUntil;
+        private long requests;
+        private long throttled;
+
+        KeyState(String apiKey, long now) {
+            this.apiKey = apiKey;
+            this.cooldownUntil = now;
+        }
+    }
+
+    public record KeyStats(String key, long requests, long throttled, boolean coolingDown) {
+    }
+}
@@ -0,0 +1,370 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * On-disk store of OHLCV bars, one memory-mapped file per symbol and interval.
+ * <p>
+ * Each file is columnar: a fixed header followed by one column per field (date
+ * as epoch day, open, high, low, close, volume), each sized to the file's
+ * capacity. Bars are kept in ascending date order, so range queries binary
+ * search the date column and read the matching slices straight from the
+ * mapping. When a file fills up it is rewritten with twice the capacity.
+ * <p>
+ * A file is created only when bars are merged, i.e. once upstream has returned a
+ * series for the symbol; reads of a series that was never stored create nothing.
+ * At most max-open-files files stay mapped, the least recently used being
+ * closed first; a closed file is simply mapped again on its next use.
+ */
+@Component
+public class BarStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BarStore.class);
+
+    static final int MAGIC = 0x41564253; // "AVBS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int BAR_BYTES = Integer.BYTES + 4 * Double.BYTES + Long.BYTES;
+    static final int INITIAL_CAPACITY = 1024;
+
+    private final Path directory;
+    private final Map<String, BarFile> files;
+
+    @Autowired
+    public BarStore(AlphaVantageConfig config) {
+        this(config.getTimeSeries().getStoreDir(), config.getTimeSeries().getMaxOpenFiles());
+    }
+
+    BarStore(Path directory, int maxOpenFiles) {
+        this.directory = directory;
+        this.files = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BarFile> eldest) {
+                if (size() <= maxOpenFiles) {
+                    return false;
+                }
+                eldest.getValue().close();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Stored bars with a date in [from, to], oldest first
+     * @param from First date, or null for no lower bound
+     * @param to Last date, or null for no upper bound
+     * @param limit Maximum number of bars; the most recent bars in range are kept
+     */
+    public List<Bar> query(String symbol, TimeSeriesInterval interval, LocalDate from, LocalDate to, int limit) {
+        int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+        return read(symbol, interval, file -> file.query(fromDay, toDay, limit), List.of());
+    }
+
+    /**
+     * Merge bars into the store. Bars older than the last stored bar are ignored,
+     * a bar in the same period as the last stored bar replaces it (the latest bar
+     * of a period is provisional until the period closes, and for weekly and
+     * monthly bars its date moves with it) and bars of later periods are appended.
+     * @param bars Bars in ascending date order
+     * @param fetchedAt When the bars were fetched, see {@link #lastFetched}
+     * @return Number of bars appended
+     */
+    public int merge(String symbol, TimeSeriesInterval interval, List<Bar> bars, Instant fetchedAt) {
+        while (true) {
+            BarFile file = file(symbol, interval, true);
+            synchronized (file) {
+                if (!file.isClosed()) {
+                    return file.merge(bars, interval, fetchedAt.toEpochMilli());
+                }
+            }
+        }
+    }
+
+    /**
+     * Date of the most recent stored bar, or null if nothing is stored
+     */
+    public LocalDate lastDate(String symbol, TimeSeriesInterval interval) {
+        int lastDay = read(symbol, interval, BarFile::lastDay, Integer.MIN_VALUE);
+        return lastDay == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(lastDay);
+    }
+
+    /**
+     * When bars for this symbol and interval were last fetched, or null if never
+     */
+    public Instant lastFetched(String symbol, TimeSeriesInterval interval) {
+        long millis = read(symbol, interval, BarFile::lastFetched, 0L);
+        return millis == 0 ? null : Instant.ofEpochMilli(millis);
+    }
+
+    public int size(String symbol, TimeSeriesInterval interval) {
+        return read(symbol, interval, BarFile::size, 0);
+    }
+
+    /**
+     * Number of bar files currently mapped
+     */
+    int openFiles() {
+        synchronized (files) {
+            return files.size();
+        }
+    }
+
+    /**
+     * Apply a read to the series' file, or return absent if it was never stored.
+     * A file closed by eviction between lookup and read is looked up again.
+     */
+    private <T> T read(String symbol, TimeSeriesInterval interval, Function<BarFile, T> read, T absent) {
+        while (true) {
+            BarFile file = file(symbol, interval, false);
+            if (file == null) {
+                return absent;
+            }
+            synchronized (file) {
+                if (!file.isClosed()) {
+                    return read.apply(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * The open file for a series, mapping it if it exists on disk
+     * @param create Whether to create the file if it does not exist
+     * @return the file, or null if it does not exist and create is false
+     */
+    private BarFile file(String symbol, TimeSeriesInterval interval, boolean create) {
+        String name = symbol + "-" + interval.id();
+        synchronized (files) {
+            BarFile file = files.get(name);
+            if (file != null) {
+                return file;
+            }
+            Path path = directory.resolve(name + ".bars");
+            if (!create && !Files.exists(path)) {
+                return null;
+            }
+            try {
+                Files.createDirectories(directory);
+                file = BarFile.open(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open bar store file for " + name, e);
+            }
+            files.put(name, file);
+            return file;
+        }
+    }
+
+    /**
+     * One mapped bar file. Header layout: magic, version, count, capacity (ints),
+     * last fetch time in epoch millis (long), padding to {@link #HEADER_BYTES}.
+     */
+    static final class BarFile {
+
+        private static final int COUNT_OFFSET = 8;
+        private static final int CAPACITY_OFFSET = 12;
+        private static final int FETCHED_OFFSET = 16;
+
+        private final Path path;
+        private MappedByteBuffer buffer;
+        private int count;
+        private int capacity;
+        private boolean closed;
+
+        private BarFile(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+            this.count = buffer.getInt(COUNT_OFFSET);
+            this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        }
+
+        static BarFile open(Path path) throws IOException {
+            if (!Files.exists(path)) {
+                return new BarFile(path, create(path, INITIAL_CAPACITY));
+            }
+            MappedByteBuffer buffer = map(path, Files.size(path));
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.capacity() != fileSize(buffer.getInt(CAPACITY_OFFSET))) {
+                logger.warn("Discarding unreadable bar store file: {}", path);
+                return new BarFile(path, create(path, INITIAL_CAPACITY));
+            }
+            return new BarFile(path, buffer);
+        }
+
+        synchronized List<Bar> query(int fromDay, int toDay, int limit) {
+            int start = lowerBound(fromDay);
+            int end = lowerBound(toDay == Integer.MAX_VALUE ? toDay : toDay + 1);
+            start = Math.max(start, end - limit);
+            List<Bar> bars = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                bars.add(new Bar(LocalDate.ofEpochDay(buffer.getInt(dateOffset(i))),
+                        buffer.getDouble(column(1, i)),
+                        buffer.getDouble(column(2, i)),
+                        buffer.getDouble(column(3, i)),
+                        buffer.getDouble(column(4, i)),
+                        buffer.getLong(column(5, i))));
+            }
+            return bars;
+        }
+
+        synchronized int merge(List<Bar> bars, TimeSeriesInterval interval, long fetchedAt) {
+            int appended = 0;
+            for (Bar bar : bars) {
+                int day = (int) bar.date().toEpochDay();
+                int last = lastDay();
+                if (day < last) {
+                    continue;
+                }
+                int index = count;
+                if (count > 0 && interval.samePeriod(bar.date(), LocalDate.ofEpochDay(last))) {
+                    index = count - 1;
+                } else {
+                    if (count == capacity) {
+                        grow();
+                    }
+                    count++;
+                    appended++;
+                }
+                write(index, day, bar);
+            }
+            buffer.putInt(COUNT_OFFSET, count);
+            buffer.putLong(FETCHED_OFFSET, fetchedAt);
+            buffer.force();
+            return appended;
+        }
+
+        synchronized int lastDay() {
+            return count == 0 ? Integer.MIN_VALUE : buffer.getInt(dateOffset(count - 1));
+        }
+
+        synchronized long lastFetched() {
+            return buffer.getLong(FETCHED_OFFSET);
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Stop using the mapping; it is unmapped once no longer referenced.
+         * Waits for an operation in progress on another thread.
+         */
+        synchronized void close() {
+            closed = true;
+            buffer = null;
+        }
+
+        private void write(int index, int day, Bar bar) {
+            buffer.putInt(dateOffset(index), day);
+            buffer.putDouble(column(1, index), bar.open());
+            buffer.putDouble(column(2, index), bar.high());
+            buffer.putDouble(column(3, index), bar.low());
+            buffer.putDouble(column(4, index), bar.close());
+            buffer.putLong(column(5, index), bar.volume());
+        }
+
+        /**
+         * First index whose date is at or after the given epoch day
+         */
+        private int lowerBound(int day) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (buffer.getInt(dateOffset(mid)) < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Copy every column into a file with twice the capacity, then swap it in
+         */
+        private void grow() {
+            int newCapacity = capacity * 2;
+            Path resized = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                MappedByteBuffer target = create(resized, newCapacity);
+                target.putInt(COUNT_OFFSET, count);
+                target.putLong(FETCHED_OFFSET, buffer.getLong(FETCHED_OFFSET));
+                target.put(columnStart(0, newCapacity), buffer, columnStart(0, capacity), count * Integer.BYTES);
+                for (int column = 1; column <= 5; column++) {
+                    target.put(columnStart(column, newCapacity), buffer, columnStart(column, capacity), count * Long.BYTES);
+                }
+                target.force();
+                Files.move(resized, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                buffer = target;
+                capacity = newCapacity;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to grow bar store file " + path, e);
+            }
+        }
+
+        private int dateOffset(int index) {
+            return HEADER_BYTES + index * Integer.BYTES;
+        }
+
+        /**
+         * Offset of a bar in an 8-byte column: 1 = open, 2 = high, 3 = low, 4 = close, 5 = volume
+         */
+        private int column(int column, int index) {
+            return columnStart(column, capacity) + index * Long.BYTES;
+        }
+
+        private static int columnStart(int column, int capacity) {
+            return column == 0 ? HEADER_BYTES : HEADER_BYTES + capacity * (Integer.BYTES + (column - 1) * Long.BYTES);
+        }
+
+        private static long fileSize(int capacity) {
+            return HEADER_BYTES + (long) capacity * BAR_BYTES;
+        }
+
+        private static MappedByteBuffer create(Path path, int capacity) throws IOException {
+            Files.deleteIfExists(path);
+            MappedByteBuffer buffer = map(path, fileSize(capacity));
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(COUNT_OFFSET, 0);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            buffer.putLong(FETCHED_OFFSET, 0);
+            return buffer;
+        }
+
+        private static MappedByteBuffer map(Path path, long size) throws IOException {
+            // The mapping stays valid after the channel is closed
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+    }
+}
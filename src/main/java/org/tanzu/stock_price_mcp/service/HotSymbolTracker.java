@@ -0,0 +1,74 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts quote requests per symbol so the most requested symbols can be
+ * pre-warmed. Counts are halved on every {@link #decay()}, so the ranking
+ * follows recent traffic rather than all-time totals. At most MAX_TRACKED
+ * symbols are tracked; new symbols beyond that are ignored until a decay
+ * drops rarely requested ones.
+ */
+@Component
+public class HotSymbolTracker {
+
+    static final int MAX_TRACKED = 10_000;
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Record one request for a symbol
+     * @param symbol Normalized stock symbol
+     */
+    public void record(String symbol) {
+        LongAdder count = counts.get(symbol);
+        if (count == null) {
+            if (counts.size() >= MAX_TRACKED) {
+                return;
+            }
+            count = counts.computeIfAbsent(symbol, s -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * The most requested symbols, most requested first
+     * @param limit Maximum number of symbols
+     */
+    public List<String> top(int limit) {
+        return counts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Halve every count, forgetting symbols whose count drops to zero
+     */
+    public void decay() {
+        counts.entrySet().removeIf(entry -> {
+            LongAdder count = entry.getValue();
+            long halved = count.sum() / 2;
+            count.reset();
+            count.add(halved);
+            return halved == 0;
+        });
+    }
+
+    /**
+     * Number of symbols currently tracked
+     */
+    public int size() {
+        return counts.size();
+    }
+}
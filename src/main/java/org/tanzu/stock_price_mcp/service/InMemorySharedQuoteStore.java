@@ -0,0 +1,65 @@
+package org.tanzu.stock_price_mcp.service;
+
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process stand-in for a shared store, used when no Redis URL is configured
+ * and in tests. It only shares state between caches in the same JVM.
+ */
+public class InMemorySharedQuoteStore implements SharedQuoteStore {
+
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public InMemorySharedQuoteStore() {
+        this(System::nanoTime);
+    }
+
+    InMemorySharedQuoteStore(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<byte[]> get(String key) {
+        return Mono.fromSupplier(() -> {
+            Entry entry = entries.get(key);
+            return entry == null || entry.isExpired(nanoClock.getAsLong()) ? null : entry.value();
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String key, byte[] value, Duration ttl) {
+        return Mono.fromRunnable(() -> entries.put(key, new Entry(value, nanoClock.getAsLong() + ttl.toNanos())));
+    }
+
+    @Override
+    public Mono<Boolean> tryLock(String key, String owner, Duration ttl) {
+        return Mono.fromSupplier(() -> {
+            long now = nanoClock.getAsLong();
+            Entry lock = new Entry(owner.getBytes(StandardCharsets.UTF_8), now + ttl.toNanos());
+            return entries.compute(key, (k, existing) ->
+                    existing == null || existing.isExpired(now) ? lock : existing) == lock;
+        });
+    }
+
+    @Override
+    public Mono<Void> unlock(String key, String owner) {
+        byte[] ownerBytes = owner.getBytes(StandardCharsets.UTF_8);
+        return Mono.fromRunnable(() -> entries.computeIfPresent(key, (k, existing) ->
+                Arrays.equals(existing.value(), ownerBytes) ? null : existing));
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.tanzu.stock_price_mcp.model.IndicatorSpec;
+
+/**
+ * Running state of one indicator over a series of closes. Each call to
+ * {@link #update} folds in the next close in O(1): window sums drop the close
+ * that leaves the window, read back from the closes array, and exponential
+ * averages carry their last value. Outputs are NaN until the indicator has
+ * seen enough bars.
+ */
+abstract class IndicatorCalculator implements Cloneable {
+
+    static IndicatorCalculator create(IndicatorSpec spec) {
+        return switch (spec.kind()) {
+            case SMA -> new Sma(spec.period());
+            case EMA -> new SingleEma(spec.period());
+            case RSI -> new Rsi(spec.period());
+            case MACD -> new Macd(spec.period(), spec.slowPeriod(), spec.signalPeriod());
+            case BOLLINGER -> new Bollinger(spec.period(), spec.deviations());
+        };
+    }
+
+    /**
+     * Fold in closes[index]. Must be called for consecutive indexes starting at 0.
+     * @param out Receives one value per output of the indicator
+     */
+    abstract void update(double[] closes, int index, double[] out);
+
+    /**
+     * Independent copy of the current state, used to apply a provisional bar
+     * without committing it
+     */
+    IndicatorCalculator copy() {
+        try {
+            return (IndicatorCalculator) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Exponential moving average seeded with the simple average of its first period values
+     */
+    static final class Ema implements Cloneable {
+
+        private final int period;
+        private final double alpha;
+        private int count;
+        private double value;
+
+        Ema(int period) {
+            this.period = period;
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        double next(double input) {
+            count++;
+            if (count < period) {
+                value += input;
+                return Double.NaN;
+            }
+            value = count == period ? (value + input) / period : value + alpha * (input - value);
+            return value;
+        }
+
+        Ema copy() {
+            try {
+                return (Ema) clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    static final class Sma extends IndicatorCalculator {
+
+        private final int period;
+        private double sum;
+
+        Sma(int period) {
+            this.period = period;
+        }
+
+        @Override
+        void update(double[] closes, int index, double[] out) {
+            sum += closes[index];
+            if (index >= period) {
+                sum -= closes[index - period];
+            }
+            out[0] = index >= period - 1 ? sum / period : Double.NaN;
+        }
+    }
+
+    static final class SingleEma extends IndicatorCalculator {
+
+        private Ema ema;
+
+        SingleEma(int period) {
+            this.ema = new Ema(period);
+        }
+
+        @Override
+        void update(double[] closes, int index, double[] out) {
+            out[0] = ema.next(closes[index]);
+        }
+
+        @Override
+        IndicatorCalculator copy() {
+            SingleEma copy = (SingleEma) super.copy();
+            copy.ema = ema.copy();
+            return copy;
+        }
+    }
+
+    /**
+     * Relative strength index with Wilder's smoothing
+     */
+    static final class Rsi extends IndicatorCalculator {
+
+        private final int period;
+        private double averageGain;
+        private double averageLoss;
+
+        Rsi(int period) {
+            this.period = period;
+        }
+
+        @Override
+        void update(double[] closes, int index, double[] out) {
+            if (index == 0) {
+                out[0] = Double.NaN;
+                return;
+            }
+            double change = closes[index] - closes[index - 1];
+            double gain = Math.max(change, 0);
+            double loss = Math.max(-change, 0);
+            if (index <= period) {
+                averageGain += gain / period;
+                averageLoss += loss / period;
+            } else {
+                averageGain = (averageGain * (period - 1) + gain) / period;
+                averageLoss = (averageLoss * (period - 1) + loss) / period;
+            }
+            if (index < period) {
+                out[0] = Double.NaN;
+            } else if (averageLoss == 0) {
+                out[0] = averageGain == 0 ? 50 : 100;
+            } else {
+                out[0] = 100 - 100 / (1 + averageGain / averageLoss);
+            }
+        }
+    }
+
+    /**
+     * MACD line (fast EMA minus slow EMA), its signal EMA and the histogram between them
+     */
+    static final class Macd extends IndicatorCalculator {
+
+        private Ema fast;
+        private Ema slow;
+        private Ema signal;
+
+        Macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+            this.fast = new Ema(fastPeriod);
+            this.slow = new Ema(slowPeriod);
+            this.signal = new Ema(signalPeriod);
+        }
+
+        @Override
+        void update(double[] closes, int index, double[] out) {
+            double macd = fast.next(closes[index]) - slow.next(closes[index]);
+            double signalValue = Double.isNaN(macd) ? Double.NaN : signal.next(macd);
+            out[0] = macd;
+            out[1] = signalValue;
+            out[2] = macd - signalValue;
+        }
+
+        @Override
+        IndicatorCalculator copy() {
+            Macd copy = (Macd) super.copy();
+            copy.fast = fast.copy();
+            copy.slow = slow.copy();
+            copy.signal = signal.copy();
+            return copy;
+        }
+    }
+
+    /**
+     * Bollinger bands: the simple average and a band of population standard deviations around it
+     */
+    static final class Bollinger extends IndicatorCalculator {
+
+        private final int period;
+        private final double deviations;
+        private double sum;
+        private double sumOfSquares;
+
+        Bollinger(int period, double deviations) {
+            this.period = period;
+            this.deviations = deviations;
+        }
+
+        @Override
+        void update(double[] closes, int index, double[] out) {
+            double close = closes[index];
+            sum += close;
+            sumOfSquares += close * close;
+            if (index >= period) {
+                double leaving = closes[index - period];
+                sum -= leaving;
+                sumOfSquares -= leaving * leaving;
+            }
+            if (index < period - 1) {
+                out[0] = out[1] = out[2] = Double.NaN;
+                return;
+            }
+            double mean = sum / period;
+            double width = deviations * Math.sqrt(Math.max(0, sumOfSquares / period - mean * mean));
+            out[0] = mean;
+            out[1] = mean + width;
+            out[2] = mean - width;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.IndicatorSpec;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indicator state for one symbol and interval: the closes seen so far in a
+ * primitive array and, per requested indicator, its running calculator and
+ * output columns.
+ * <p>
+ * All bars but the most recent are committed: folded into the calculators once
+ * and never revisited. The most recent bar is provisional, because the store
+ * replaces it until its period closes, so it is applied to a copy of each
+ * calculator on every advance. Appending a day therefore costs O(1) per
+ * indicator rather than a pass over the whole history. An indicator added to a
+ * series that already holds bars replays the committed closes once.
+ */
+final class IndicatorSeries {
+
+    /**
+     * Indicators tracked per series; the least recently requested is dropped beyond this
+     */
+    static final int MAX_TRACKS = 32;
+
+    private int[] days = new int[256];
+    private double[] closes = new double[256];
+    private int count;
+    private int provisionalDay = Integer.MIN_VALUE;
+
+    private final Map<String, Track> tracks = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Track> eldest) {
+            return size() > MAX_TRACKS;
+        }
+    };
+
+    /**
+     * First date not yet committed, or null if nothing is committed
+     */
+    synchronized LocalDate nextDate() {
+        return count == 0 ? null : LocalDate.ofEpochDay(days[count - 1] + 1L);
+    }
+
+    /**
+     * Date of the most recent bar seen, committed or provisional, or null if none
+     */
+    synchronized LocalDate lastDate() {
+        if (provisionalDay != Integer.MIN_VALUE) {
+            return LocalDate.ofEpochDay(provisionalDay);
+        }
+        return count == 0 ? null : LocalDate.ofEpochDay(days[count - 1]);
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Fold in bars dated on or after {@link #nextDate()}
+     * @param bars Bars in ascending date order
+     */
+    synchronized void advance(List<Bar> bars) {
+        if (bars.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < bars.size() - 1; i++) {
+            Bar bar = bars.get(i);
+            ensureCapacity(count + 1);
+            days[count] = (int) bar.date().toEpochDay();
+            closes[count] = bar.close();
+            for (Track track : tracks.values()) {
+                track.commit(closes, count);
+            }
+            count++;
+        }
+        Bar last = bars.get(bars.size() - 1);
+        ensureCapacity(count + 1);
+        closes[count] = last.close();
+        provisionalDay = (int) last.date().toEpochDay();
+        for (Track track : tracks.values()) {
+            track.applyProvisional(closes, count);
+        }
+    }
+
+    /**
+     * The most recent values of an indicator, oldest first. Bars before the
+     * indicator has warmed up are left out, and outputs still warming up (the
+     * MACD signal line) are null.
+     * @param limit Maximum number of points
+     */
+    synchronized List<Map<String, Object>> points(IndicatorSpec spec, int limit) {
+        Track track = track(spec);
+        boolean hasProvisional = provisionalDay != Integer.MIN_VALUE;
+        int end = count + (hasProvisional ? 1 : 0);
+        List<String> outputs = spec.kind().outputs();
+        List<Map<String, Object>> points = new ArrayList<>(Math.min(limit, end));
+        for (int i = Math.max(0, end - limit); i < end; i++) {
+            double[] values = i < count ? track.committedValues(i) : track.provisional;
+            if (Double.isNaN(values[0])) {
+                continue;
+            }
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("date", LocalDate.ofEpochDay(i < count ? days[i] : provisionalDay).toString());
+            for (int output = 0; output < outputs.size(); output++) {
+                point.put(outputs.get(output), Double.isNaN(values[output]) ? null : values[output]);
+            }
+            points.add(point);
+        }
+        return points;
+    }
+
+    private Track track(IndicatorSpec spec) {
+        return tracks.computeIfAbsent(spec.id(), id -> {
+            Track track = new Track(spec);
+            for (int i = 0; i < count; i++) {
+                track.commit(closes, i);
+            }
+            if (provisionalDay != Integer.MIN_VALUE) {
+                track.applyProvisional(closes, count);
+            }
+            return track;
+        });
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > closes.length) {
+            int newLength = Math.max(capacity, closes.length * 2);
+            days = Arrays.copyOf(days, newLength);
+            closes = Arrays.copyOf(closes, newLength);
+            for (Track track : tracks.values()) {
+                track.ensureCapacity(newLength);
+            }
+        }
+    }
+
+    /**
+     * One indicator's committed calculator and output columns
+     */
+    private final class Track {
+
+        private final IndicatorCalculator calculator;
+        private final double[][] columns;
+        private final double[] scratch;
+        private final double[] provisional;
+
+        Track(IndicatorSpec spec) {
+            int outputs = spec.kind().outputs().size();
+            this.calculator = IndicatorCalculator.create(spec);
+            this.columns = new double[outputs][closes.length];
+            this.scratch = new double[outputs];
+            this.provisional = new double[outputs];
+        }
+
+        void commit(double[] closes, int index) {
+            calculator.update(closes, index, scratch);
+            for (int output = 0; output < columns.length; output++) {
+                columns[output][index] = scratch[output];
+            }
+        }
+
+        void applyProvisional(double[] closes, int index) {
+            calculator.copy().update(closes, index, provisional);
+        }
+
+        double[] committedValues(int index) {
+            double[] values = new double[columns.length];
+            for (int output = 0; output < columns.length; output++) {
+                values[output] = columns[output][index];
+            }
+            return values;
+        }
+
+        void ensureCapacity(int length) {
+            for (int output = 0; output < columns.length; output++) {
+                columns[output] = Arrays.copyOf(columns[output], length);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.IndicatorSpec;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes technical indicators locally over the bars in the {@link BarStore}
+ * instead of calling an AlphaVantage indicator function per indicator. The
+ * store is refreshed once per request, however many indicators are asked for,
+ * and only bars not yet folded into the cached {@link IndicatorSeries} are read
+ * back from it.
+ */
+@Service
+public class IndicatorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndicatorService.class);
+
+    private final TimeSeriesService timeSeriesService;
+    private final BarStore barStore;
+    private final Map<String, IndicatorSeries> series;
+
+    @Autowired
+    public IndicatorService(TimeSeriesService timeSeriesService, BarStore barStore, AlphaVantageConfig config) {
+        this(timeSeriesService, barStore, config.getIndicators().getMaxCachedSeries());
+    }
+
+    IndicatorService(TimeSeriesService timeSeriesService, BarStore barStore, int maxCachedSeries) {
+        this.timeSeriesService = timeSeriesService;
+        this.barStore = barStore;
+        this.series = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IndicatorSeries> eldest) {
+                return size() > maxCachedSeries;
+            }
+        });
+    }
+
+    /**
+     * Compute indicators for a symbol
+     * @param limit Maximum number of points per indicator; the most recent are kept
+     * @return Mono containing the points of each indicator, oldest first, keyed by
+     *         {@link IndicatorSpec#id()} in request order
+     */
+    public Mono<Map<String, List<Map<String, Object>>>> getIndicators(String symbol, TimeSeriesInterval interval,
+                                                                    List<IndicatorSpec> specs, int limit) {
+        String normalizedSymbol = symbol.trim().toUpperCase();
+        return timeSeriesService.ensureFresh(normalizedSymbol, interval)
+                .then(Mono.fromCallable(() -> {
+                    IndicatorSeries indicatorSeries = advance(normalizedSymbol, interval);
+                    Map<String, List<Map<String, Object>>> results = new LinkedHashMap<>();
+                    for (IndicatorSpec spec : specs) {
+                        results.put(spec.id(), indicatorSeries.points(spec, limit));
+                    }
+                    return results;
+                }));
+    }
+
+    /**
+     * Fold any bars stored since the last request into the series
+     */
+    private IndicatorSeries advance(String symbol, TimeSeriesInterval interval) {
+        String key = symbol + "|" + interval.id();
+        IndicatorSeries indicatorSeries = series.computeIfAbsent(key, k -> new IndicatorSeries());
+        synchronized (indicatorSeries) {
+            LocalDate seen = indicatorSeries.lastDate();
+            LocalDate stored = barStore.lastDate(symbol, interval);
+            if (seen != null && (stored == null || stored.isBefore(seen))) {
+                // The store was rebuilt behind the series' back; start over
+                logger.info("Bar store for {} {} was reset, recomputing indicators", symbol, interval.id());
+                indicatorSeries = new IndicatorSeries();
+                series.put(key, indicatorSeries);
+            }
+            indicatorSeries.advance(barStore.query(symbol, interval, indicatorSeries.nextDate(), null,
+                    Integer.MAX_VALUE));
+        }
+        return indicatorSeries;
+    }
+}
@@ -0,0 +1,202 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects quote lookups arriving within a short window and sends them upstream
+ * as one REALTIME_BULK_QUOTES call, then hands each waiting caller its quote. A
+ * batch is sent when the window closes or as soon as it holds max-batch-size
+ * symbols; a batch of one symbol goes out as a plain GLOBAL_QUOTE call.
+ * <p>
+ * Symbols missing from a bulk response are fetched one by one. When the bulk
+ * call fails with an API error, as it does for keys without the premium
+ * entitlement, the batch is fetched one by one and batching stays off until
+ * entitlement-retry has passed. Other errors (rate limiting, network, an open
+ * circuit) fail the whole batch, as they would have failed each lookup.
+ */
+class QuoteBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteBatcher.class);
+
+    static final String FUNCTION = "REALTIME_BULK_QUOTES";
+    static final String BATCH_COUNTER = "alphavantage.batching.batches";
+    static final String BATCH_SIZE = "alphavantage.batching.size";
+
+    private final AlphaVantageConfig.Batching settings;
+    private final Function<List<String>, Mono<AlphaVantageResponse>> bulkFetch;
+    private final Function<String, Mono<AlphaVantageResponse>> singleFetch;
+    private final Scheduler scheduler;
+    private final Counter bulkBatches;
+    private final Counter singleBatches;
+    private final Counter fallbackBatches;
+    private final DistributionSummary batchSize;
+
+    private Map<String, List<MonoSink<AlphaVantageResponse>>> pending = new LinkedHashMap<>();
+    private Disposable scheduledFlush;
+    private volatile boolean bulkDisabled;
+    private volatile long bulkRetryAt;
+
+    /**
+     * @param bulkFetch Bulk quote call for a list of symbols, returning the raw bulk response
+     * @param singleFetch GLOBAL_QUOTE call for one symbol
+     */
+    QuoteBatcher(AlphaVantageConfig.Batching settings,
+                 Function<List<String>, Mono<AlphaVantageResponse>> bulkFetch,
+                 Function<String, Mono<AlphaVantageResponse>> singleFetch,
+                 MeterRegistry meterRegistry, Scheduler scheduler) {
+        this.settings = settings;
+        this.bulkFetch = bulkFetch;
+        this.singleFetch = singleFetch;
+        this.scheduler = scheduler;
+        this.bulkBatches = batchCounter(meterRegistry, "bulk");
+        this.singleBatches = batchCounter(meterRegistry, "single");
+        this.fallbackBatches = batchCounter(meterRegistry, "fallback");
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE)
+                .description("Symbols per quote batch")
+                .register(meterRegistry);
+    }
+
+    private static Counter batchCounter(MeterRegistry registry, String type) {
+        return Counter.builder(BATCH_COUNTER)
+                .description("Quote batches sent upstream")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    /**
+     * Fetch a quote, batched with other lookups when batching is on and available
+     * @param symbol Normalized stock symbol
+     */
+    Mono<AlphaVantageResponse> fetch(String symbol) {
+        return Mono.defer(() -> bulkAvailable()
+                ? Mono.create(sink -> enqueue(symbol, sink))
+                : singleFetch.apply(symbol));
+    }
+
+    private boolean bulkAvailable() {
+        return settings.isEnabled() && (!bulkDisabled || scheduler.now(TimeUnit.NANOSECONDS) - bulkRetryAt >= 0);
+    }
+
+    private void enqueue(String symbol, MonoSink<AlphaVantageResponse> sink) {
+        Map<String, List<MonoSink<AlphaVantageResponse>>> full = null;
+        synchronized (this) {
+            pending.computeIfAbsent(symbol, key -> new ArrayList<>(1)).add(sink);
+            if (pending.size() >= settings.getMaxBatchSize()) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, settings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+    }
+
+    private void flush() {
+        Map<String, List<MonoSink<AlphaVantageResponse>>> batch;
+        synchronized (this) {
+            scheduledFlush = null;
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private Map<String, List<MonoSink<AlphaVantageResponse>>> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        Map<String, List<MonoSink<AlphaVantageResponse>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void send(Map<String, List<MonoSink<AlphaVantageResponse>>> batch) {
+        batchSize.record(batch.size());
+        if (batch.size() == 1) {
+            singleBatches.increment();
+            batch.forEach(this::fetchSingly);
+            return;
+        }
+        bulkBatches.increment();
+        List<String> symbols = new ArrayList<>(batch.keySet());
+        logger.debug("Fetching {} quotes in one bulk call", symbols.size());
+        bulkFetch.apply(symbols)
+                .map(QuoteBatcher::split)
+                .defaultIfEmpty(Map.of())
+                .subscribe(quotes -> batch.forEach((symbol, sinks) -> {
+                    AlphaVantageResponse quote = quotes.get(symbol);
+                    if (quote == null) {
+                        fetchSingly(symbol, sinks);
+                    } else {
+                        sinks.forEach(sink -> sink.success(quote));
+                    }
+                }), error -> {
+                    if (error instanceof AlphaVantageException ex && "API_ERROR".equals(ex.getErrorCode())) {
+                        logger.warn("Bulk quotes unavailable, fetching quotes one by one for {}: {}",
+                                settings.getEntitlementRetry(), ex.getMessage());
+                        bulkRetryAt = scheduler.now(TimeUnit.NANOSECONDS) + settings.getEntitlementRetry().toNanos();
+                        bulkDisabled = true;
+                        fallbackBatches.increment();
+                        batch.forEach(this::fetchSingly);
+                    } else {
+                        batch.values().forEach(sinks -> sinks.forEach(sink -> sink.error(error)));
+                    }
+                });
+    }
+
+    private void fetchSingly(String symbol, List<MonoSink<AlphaVantageResponse>> sinks) {
+        singleFetch.apply(symbol).subscribe(
+                response -> sinks.forEach(sink -> sink.success(response)),
+                error -> sinks.forEach(sink -> sink.error(error)),
+                () -> sinks.forEach(MonoSink::success));
+    }
+
+    /**
+     * Split a bulk response into one GLOBAL_QUOTE-shaped response per symbol.
+     * Entries that do not convert are left out, so their symbols are fetched singly.
+     */
+    static Map<String, AlphaVantageResponse> split(AlphaVantageResponse bulk) {
+        if (!(bulk.getData().get("data") instanceof List<?> entries)) {
+            return Map.of();
+        }
+        Map<String, AlphaVantageResponse> quotes = new HashMap<>(entries.size() * 2);
+        for (Object entry : entries) {
+            if (!(entry instanceof Map<?, ?> fields) || !(fields.get("symbol") instanceof String symbol)) {
+                continue;
+            }
+            try {
+                @SuppressWarnings("unchecked")
+                GlobalQuote quote = GlobalQuote.fromBulkQuote((Map<String, ?>) fields);
+                AlphaVantageResponse response = new AlphaVantageResponse();
+                response.setData(GlobalQuote.FIELD, quote);
+                quotes.put(symbol.toUpperCase(), response);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping bulk quote entry: {}", e.getMessage());
+            }
+        }
+        return quotes;
+    }
+}
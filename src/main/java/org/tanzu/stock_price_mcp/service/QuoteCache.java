@@ -0,0 +1,197 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-based cache of GLOBAL_QUOTE responses keyed by normalized symbol.
+ * Entries are kept in access order so the least recently used symbol is evicted
+ * once the configured maximum size is reached. Unless the stale mode is NONE,
+ * entries outlive their TTL by up to max-stale so they can still be served as
+ * stale quotes.
+ */
+@Component
+public class QuoteCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries;
+
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long evictions;
+
+    @Autowired
+    public QuoteCache(AlphaVantageConfig config) {
+        this(config.getCache(), System::nanoTime);
+    }
+
+    QuoteCache(AlphaVantageConfig.Cache settings, LongSupplier nanoClock) {
+        this.enabled = settings.isEnabled();
+        this.ttlNanos = settings.getTtl().toNanos();
+        this.maxStaleNanos = settings.getStaleMode() == AlphaVantageConfig.Cache.StaleMode.NONE
+                ? 0 : settings.getMaxStale().toNanos();
+        this.maxSize = settings.getMaxSize();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > QuoteCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Look up a fresh cached quote
+     * @param symbol Normalized stock symbol
+     * @return the cached response, or null if absent or past its TTL
+     */
+    public AlphaVantageResponse get(String symbol) {
+        Lookup lookup = lookup(symbol);
+        return lookup == null || lookup.stale() ? null : lookup.response();
+    }
+
+    /**
+     * Look up a cached quote, including one past its TTL but within max-stale
+     * @param symbol Normalized stock symbol
+     * @return the cached entry with its age, or null if absent or too old
+     */
+    public synchronized Lookup lookup(String symbol) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(symbol);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        long age = nanoClock.getAsLong() - entry.storedAt();
+        if (age < ttlNanos) {
+            hits++;
+            return new Lookup(entry.response(), Duration.ofNanos(age), false);
+        }
+        if (age < ttlNanos + maxStaleNanos) {
+            staleHits++;
+            return new Lookup(entry.response(), Duration.ofNanos(age), true);
+        }
+        entries.remove(symbol);
+        evictions++;
+        misses++;
+        return null;
+    }
+
+    /**
+     * Whether a quote younger than the TTL is cached, without counting a hit or miss
+     * @param symbol Normalized stock symbol
+     */
+    public synchronized boolean isFresh(String symbol) {
+        Entry entry = enabled ? entries.get(symbol) : null;
+        return entry != null && nanoClock.getAsLong() - entry.storedAt() < ttlNanos;
+    }
+
+    /**
+     * How long a quote stays servable: the TTL, plus max-stale unless the stale mode is NONE
+     */
+    public Duration maxAge() {
+        return Duration.ofNanos(ttlNanos + maxStaleNanos);
+    }
+
+    /**
+     * Store a successful quote response
+     * @param symbol Normalized stock symbol
+     * @param response Response to cache
+     */
+    public void put(String symbol, AlphaVantageResponse response) {
+        put(symbol, response, Duration.ZERO);
+    }
+
+    /**
+     * Store a quote fetched some time ago, e.g. by another instance, keeping its age
+     * @param age Time since the quote was fetched
+     */
+    public synchronized void put(String symbol, AlphaVantageResponse response, Duration age) {
+        if (!enabled || response == null) {
+            return;
+        }
+        entries.put(symbol, new Entry(response, nanoClock.getAsLong() - age.toNanos()));
+    }
+
+    /**
+     * Entries still servable (fresh, or stale within max-stale), least recently used first
+     */
+    public synchronized List<CachedQuote> entries() {
+        if (!enabled) {
+            return List.of();
+        }
+        long now = nanoClock.getAsLong();
+        List<CachedQuote> quotes = new ArrayList<>(entries.size());
+        entries.forEach((symbol, entry) -> {
+            long age = now - entry.storedAt();
+            if (age < ttlNanos + maxStaleNanos) {
+                quotes.add(new CachedQuote(symbol, entry.response(), Duration.ofNanos(age)));
+            }
+        });
+        return quotes;
+    }
+
+    /**
+     * Put back a quote cached earlier, e.g. by a previous instance, keeping its age.
+     * A quote that is no longer servable, or a symbol cached since, is left alone.
+     * @return true if the quote was restored
+     */
+    public synchronized boolean restore(CachedQuote quote) {
+        long age = quote.age().toNanos();
+        if (!enabled || age >= ttlNanos + maxStaleNanos || entries.containsKey(quote.symbol())) {
+            return false;
+        }
+        entries.put(quote.symbol(), new Entry(quote.response(), nanoClock.getAsLong() - age));
+        return true;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, staleHits, misses, evictions, entries.size());
+    }
+
+    private record Entry(AlphaVantageResponse response, long storedAt) {
+    }
+
+    /**
+     * A cached quote and how long ago it was stored
+     */
+    public record Lookup(AlphaVantageResponse response, Duration age, boolean stale) {
+
+        /**
+         * The cached response marked as stale, for serving past its TTL
+         */
+        public AlphaVantageResponse staleResponse() {
+            return response.asStale(age);
+        }
+    }
+
+    public record CachedQuote(String symbol, AlphaVantageResponse response, Duration age) {
+    }
+
+    public record Stats(long hits, long staleHits, long misses, long evictions, int size) {
+    }
+}
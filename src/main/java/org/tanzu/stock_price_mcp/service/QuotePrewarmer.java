@@ -0,0 +1,235 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the quote cache warm for a watchlist of hot symbols: the configured
+ * symbols plus the most requested symbols from recent traffic. One symbol is
+ * refreshed per tick, with ticks spread evenly over the refresh interval, which
+ * is longer outside market hours. A symbol whose cached quote is still fresh is
+ * left alone.
+ * <p>
+ * Pre-warming spends at most budget-share of the rate limit: ticks are never
+ * closer together than that share of the per-minute or the per-day permits
+ * allows, and a tick is skipped unless the rate limiter has more than the
+ * reserved number of permits free right now and the day bucket holds more than
+ * the rest of the share left for client requests. Pre-warming therefore never
+ * queues ahead of client requests nor drains the daily quota. A pass that takes
+ * longer than quotes stay servable (TTL plus max-stale) is logged, as its quotes
+ * expire before they can be read.
+ */
+@Component
+public class QuotePrewarmer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuotePrewarmer.class);
+
+    static final String REFRESH_COUNTER = "alphavantage.prewarm.refreshes";
+
+    private final AlphaVantageService alphaVantageService;
+    private final HotSymbolTracker hotSymbolTracker;
+    private final AlphaVantageRateLimiter rateLimiter;
+    private final QuoteCache quoteCache;
+    private final AlphaVantageConfig.Prewarm settings;
+    private final Clock clock;
+    private final Scheduler scheduler;
+    private final Counter refreshed;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Counter fresh;
+
+    private volatile List<String> watchlist = List.of();
+    private int position;
+    private boolean passTooSlow;
+    private Disposable loop;
+
+    @Autowired
+    public QuotePrewarmer(AlphaVantageService alphaVantageService, HotSymbolTracker hotSymbolTracker,
+                          AlphaVantageRateLimiter rateLimiter, QuoteCache quoteCache, AlphaVantageConfig config,
+                          MeterRegistry meterRegistry) {
+        this(alphaVantageService, hotSymbolTracker, rateLimiter, quoteCache, config.getPrewarm(), meterRegistry,
+                Clock.systemUTC(), Schedulers.parallel());
+    }
+
+    QuotePrewarmer(AlphaVantageService alphaVantageService, HotSymbolTracker hotSymbolTracker,
+                   AlphaVantageRateLimiter rateLimiter, QuoteCache quoteCache, AlphaVantageConfig.Prewarm settings,
+                   MeterRegistry meterRegistry, Clock clock, Scheduler scheduler) {
+        this.alphaVantageService = alphaVantageService;
+        this.hotSymbolTracker = hotSymbolTracker;
+        this.rateLimiter = rateLimiter;
+        this.quoteCache = quoteCache;
+        this.settings = settings;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.refreshed = refreshCounter(meterRegistry, "success");
+        this.failed = refreshCounter(meterRegistry, "error");
+        this.skipped = refreshCounter(meterRegistry, "skipped");
+        this.fresh = refreshCounter(meterRegistry, "fresh");
+        Gauge.builder("alphavantage.prewarm.watchlist", this, prewarmer -> prewarmer.watchlist.size())
+                .description("Symbols in the pre-warm watchlist")
+                .register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry registry, String result) {
+        return Counter.builder(REFRESH_COUNTER)
+                .description("Pre-warm quote refresh attempts")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!settings.isEnabled() || loop != null) {
+            return;
+        }
+        logger.info("Starting quote pre-warming with {} configured symbols and up to {} learned symbols",
+                settings.getSymbols().size(), settings.getLearnedSymbols());
+        Duration maxAge = quoteCache.maxAge();
+        if (settings.getMarketHoursInterval().compareTo(maxAge) > 0
+                || settings.getOffHoursInterval().compareTo(maxAge) > 0) {
+            logger.warn("Pre-warm intervals ({} market hours, {} off hours) exceed how long quotes stay cached ({}); "
+                            + "pre-warmed quotes will expire before the next pass",
+                    settings.getMarketHoursInterval(), settings.getOffHoursInterval(), maxAge);
+        }
+        loop = Mono.defer(this::tick)
+                .then(Mono.defer(() -> Mono.delay(tickInterval(), scheduler)))
+                .repeat()
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (loop != null) {
+            loop.dispose();
+            loop = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return loop != null;
+    }
+
+    /**
+     * Refresh the next symbol of the watchlist, rebuilding the list at the start of each pass
+     */
+    Mono<Void> tick() {
+        if (position == 0) {
+            watchlist = buildWatchlist();
+            hotSymbolTracker.decay();
+            checkPassDuration();
+        }
+        List<String> symbols = watchlist;
+        if (symbols.isEmpty()) {
+            return Mono.empty();
+        }
+        String symbol = symbols.get(position);
+        position = (position + 1) % symbols.size();
+        if (quoteCache.isFresh(symbol)) {
+            logger.debug("Skipping pre-warm of symbol {}, cached quote is still fresh", symbol);
+            fresh.increment();
+            return Mono.empty();
+        }
+        if (rateLimiter.availablePermits() <= settings.getReservedPermits()
+                || rateLimiter.availableDailyPermits() <= clientDailyPermits()) {
+            logger.debug("Skipping pre-warm of symbol {}, no spare rate limit permits", symbol);
+            skipped.increment();
+            return Mono.empty();
+        }
+        return alphaVantageService.refreshGlobalQuote(symbol)
+                .doOnNext(response -> refreshed.increment())
+                .then()
+                .onErrorResume(e -> {
+                    logger.warn("Pre-warming quote for symbol {} failed: {}", symbol, e.getMessage());
+                    failed.increment();
+                    return Mono.empty();
+                });
+    }
+
+    List<String> buildWatchlist() {
+        Set<String> symbols = new LinkedHashSet<>();
+        for (String symbol : settings.getSymbols()) {
+            if (symbol != null && !symbol.isBlank()) {
+                symbols.add(symbol.trim().toUpperCase());
+            }
+        }
+        symbols.addAll(hotSymbolTracker.top(settings.getLearnedSymbols()));
+        return symbols.stream().limit(settings.getMaxSymbols()).toList();
+    }
+
+    /**
+     * Permits of the day bucket kept for client requests: the reserved permits,
+     * or the part of the daily quota outside budget-share if that is more
+     */
+    private double clientDailyPermits() {
+        return Math.max(settings.getReservedPermits(), rateLimiter.permitsPerDay() * (1 - settings.getBudgetShare()));
+    }
+
+    private void checkPassDuration() {
+        Duration pass = tickInterval().multipliedBy(watchlist.size());
+        boolean tooSlow = pass.compareTo(quoteCache.maxAge()) > 0;
+        if (tooSlow && !passTooSlow) {
+            logger.warn("A pre-warm pass over {} symbols takes {}, longer than quotes stay cached ({}); "
+                            + "lower max-symbols or raise the rate limit", watchlist.size(), pass, quoteCache.maxAge());
+        }
+        passTooSlow = tooSlow;
+    }
+
+    /**
+     * Delay until the next tick: the pass interval divided by the watchlist size,
+     * but no shorter than the share of the per-minute and per-day budgets allows
+     */
+    Duration tickInterval() {
+        Duration interval = isMarketOpen(ZonedDateTime.now(clock).withZoneSameInstant(settings.getMarketZone()))
+                ? settings.getMarketHoursInterval() : settings.getOffHoursInterval();
+        Duration spread = interval.dividedBy(Math.max(1, watchlist.size()));
+        Duration minimum = budgetInterval(Duration.ofMinutes(1), rateLimiter.permitsPerMinute());
+        Duration daily = budgetInterval(Duration.ofDays(1), rateLimiter.permitsPerDay());
+        if (daily.compareTo(minimum) > 0) {
+            minimum = daily;
+        }
+        return spread.compareTo(minimum) < 0 ? minimum : spread;
+    }
+
+    private Duration budgetInterval(Duration period, int permits) {
+        if (permits == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) (period.toNanos() / (permits * settings.getBudgetShare())));
+    }
+
+    boolean isMarketOpen(ZonedDateTime marketTime) {
+        DayOfWeek day = marketTime.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            return false;
+        }
+        return !marketTime.toLocalTime().isBefore(settings.getMarketOpen())
+                && marketTime.toLocalTime().isBefore(settings.getMarketClose());
+    }
+
+    /**
+     * Symbols refreshed in the current pass
+     */
+    public List<String> watchlist() {
+        return watchlist;
+    }
+}
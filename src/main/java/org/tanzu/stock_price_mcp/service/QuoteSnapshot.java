@@ -0,0 +1,199 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import org.tanzu.stock_price_mcp.model.GlobalQuoteCodec;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Writes the quote cache to a local snapshot file every interval and on
+ * shutdown, and reads it back in the background on startup, so a restarted
+ * instance serves hot symbols from its first request instead of sending them
+ * all upstream at once.
+ * <p>
+ * The file is a header (magic, version) followed by one record per quote,
+ * least recently used first: the symbol, when it was stored as epoch millis,
+ * and the {@link GlobalQuoteCodec} encoding. A snapshot is written to a
+ * temporary file and moved into place, so readers never see a partial one.
+ * Quotes keep their age across the restart and are only restored while still
+ * servable under the cache TTL and stale mode.
+ * <p>
+ * The lifecycle phase is below the web server's, so the snapshot is loading
+ * before traffic arrives and is written after in-flight requests drain.
+ */
+@Component
+public class QuoteSnapshot implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteSnapshot.class);
+
+    static final int MAGIC = 0x41565153; // "AVQS"
+    static final byte VERSION = 1;
+
+    private final QuoteCache quoteCache;
+    private final AlphaVantageConfig.Snapshot settings;
+    private final Clock clock;
+    private final Scheduler scheduler;
+
+    private Disposable loop;
+
+    @Autowired
+    public QuoteSnapshot(QuoteCache quoteCache, AlphaVantageConfig config) {
+        this(quoteCache, config.getSnapshot(), Clock.systemUTC(), Schedulers.boundedElastic());
+    }
+
+    QuoteSnapshot(QuoteCache quoteCache, AlphaVantageConfig.Snapshot settings, Clock clock, Scheduler scheduler) {
+        this.quoteCache = quoteCache;
+        this.settings = settings;
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!settings.isEnabled() || loop != null) {
+            return;
+        }
+        Duration interval = settings.getInterval();
+        // A failed load or write is logged and skipped; it must not end the loop
+        loop = Mono.fromRunnable(this::load)
+                .onErrorResume(e -> {
+                    logger.error("Restoring quote snapshot {} failed, starting cold", settings.getFile(), e);
+                    return Mono.empty();
+                })
+                .thenMany(Flux.interval(interval, interval, scheduler))
+                .concatMap(tick -> Mono.fromRunnable(this::writeLogged))
+                .subscribeOn(scheduler)
+                .subscribe(null, e -> logger.error("Quote snapshot loop failed", e));
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (loop == null) {
+            return;
+        }
+        loop.dispose();
+        loop = null;
+        writeLogged();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return loop != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the web server's graceful shutdown phase
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Write the current cache contents
+     * @return number of quotes written, or -1 if the write failed
+     */
+    synchronized int write() {
+        Path file = settings.getFile();
+        List<QuoteCache.CachedQuote> quotes = quoteCache.entries();
+        long now = clock.millis();
+        int written = 0;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                for (QuoteCache.CachedQuote quote : quotes) {
+                    GlobalQuote globalQuote = quote.response().getGlobalQuote();
+                    if (globalQuote == null) {
+                        continue;
+                    }
+                    byte[] encoded = GlobalQuoteCodec.encode(globalQuote);
+                    out.writeUTF(quote.symbol());
+                    out.writeLong(now - quote.age().toMillis());
+                    out.writeShort(encoded.length);
+                    out.write(encoded);
+                    written++;
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Writing quote snapshot {} failed: {}", file, e.getMessage());
+            return -1;
+        }
+        logger.debug("Wrote {} quotes to snapshot {}", written, file);
+        return written;
+    }
+
+    private void writeLogged() {
+        try {
+            write();
+        } catch (RuntimeException e) {
+            logger.error("Writing quote snapshot {} failed", settings.getFile(), e);
+        }
+    }
+
+    /**
+     * Restore quotes from the snapshot. A missing file is not an error; a
+     * truncated or unreadable one restores what it can.
+     * @return number of quotes restored
+     */
+    int load() {
+        Path file = settings.getFile();
+        long now = clock.millis();
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                logger.warn("Ignoring quote snapshot {}: unknown format", file);
+                return 0;
+            }
+            while (true) {
+                String symbol;
+                try {
+                    symbol = in.readUTF();
+                } catch (EOFException e) {
+                    break;
+                }
+                long storedAt = in.readLong();
+                byte[] encoded = new byte[in.readUnsignedShort()];
+                in.readFully(encoded);
+                AlphaVantageResponse response = new AlphaVantageResponse();
+                response.setData(GlobalQuote.FIELD, GlobalQuoteCodec.decode(encoded));
+                Duration age = Duration.ofMillis(Math.max(0, now - storedAt));
+                if (quoteCache.restore(new QuoteCache.CachedQuote(symbol, response, age))) {
+                    restored++;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            logger.info("No quote snapshot at {}, starting cold", file);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Reading quote snapshot {} stopped early: {}", file, e.getMessage());
+        }
+        logger.info("Restored {} quotes from snapshot {}", restored, file);
+        return restored;
+    }
+}
@@ -0,0 +1,172 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans out polled quotes to streaming subscribers. Each subscribed symbol has
+ * one shared polling stream, started by its first subscriber and stopped when
+ * its last subscriber leaves, so upstream cost grows with distinct symbols
+ * rather than with clients. Only quotes that changed since the previous poll
+ * are pushed; a new subscriber immediately receives the latest quote.
+ * <p>
+ * Streams are reference counted here rather than by the Flux, so a symbol's map
+ * entry and its slot under max-symbols are given up only when its last
+ * subscriber has actually left.
+ */
+@Service
+public class QuoteSubscriptionService {
+
+    public static final String SUBSCRIPTION_LIMIT = "SUBSCRIPTION_LIMIT";
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteSubscriptionService.class);
+
+    private final AlphaVantageService alphaVantageService;
+    private final Duration pollInterval;
+    private final int maxSymbols;
+    private final Scheduler scheduler;
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger symbols = new AtomicInteger();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    /**
+     * One symbol's shared polling stream and its subscriber count, which is only
+     * changed inside the map's compute for the symbol
+     */
+    private static final class Stream {
+
+        private final Flux<AlphaVantageResponse> quotes;
+        private volatile Disposable connection;
+        private int subscribers;
+
+        Stream(Flux<AlphaVantageResponse> polled) {
+            this.quotes = polled.replay(1).autoConnect(1, connection -> this.connection = connection);
+        }
+    }
+
+    @Autowired
+    public QuoteSubscriptionService(AlphaVantageService alphaVantageService, AlphaVantageConfig config) {
+        this(alphaVantageService, config.getSubscriptions(), Schedulers.parallel());
+    }
+
+    QuoteSubscriptionService(AlphaVantageService alphaVantageService, AlphaVantageConfig.Subscriptions settings,
+                             Scheduler scheduler) {
+        this.alphaVantageService = alphaVantageService;
+        this.pollInterval = settings.getPollInterval();
+        this.maxSymbols = settings.getMaxSymbols();
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Subscribe to quote changes for a symbol. Cancelling the returned Flux unsubscribes.
+     * @param symbol Stock symbol, already validated
+     * @return Flux of quotes, emitting whenever the polled quote changes, or an
+     *         AlphaVantageException with code SUBSCRIPTION_LIMIT when the symbol
+     *         would exceed max-symbols
+     */
+    public Flux<AlphaVantageResponse> subscribe(String symbol) {
+        String normalizedSymbol = symbol.trim().toUpperCase();
+        return Flux.defer(() -> {
+            Stream stream = join(normalizedSymbol);
+            return stream.quotes
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signal -> {
+                        subscribers.decrementAndGet();
+                        leave(normalizedSymbol, stream);
+                    });
+        });
+    }
+
+    /**
+     * Fail fast, before a stream is opened, when the symbols not already polled
+     * would not fit under max-symbols. Advisory only: subscribe enforces the limit.
+     * @throws AlphaVantageException with code SUBSCRIPTION_LIMIT
+     */
+    public void checkCapacity(Collection<String> normalizedSymbols) {
+        long added = normalizedSymbols.stream().filter(symbol -> !streams.containsKey(symbol)).count();
+        if (added > 0 && symbols.get() + added > maxSymbols) {
+            throw limitExceeded();
+        }
+    }
+
+    private Stream join(String symbol) {
+        return streams.compute(symbol, (key, stream) -> {
+            if (stream == null) {
+                if (symbols.incrementAndGet() > maxSymbols) {
+                    symbols.decrementAndGet();
+                    throw limitExceeded();
+                }
+                logger.info("Starting quote polling for symbol: {}", symbol);
+                stream = new Stream(poll(symbol));
+            }
+            stream.subscribers++;
+            return stream;
+        });
+    }
+
+    private void leave(String symbol, Stream stream) {
+        streams.computeIfPresent(symbol, (key, current) -> {
+            if (current != stream || --current.subscribers > 0) {
+                return current;
+            }
+            logger.info("Stopping quote polling for symbol: {}", symbol);
+            Disposable connection = current.connection;
+            if (connection != null) {
+                connection.dispose();
+            }
+            symbols.decrementAndGet();
+            return null;
+        });
+    }
+
+    private AlphaVantageException limitExceeded() {
+        return new AlphaVantageException("Quote subscriptions are limited to " + maxSymbols + " distinct symbols",
+                SUBSCRIPTION_LIMIT);
+    }
+
+    private Flux<AlphaVantageResponse> poll(String symbol) {
+        return Flux.interval(Duration.ZERO, pollInterval, scheduler)
+                .onBackpressureDrop()
+                .concatMap(tick -> alphaVantageService.getGlobalQuote(symbol)
+                        .onErrorResume(e -> {
+                            // Keep the stream alive; subscribers simply see no update for this tick
+                            logger.warn("Polling quote for symbol {} failed: {}", symbol, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .distinctUntilChanged(QuoteSubscriptionService::changeKey);
+    }
+
+    private static Object changeKey(AlphaVantageResponse response) {
+        return response.getGlobalQuote() != null ? response.getGlobalQuote() : response.getData();
+    }
+
+    /**
+     * Number of symbols currently being polled
+     */
+    public int activeSymbols() {
+        return symbols.get();
+    }
+
+    /**
+     * Number of open client subscriptions across all symbols
+     */
+    public int activeSubscribers() {
+        return subscribers.get();
+    }
+}
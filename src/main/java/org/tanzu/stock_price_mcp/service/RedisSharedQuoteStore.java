@@ -0,0 +1,118 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Shared store on Redis, or any server speaking the Redis protocol, through a
+ * single multiplexed Lettuce connection. Locks use SET NX PX, and are released
+ * with a compare-and-delete script so an instance never frees a lock that
+ * expired and was taken over by another instance.
+ * <p>
+ * The connection is opened on first use, not at startup, so the app starts
+ * while Redis is unreachable. A failed connect fails the operation, which
+ * {@link SharedQuoteCache} treats as a store error, and further operations fail
+ * fast until the retry delay has passed.
+ */
+public class RedisSharedQuoteStore implements SharedQuoteStore {
+
+    private static final String UNLOCK_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final RedisClient client;
+    private final RedisURI uri;
+    private final AtomicReference<StatefulRedisConnection<String, byte[]>> connection = new AtomicReference<>();
+    private final Mono<RedisReactiveCommands<String, byte[]>> commands;
+    private volatile boolean backingOff;
+    private volatile long retryAt;
+
+    public RedisSharedQuoteStore(String redisUrl) {
+        this.uri = RedisURI.create(redisUrl);
+        this.client = RedisClient.create();
+        this.client.setOptions(ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(CONNECT_TIMEOUT).build())
+                .build());
+        // Concurrent first uses share one connect; a failed connect is not cached
+        this.commands = Mono.defer(this::connect)
+                .cacheInvalidateIf(commands -> {
+                    StatefulRedisConnection<String, byte[]> open = connection.get();
+                    return open == null || !open.isOpen();
+                });
+    }
+
+    private Mono<RedisReactiveCommands<String, byte[]>> connect() {
+        if (backingOff && System.nanoTime() - retryAt < 0) {
+            return Mono.error(new IllegalStateException("Redis connection failed recently, retrying after "
+                    + RETRY_DELAY.toSeconds() + "s"));
+        }
+        return Mono.fromCompletionStage(() -> client.connectAsync(CODEC, uri))
+                .doOnNext(connected -> {
+                    backingOff = false;
+                    StatefulRedisConnection<String, byte[]> previous = connection.getAndSet(connected);
+                    if (previous != null) {
+                        previous.closeAsync();
+                    }
+                })
+                .doOnError(e -> {
+                    retryAt = System.nanoTime() + RETRY_DELAY.toNanos();
+                    backingOff = true;
+                })
+                .map(StatefulRedisConnection::reactive);
+    }
+
+    private <T> Mono<T> withCommands(Function<RedisReactiveCommands<String, byte[]>, Mono<T>> operation) {
+        return commands.flatMap(operation);
+    }
+
+    @Override
+    public Mono<byte[]> get(String key) {
+        return withCommands(commands -> commands.get(key));
+    }
+
+    @Override
+    public Mono<Void> put(String key, byte[] value, Duration ttl) {
+        return withCommands(commands -> commands.set(key, value, SetArgs.Builder.px(ttl.toMillis())).then());
+    }
+
+    @Override
+    public Mono<Boolean> tryLock(String key, String owner, Duration ttl) {
+        return withCommands(commands -> commands.set(key, owner.getBytes(StandardCharsets.UTF_8),
+                        SetArgs.Builder.nx().px(ttl.toMillis()))
+                .map("OK"::equals)
+                .defaultIfEmpty(false));
+    }
+
+    @Override
+    public Mono<Void> unlock(String key, String owner) {
+        return withCommands(commands -> commands.eval(UNLOCK_SCRIPT, ScriptOutputType.INTEGER, new String[]{key},
+                        owner.getBytes(StandardCharsets.UTF_8))
+                .then());
+    }
+
+    @Override
+    public void close() {
+        StatefulRedisConnection<String, byte[]> open = connection.getAndSet(null);
+        if (open != null) {
+            open.close();
+        }
+        client.shutdown();
+    }
+}
@@ -0,0 +1,65 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical AlphaVantage calls (single-flight).
+ * The first caller for a key starts the upstream request; every caller that
+ * arrives while it is in flight subscribes to the same shared Mono.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Execute the call, or join an identical call that is already in flight
+     * @param key Request key, see {@link #key(String, String, Map)}; callers sharing a key must agree on the result type
+     * @param call Supplier of the upstream request, invoked only by the first caller
+     * @return Mono shared by all concurrent callers with the same key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            boolean[] started = {false};
+            Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                started[0] = true;
+                return call.get()
+                        .doOnTerminate(() -> inFlight.remove(k))
+                        .cache();
+            });
+            if (!started[0]) {
+                coalesced.incrementAndGet();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * Build a request key from function, symbol and additional parameters
+     */
+    public static String key(String function, String symbol, Map<String, String> additionalParams) {
+        StringBuilder key = new StringBuilder(function).append('|').append(symbol);
+        if (additionalParams != null && !additionalParams.isEmpty()) {
+            new TreeMap<>(additionalParams).forEach((name, value) ->
+                    key.append('|').append(name).append('=').append(value));
+        }
+        return key.toString();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+}
@@ -0,0 +1,206 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import org.tanzu.stock_price_mcp.model.GlobalQuoteCodec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Second cache level, shared by all instances, behind the per-instance
+ * {@link QuoteCache}. On a miss, one instance takes a short-lived lock for the
+ * symbol and fetches it upstream; the others poll the shared store until the
+ * quote appears or lock-wait elapses, then fetch themselves. Upstream calls then
+ * scale with distinct symbols rather than with instances.
+ * <p>
+ * Each shared value carries the time its quote was fetched, so a quote keeps its
+ * real age when it moves into the per-instance cache, and a shared quote already
+ * as old as the per-instance TTL counts as a miss. A quote therefore never gets
+ * a second TTL, and a revalidation does not read back the quote it is replacing.
+ * <p>
+ * The shared store is an optimization, never a dependency: store errors are
+ * logged and counted, and the quote is fetched as if the cache were disabled.
+ */
+@Component
+public class SharedQuoteCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedQuoteCache.class);
+
+    static final String REQUEST_COUNTER = "alphavantage.shared.cache.requests";
+    static final String ERROR_COUNTER = "alphavantage.shared.cache.errors";
+
+    /**
+     * First byte of a shared value: the fetch time in epoch millis follows, then the encoded quote
+     */
+    static final byte FRAME = 0x54;
+
+    private final SharedQuoteStore store;
+    private final boolean enabled;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final long maxAgeMillis;
+    private final Duration lockTtl;
+    private final Duration pollInterval;
+    private final long maxPolls;
+    private final String owner = UUID.randomUUID().toString();
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter lockWaits;
+
+    @Autowired
+    public SharedQuoteCache(SharedQuoteStore store, AlphaVantageConfig config, MeterRegistry meterRegistry) {
+        this(store, config, meterRegistry, System::currentTimeMillis);
+    }
+
+    SharedQuoteCache(SharedQuoteStore store, AlphaVantageConfig config, MeterRegistry meterRegistry,
+                     LongSupplier clock) {
+        AlphaVantageConfig.SharedCache settings = config.getSharedCache();
+        this.store = store;
+        this.enabled = settings.isEnabled();
+        this.keyPrefix = settings.getKeyPrefix();
+        this.ttl = settings.getTtl();
+        this.maxAgeMillis = config.getCache().getTtl().toMillis();
+        this.clock = clock;
+        this.lockTtl = settings.getLockTtl();
+        this.pollInterval = settings.getPollInterval();
+        this.maxPolls = Math.max(1, settings.getLockWait().toNanos() / settings.getPollInterval().toNanos());
+        this.meterRegistry = meterRegistry;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.lockWaits = Counter.builder("alphavantage.shared.cache.lock.waits")
+                .description("Shared cache misses that waited for another instance's fetch")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String result) {
+        return Counter.builder(REQUEST_COUNTER)
+                .description("Shared quote cache lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Get a quote from the shared store, or fetch and share it
+     * @param symbol Normalized stock symbol
+     * @param fetch Upstream call, used on a shared miss
+     * @return Mono containing the shared or fetched quote with its age; a fetched quote has age zero
+     */
+    public Mono<QuoteCache.CachedQuote> load(String symbol, Supplier<Mono<AlphaVantageResponse>> fetch) {
+        if (!enabled) {
+            return fetch.get().map(response -> new QuoteCache.CachedQuote(symbol, response, Duration.ZERO));
+        }
+        String key = keyPrefix + "quote:" + symbol;
+        return read(symbol, key)
+                .doOnNext(quote -> hits.increment())
+                .switchIfEmpty(Mono.defer(() -> {
+                    misses.increment();
+                    return fetchOnce(symbol, key, fetch);
+                }));
+    }
+
+    private Mono<QuoteCache.CachedQuote> fetchOnce(String symbol, String key,
+                                                   Supplier<Mono<AlphaVantageResponse>> fetch) {
+        String lockKey = key + ":lock";
+        return store.tryLock(lockKey, owner, lockTtl)
+                .onErrorResume(e -> {
+                    storeFailed("lock", key, e);
+                    return Mono.just(true);
+                })
+                .flatMap(acquired -> acquired
+                        ? Mono.usingWhen(Mono.just(lockKey),
+                                lock -> fetchAndWrite(symbol, key, fetch),
+                                lock -> store.unlock(lock, owner).onErrorResume(e -> {
+                                    storeFailed("unlock", lock, e);
+                                    return Mono.empty();
+                                }))
+                        : awaitOther(symbol, key, fetch));
+    }
+
+    /**
+     * Another instance holds the lock: poll for its result, then fetch ourselves if it never arrives
+     */
+    private Mono<QuoteCache.CachedQuote> awaitOther(String symbol, String key,
+                                                    Supplier<Mono<AlphaVantageResponse>> fetch) {
+        lockWaits.increment();
+        return Flux.interval(pollInterval)
+                .take(maxPolls)
+                .concatMap(tick -> read(symbol, key))
+                .next()
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.debug("No shared quote for {} after waiting for another instance, fetching", key);
+                    return fetchAndWrite(symbol, key, fetch);
+                }));
+    }
+
+    private Mono<QuoteCache.CachedQuote> fetchAndWrite(String symbol, String key,
+                                                       Supplier<Mono<AlphaVantageResponse>> fetch) {
+        return fetch.get().flatMap(response -> {
+            QuoteCache.CachedQuote fetched = new QuoteCache.CachedQuote(symbol, response, Duration.ZERO);
+            GlobalQuote quote = response.getGlobalQuote();
+            if (quote == null) {
+                return Mono.just(fetched);
+            }
+            return store.put(key, encode(quote, clock.getAsLong()), ttl)
+                    .onErrorResume(e -> {
+                        storeFailed("write", key, e);
+                        return Mono.empty();
+                    })
+                    .thenReturn(fetched);
+        });
+    }
+
+    /**
+     * A shared quote younger than the per-instance TTL, or empty
+     */
+    private Mono<QuoteCache.CachedQuote> read(String symbol, String key) {
+        return store.get(key)
+                .mapNotNull(bytes -> {
+                    if (bytes.length < 1 + Long.BYTES || bytes[0] != FRAME) {
+                        return null;
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    long ageMillis = Math.max(0, clock.getAsLong() - buffer.getLong(1));
+                    if (ageMillis >= maxAgeMillis) {
+                        return null;
+                    }
+                    AlphaVantageResponse response = new AlphaVantageResponse();
+                    response.setData(GlobalQuote.FIELD, GlobalQuoteCodec.decode(
+                            Arrays.copyOfRange(bytes, 1 + Long.BYTES, bytes.length)));
+                    return new QuoteCache.CachedQuote(symbol, response, Duration.ofMillis(ageMillis));
+                })
+                .onErrorResume(e -> {
+                    storeFailed("read", key, e);
+                    return Mono.empty();
+                });
+    }
+
+    static byte[] encode(GlobalQuote quote, long fetchedAtMillis) {
+        byte[] encoded = GlobalQuoteCodec.encode(quote);
+        return ByteBuffer.allocate(1 + Long.BYTES + encoded.length)
+                .put(FRAME)
+                .putLong(fetchedAtMillis)
+                .put(encoded)
+                .array();
+    }
+
+    private void storeFailed(String operation, String key, Throwable e) {
+        meterRegistry.counter(ERROR_COUNTER, "operation", operation).increment();
+        logger.warn("Shared quote cache {} of {} failed: {}", operation, key, e.getMessage());
+    }
+}
@@ -0,0 +1,37 @@
+package org.tanzu.stock_price_mcp.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Key-value store shared by all instances, backing {@link SharedQuoteCache}.
+ * Implementations must make {@link #tryLock} atomic across instances.
+ */
+public interface SharedQuoteStore extends AutoCloseable {
+
+    /**
+     * @return Mono of the stored value, empty if absent or expired
+     */
+    Mono<byte[]> get(String key);
+
+    /**
+     * Store a value that expires after the given TTL
+     */
+    Mono<Void> put(String key, byte[] value, Duration ttl);
+
+    /**
+     * Set the key to the owner only if it is not already set
+     * @return Mono of true if the lock was acquired
+     */
+    Mono<Boolean> tryLock(String key, String owner, Duration ttl);
+
+    /**
+     * Delete the key only if it is still held by the owner
+     */
+    Mono<Void> unlock(String key, String owner);
+
+    @Override
+    default void close() {
+    }
+}
@@ -5,25 +5,23 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
-import org.tanzu.stock_price_mcp.model.StockQuoteRequest;
 import reactor.core.publisher.Mono;
 
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
-import java.util.Set;
-
 @Service
 public class StockQuoteService {
 
     private static final Logger logger = LoggerFactory.getLogger(StockQuoteService.class);
 
     private final AlphaVantageService alphaVantageService;
-    private final Validator validator;
+    private final SymbolTable symbolTable;
+    private final HotSymbolTracker hotSymbolTracker;
 
     @Autowired
-    public StockQuoteService(AlphaVantageService alphaVantageService, Validator validator) {
+    public StockQuoteService(AlphaVantageService alphaVantageService, SymbolTable symbolTable,
+                             HotSymbolTracker hotSymbolTracker) {
         this.alphaVantageService = alphaVantageService;
-        this.validator = validator;
+        this.symbolTable = symbolTable;
+        this.hotSymbolTracker = hotSymbolTracker;
     }
 
     /**
@@ -34,34 +32,37 @@ public class StockQuoteService {
     public Mono<AlphaVantageResponse> getStockQuote(String symbol) {
         logger.info("Processing stock quote request for symbol: {}", symbol);
 
-        // Create and validate request
-        StockQuoteRequest request = new StockQuoteRequest(symbol);
-        Set<ConstraintViolation<StockQuoteRequest>> violations = validator.validate(request);
-        
-        if (!violations.isEmpty()) {
-            String errorMessage = violations.iterator().next().getMessage();
+        String normalizedSymbol = symbolTable.normalize(symbol);
+        if (normalizedSymbol == null) {
+            String errorMessage = invalidSymbolMessage(symbol);
             logger.warn("Invalid stock quote request: {}", errorMessage);
             return Mono.error(new IllegalArgumentException(errorMessage));
         }
 
-        return alphaVantageService.getGlobalQuote(request.getSymbol())
+        hotSymbolTracker.record(normalizedSymbol);
+        return alphaVantageService.getGlobalQuote(normalizedSymbol)
                 .doOnSuccess(response -> logger.info("Successfully processed stock quote for symbol: {}", symbol))
                 .doOnError(error -> logger.error("Failed to process stock quote for symbol: {}", symbol, error));
     }
 
+    private String invalidSymbolMessage(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            return "Stock symbol is required";
+        }
+        if (SymbolTable.encode(symbol) == SymbolTable.INVALID) {
+            return "Stock symbol must be 1-5 letters";
+        }
+        return "Unknown stock symbol: " + symbol.trim().toUpperCase();
+    }
+
     /**
-     * Validate stock symbol format
+     * Validate stock symbol format: 1-5 letters, ignoring surrounding whitespace
+     * and case, and listed when a symbol reference file is configured
      * @param symbol Stock symbol to validate
      * @return true if valid, false otherwise
      */
     public boolean isValidSymbol(String symbol) {
-        if (symbol == null || symbol.trim().isEmpty()) {
-            return false;
-        }
-        
-        String normalizedSymbol = symbol.trim();
-        // Must be 1-5 letters only, no numbers or special characters
-        return normalizedSymbol.matches("^[A-Za-z]{1,5}$");
+        return symbolTable.isValid(symbol);
     }
 
     /**
@@ -73,11 +74,12 @@ public class StockQuoteService {
     public Mono<AlphaVantageResponse> getStockData(String function, String symbol) {
         logger.info("Processing stock data request for function: {} and symbol: {}", function, symbol);
 
-        if (!isValidSymbol(symbol)) {
+        String normalizedSymbol = symbolTable.normalize(symbol);
+        if (normalizedSymbol == null) {
             return Mono.error(new IllegalArgumentException("Invalid stock symbol format"));
         }
 
-        return alphaVantageService.callAlphaVantageFunction(function, symbol, null)
+        return alphaVantageService.callAlphaVantageFunction(function, normalizedSymbol, null)
                 .doOnSuccess(response -> logger.info("Successfully processed stock data for function: {} and symbol: {}", function, symbol))
                 .doOnError(error -> logger.error("Failed to process stock data for function: {} and symbol: {}", function, symbol, error));
     }
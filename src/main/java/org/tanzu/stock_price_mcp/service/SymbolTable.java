@@ -0,0 +1,224 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Single-pass symbol validation and normalization. A symbol of 1-5 ASCII
+ * letters, ignoring surrounding whitespace and case, packs into an int code:
+ * five bits per letter (A=1 .. Z=26), first letter highest, so codes are unique
+ * and sort like the symbols. Validating never allocates.
+ * <p>
+ * Normalized symbols are interned: every caller gets the same String instance
+ * for a symbol, so caches and maps keyed on it share one key, and the code can
+ * stand in for the symbol wherever a compact int ID is wanted. Past
+ * max-interned distinct symbols, normalization still works but returns fresh
+ * Strings.
+ * <p>
+ * With a reference list of listed tickers, symbols outside it are rejected
+ * before any upstream call. The list is held as a sorted array of codes,
+ * 4 bytes per ticker, and looked up by binary search.
+ */
+@Component
+public class SymbolTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SymbolTable.class);
+
+    public static final int INVALID = -1;
+    public static final int MAX_LENGTH = 5;
+
+    private static final int BITS_PER_LETTER = 5;
+
+    private final int maxInterned;
+    private final int mask;
+    private final int[] codes;
+    private final AtomicReferenceArray<String> slots;
+    private final int[] listed;
+    private int size;
+
+    @Autowired
+    public SymbolTable(AlphaVantageConfig config) {
+        this(config.getSymbols().getMaxInterned(), loadReference(config.getSymbols().getReferenceFile()));
+    }
+
+    /**
+     * @param listed Sorted codes of the listed symbols, or null to accept any well-formed symbol
+     */
+    SymbolTable(int maxInterned, int[] listed) {
+        int capacity = Integer.highestOneBit(Math.max(2, maxInterned) * 2 - 1) << 1;
+        this.maxInterned = maxInterned;
+        this.mask = capacity - 1;
+        this.codes = new int[capacity];
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.listed = listed;
+    }
+
+    /**
+     * @return the packed code of the trimmed, upper-cased symbol, or {@link #INVALID}
+     */
+    public static int encode(CharSequence symbol) {
+        if (symbol == null) {
+            return INVALID;
+        }
+        int start = 0;
+        int end = symbol.length();
+        // Same whitespace rule as String.trim()
+        while (start < end && symbol.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && symbol.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0 || length > MAX_LENGTH) {
+            return INVALID;
+        }
+        int code = 0;
+        for (int i = 0; i < length; i++) {
+            char c = symbol.charAt(start + i);
+            if (c >= 'a' && c <= 'z') {
+                c -= 'a' - 'A';
+            }
+            if (c < 'A' || c > 'Z') {
+                return INVALID;
+            }
+            code |= (c - 'A' + 1) << (BITS_PER_LETTER * (MAX_LENGTH - 1 - i));
+        }
+        return code;
+    }
+
+    public static String decode(int code) {
+        char[] letters = new char[MAX_LENGTH];
+        int length = 0;
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            int letter = (code >>> (BITS_PER_LETTER * (MAX_LENGTH - 1 - i))) & 0x1F;
+            if (letter == 0) {
+                break;
+            }
+            letters[length++] = (char) ('A' + letter - 1);
+        }
+        return new String(letters, 0, length);
+    }
+
+    /**
+     * Whether the symbol is well formed and, with a reference list, listed
+     */
+    public boolean isValid(CharSequence symbol) {
+        int code = encode(symbol);
+        return code != INVALID && isListed(code);
+    }
+
+    public boolean isListed(int code) {
+        return listed == null || Arrays.binarySearch(listed, code) >= 0;
+    }
+
+    /**
+     * @return the canonical instance of the trimmed, upper-cased symbol, or null if it is not valid
+     */
+    public String normalize(CharSequence symbol) {
+        int code = encode(symbol);
+        if (code == INVALID || !isListed(code)) {
+            return null;
+        }
+        return intern(code);
+    }
+
+    /**
+     * @return the canonical instance of the symbol with this code
+     */
+    public String intern(int code) {
+        for (int index = slot(code); ; index = (index + 1) & mask) {
+            String symbol = slots.get(index);
+            if (symbol == null) {
+                return internSlow(code);
+            }
+            // codes[index] is written before the slot is published
+            if (codes[index] == code) {
+                return symbol;
+            }
+        }
+    }
+
+    private synchronized String internSlow(int code) {
+        int index = slot(code);
+        for (String symbol; (symbol = slots.get(index)) != null; index = (index + 1) & mask) {
+            if (codes[index] == code) {
+                return symbol;
+            }
+        }
+        String symbol = decode(code);
+        if (size < maxInterned) {
+            codes[index] = code;
+            slots.set(index, symbol);
+            size++;
+        }
+        return symbol;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return number of listed symbols, or -1 without a reference list
+     */
+    public int listedCount() {
+        return listed == null ? -1 : listed.length;
+    }
+
+    private int slot(int code) {
+        return (code * 0x9E3779B9) >>> 7 & mask;
+    }
+
+    private static int[] loadReference(String referenceFile) {
+        if (referenceFile == null || referenceFile.isBlank()) {
+            return null;
+        }
+        Path path = Path.of(referenceFile);
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            int[] listed = readListing(reader);
+            logger.info("Loaded {} listed symbols from {}", listed.length, path);
+            return listed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read symbol reference file " + path, e);
+        }
+    }
+
+    /**
+     * Read the first column of each line. Lines that are not a well-formed
+     * symbol, such as a CSV header or tickers with a class suffix, are skipped.
+     * @return sorted, distinct codes
+     */
+    static int[] readListing(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        int[] codes = new int[1024];
+        int count = 0;
+        for (String line; (line = lines.readLine()) != null; ) {
+            int comma = line.indexOf(',');
+            int code = encode(comma < 0 ? line : line.subSequence(0, comma));
+            if (code == INVALID) {
+                continue;
+            }
+            if (count == codes.length) {
+                codes = Arrays.copyOf(codes, count * 2);
+            }
+            codes[count++] = code;
+        }
+        int[] sorted = Arrays.copyOf(codes, count);
+        Arrays.sort(sorted);
+        return Arrays.stream(sorted).distinct().toArray();
+    }
+}
@@ -0,0 +1,124 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Serves historical bars from the local {@link BarStore}. The store for a
+ * symbol is topped up from AlphaVantage at most once per refresh interval by
+ * streaming only bars at or after the last stored date; every query in between
+ * is a local read. Concurrent refreshes of the same series share one download.
+ */
+@Service
+public class TimeSeriesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSeriesService.class);
+
+    /**
+     * Calendar days safely covered by the 100 trading days of a compact response
+     */
+    static final int COMPACT_DAYS = 100;
+
+    private final AlphaVantageService alphaVantageService;
+    private final BarStore barStore;
+    private final RequestCoalescer requestCoalescer;
+    private final Duration refreshInterval;
+    private final Clock clock;
+
+    @Autowired
+    public TimeSeriesService(AlphaVantageService alphaVantageService, BarStore barStore,
+                             RequestCoalescer requestCoalescer, AlphaVantageConfig config) {
+        this(alphaVantageService, barStore, requestCoalescer, config.getTimeSeries().getRefreshInterval(),
+                Clock.systemUTC());
+    }
+
+    TimeSeriesService(AlphaVantageService alphaVantageService, BarStore barStore, RequestCoalescer requestCoalescer,
+                      Duration refreshInterval, Clock clock) {
+        this.alphaVantageService = alphaVantageService;
+        this.barStore = barStore;
+        this.requestCoalescer = requestCoalescer;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Get bars for a symbol, refreshing the local store first if it is stale.
+     * If the refresh fails but bars are already stored, the stored bars are served.
+     * @param from First date, or null for no lower bound
+     * @param to Last date, or null for no upper bound
+     * @param limit Maximum number of bars; the most recent bars in range are kept
+     * @return Mono containing the bars, oldest first
+     */
+    public Mono<List<Bar>> getBars(String symbol, TimeSeriesInterval interval, LocalDate from, LocalDate to,
+                                   int limit) {
+        String normalizedSymbol = symbol.trim().toUpperCase();
+        return ensureFresh(normalizedSymbol, interval)
+                .then(Mono.fromCallable(() -> barStore.query(normalizedSymbol, interval, from, to, limit)));
+    }
+
+    /**
+     * Refresh the local store for a symbol if it is stale, so the caller can read
+     * it directly. Completes without error if the refresh fails but bars are
+     * already stored.
+     * @param symbol Normalized stock symbol
+     */
+    public Mono<Void> ensureFresh(String symbol, TimeSeriesInterval interval) {
+        return refresh(symbol, interval)
+                .onErrorResume(AlphaVantageException.class, e -> {
+                    if (barStore.size(symbol, interval) == 0) {
+                        return Mono.error(e);
+                    }
+                    logger.warn("Refreshing {} bars for symbol {} failed, serving stored bars: {}",
+                            interval.id(), symbol, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> refresh(String symbol, TimeSeriesInterval interval) {
+        return Mono.defer(() -> {
+            Instant lastFetched = barStore.lastFetched(symbol, interval);
+            if (lastFetched != null && Duration.between(lastFetched, clock.instant()).compareTo(refreshInterval) < 0) {
+                return Mono.empty();
+            }
+            return requestCoalescer.execute("refresh|" + RequestCoalescer.key(interval.function(), symbol, null),
+                    () -> fetchNewBars(symbol, interval));
+        });
+    }
+
+    private Mono<Void> fetchNewBars(String symbol, TimeSeriesInterval interval) {
+        LocalDate lastDate = barStore.lastDate(symbol, interval);
+        String outputSize = outputSize(lastDate, LocalDate.now(clock));
+        logger.info("Refreshing {} bars for symbol {} after {} ({} output)", interval.id(), symbol, lastDate, outputSize);
+        return alphaVantageService.streamTimeSeries(interval, symbol, outputSize, lastDate, null)
+                .collectList()
+                .doOnNext(bars -> {
+                    bars.sort(Comparator.comparing(Bar::date));
+                    int appended = barStore.merge(symbol, interval, bars, clock.instant());
+                    logger.info("Stored {} new {} bars for symbol {}", appended, interval.id(), symbol);
+                })
+                .then();
+    }
+
+    /**
+     * A compact response holds the latest 100 bars. Backfill an empty store, or
+     * one too far behind for compact output to reach its last bar, with the
+     * full history; the streaming decode stops at the last stored bar either way.
+     */
+    static String outputSize(LocalDate lastDate, LocalDate today) {
+        return lastDate == null || lastDate.isBefore(today.minusDays(COMPACT_DAYS)) ? "full" : "compact";
+    }
+}
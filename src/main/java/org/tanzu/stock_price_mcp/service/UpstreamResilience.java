@@ -0,0 +1,262 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency tracking and circuit breaking for AlphaVantage round trips.
+ * <p>
+ * The last latency-window successful round trips give the per-call timeout
+ * (timeout-multiplier times the p99, clamped to [min-timeout, max-timeout]) and
+ * the hedge delay (the p95). Until min-latency-samples round trips have been seen,
+ * calls use max-timeout and are not hedged. The percentiles are recomputed as
+ * round trips are recorded, every twentieth of the window, so reading the
+ * timeout and hedge delay on each call neither sorts nor locks.
+ * <p>
+ * The breaker counts upstream failures (network errors, timeouts and 5xx
+ * responses) over the last sliding-window calls. API errors and throttle notes
+ * come from a healthy upstream and count as successes. Once minimum-calls have
+ * been seen and the failure rate reaches the threshold, the breaker opens and
+ * calls fail fast for open-duration; then half-open-calls trial calls decide
+ * whether it closes again or reopens.
+ */
+@Component
+public class UpstreamResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamResilience.class);
+
+    public static final String CIRCUIT_OPEN = "CIRCUIT_OPEN";
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Point-in-time view of the breaker and latency estimates, for the actuator endpoint
+     * @param failureRate Failure percentage over the sliding window, or -1 below minimum-calls
+     * @param hedgeDelay Delay before a hedged request, or null when hedging is off
+     */
+    public record Snapshot(State state, float failureRate, int bufferedCalls, long latencySamples,
+                           Duration p50, Duration p95, Duration p99, Duration timeout, Duration hedgeDelay) {
+    }
+
+    private final AlphaVantageConfig.Resilience settings;
+    private final LongSupplier nanoClock;
+
+    private final long[] latencies;
+    private final int recomputeEvery;
+    private long latencyCount;
+    private volatile Duration adaptiveTimeout;
+    private volatile Duration p95;
+
+    private final boolean[] outcomes;
+    private int outcomeCount;
+    private int outcomeIndex;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    @Autowired
+    public UpstreamResilience(AlphaVantageConfig config) {
+        this(config.getResilience(), System::nanoTime);
+    }
+
+    UpstreamResilience(AlphaVantageConfig.Resilience settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.latencies = new long[settings.getLatencyWindow()];
+        this.recomputeEvery = Math.max(1, latencies.length / 20);
+        this.outcomes = new boolean[settings.getSlidingWindow()];
+    }
+
+    /**
+     * Timeout for the next call, adapted to the observed p99 latency
+     */
+    public Duration timeout() {
+        Duration timeout = adaptiveTimeout;
+        return timeout != null ? timeout : settings.getMaxTimeout();
+    }
+
+    /**
+     * @return delay after which a second attempt is started, or null when calls should not be hedged
+     */
+    public Duration hedgeDelay() {
+        return settings.isHedgingEnabled() ? p95 : null;
+    }
+
+    /**
+     * Ask the breaker for a call. Every permitted call must be reported through
+     * exactly one of {@link #onSuccess}, {@link #onFailure} or {@link #onIgnored}.
+     * @return false if the breaker is open and the call should fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        if (!settings.isCircuitBreakerEnabled()) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < settings.getOpenDuration().toNanos()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * The upstream answered; its round trip feeds the latency estimates
+     */
+    public synchronized void onSuccess(long latencyNanos) {
+        latencies[(int) (latencyCount++ % latencies.length)] = latencyNanos;
+        if (latencyCount == settings.getMinLatencySamples()
+                || latencyCount > settings.getMinLatencySamples() && latencyCount % recomputeEvery == 0) {
+            recomputeEstimates();
+        }
+        onSuccess();
+    }
+
+    private void recomputeEstimates() {
+        long nanos = (long) (percentile(0.99) * settings.getTimeoutMultiplier());
+        adaptiveTimeout = Duration.ofNanos(
+                Math.max(settings.getMinTimeout().toNanos(), Math.min(settings.getMaxTimeout().toNanos(), nanos)));
+        p95 = Duration.ofNanos(percentile(0.95));
+    }
+
+    /**
+     * The upstream answered, but not with a round trip comparable to a quote
+     */
+    public synchronized void onSuccess() {
+        if (!settings.isCircuitBreakerEnabled()) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= settings.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        recordOutcome(false);
+    }
+
+    public synchronized void onFailure() {
+        if (!settings.isCircuitBreakerEnabled()) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        recordOutcome(true);
+        if (outcomeCount >= settings.getMinimumCalls()
+                && failures * 100 >= settings.getFailureRateThreshold() * outcomeCount) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * The call ended without telling anything about upstream health, e.g. it was
+     * cancelled or shed by the rate limiter
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits + halfOpenSuccesses < settings.getHalfOpenCalls()) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * Whether an error from a round trip counts against upstream health
+     */
+    public static boolean isFailure(Throwable error) {
+        if (error instanceof WebClientResponseException httpError) {
+            return httpError.getStatusCode().is5xxServerError();
+        }
+        return !(error instanceof AlphaVantageException);
+    }
+
+    /**
+     * Bounded retries with jittered exponential backoff for network errors and
+     * timeouts only. HTTP error responses and AlphaVantage errors are not retried.
+     */
+    public RetryBackoffSpec retrySpec() {
+        return Retry.backoff(settings.getMaxRetries(), settings.getRetryBackoff())
+                .jitter(settings.getRetryJitter())
+                .filter(error -> !(error instanceof WebClientResponseException)
+                        && !(error instanceof AlphaVantageException))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= settings.getOpenDuration().toNanos()) {
+            // Reported as half-open; the transition itself happens on the next call
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized Snapshot snapshot() {
+        boolean sampled = latencyCount > 0;
+        float failureRate = outcomeCount >= settings.getMinimumCalls() ? failures * 100f / outcomeCount : -1f;
+        return new Snapshot(state(), failureRate, outcomeCount, latencyCount,
+                sampled ? Duration.ofNanos(percentile(0.50)) : null,
+                sampled ? Duration.ofNanos(percentile(0.95)) : null,
+                sampled ? Duration.ofNanos(percentile(0.99)) : null,
+                timeout(), hedgeDelay());
+    }
+
+    private long percentile(double quantile) {
+        int size = (int) Math.min(latencyCount, latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        return sorted[Math.min(size - 1, (int) Math.ceil(quantile * size) - 1)];
+    }
+
+    private void recordOutcome(boolean failure) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[outcomeIndex]) {
+                failures--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomeIndex] = failure;
+        if (failure) {
+            failures++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State next) {
+        logger.info("AlphaVantage circuit breaker {} -> {}", state, next);
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = settings.getHalfOpenCalls();
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                Arrays.fill(outcomes, false);
+                outcomeCount = 0;
+                outcomeIndex = 0;
+                failures = 0;
+            }
+        }
+    }
+}
@@ -3,7 +3,7 @@ package org.tanzu.stock_price_mcp;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "alphavantage.api.http.warmup-connections=0")
 class StockPriceMcpApplicationTests {
 
 	@Test
@@ -0,0 +1,56 @@
+package org.tanzu.stock_price_mcp.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.tanzu.stock_price_mcp.mcp.StockQuoteHandler;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import org.tanzu.stock_price_mcp.model.StockQuoteRequest;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockPriceRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new StockPriceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testHints_CoverJsonBindingOfPayloadsAndRequests() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(AlphaVantageResponse.class.getMethod("getData"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(StockQuoteRequest.class.getMethod("setSymbol",
+                String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AlphaVantageResponse.Deserializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(GlobalQuote.Serializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void testHints_CoverConfigurationBinding() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(AlphaVantageConfig.class.getMethod("setKey",
+                String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(AlphaVantageConfig.Rpc.class.getMethod(
+                "setConcurrency", int.class)).test(hints));
+    }
+
+    @Test
+    void testHints_CoverToolRegistration() throws NoSuchMethodException {
+        Class<?> arguments = Arrays.stream(StockQuoteHandler.class.getDeclaredClasses())
+                .filter(type -> type.getSimpleName().equals("QuoteArguments"))
+                .findFirst().orElseThrow();
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(StockQuoteHandler.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(arguments.getDeclaredMethod("symbol")).test(hints));
+    }
+}
@@ -0,0 +1,78 @@
+package org.tanzu.stock_price_mcp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientConfigTest {
+
+    private final Set<SocketAddress> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private DisposableServer server;
+    private ConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    requests.incrementAndGet();
+                    clients.add(request.remoteAddress());
+                    return response.sendString(Mono.just("{}"));
+                })
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.disposeLater().block();
+        }
+        server.disposeNow();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.port() + "/query";
+    }
+
+    @Test
+    void testWarmUp_OpensConnectionsThatLaterCallsReuse() {
+        AlphaVantageConfig.Http settings = new AlphaVantageConfig.Http();
+        settings.setPoolMetrics(false);
+        provider = WebClientConfig.connectionProvider(settings);
+        HttpClient httpClient = WebClientConfig.httpClient(provider, settings, baseUrl());
+
+        Long opened = WebClientConfig.warmUp(httpClient, baseUrl(), 2).block();
+        // The pool takes a connection back on its event loop just after the response completes
+        Mono.delay(Duration.ofMillis(100)).block();
+        httpClient.get().uri(baseUrl()).responseContent().aggregate().asString().block();
+
+        assertEquals(2, opened);
+        assertEquals(3, requests.get());
+        assertEquals(2, clients.size());
+    }
+
+    @Test
+    void testWarmUp_DisabledWithZeroConnections() {
+        AlphaVantageConfig.Http settings = new AlphaVantageConfig.Http();
+        settings.setPoolMetrics(false);
+        provider = WebClientConfig.connectionProvider(settings);
+        HttpClient httpClient = WebClientConfig.httpClient(provider, settings, baseUrl());
+
+        assertNull(WebClientConfig.warmUp(httpClient, baseUrl(), 0).block());
+        assertEquals(0, requests.get());
+    }
+}
@@ -0,0 +1,186 @@
+package org.tanzu.stock_price_mcp.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local AlphaVantage stand-in serving the recorded payloads in
+ * src/test/resources/alphavantage. Latency, jitter, HTTP error rate and the rate
+ * of throttle "Note" responses are configurable, so load tests can run offline.
+ *
+ * <p>Run standalone with {@code main} to point a locally running app at it via
+ * {@code alphavantage.api.base-url=http://localhost:<port>/query}.
+ */
+public class AlphaVantageStubServer implements AutoCloseable {
+
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final double throttleRate;
+    private final String globalQuote;
+    private final String timeSeriesDaily;
+    private final String throttleNote;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private DisposableServer server;
+
+    private AlphaVantageStubServer(Builder builder) {
+        this.latency = builder.latency;
+        this.jitter = builder.jitter;
+        this.errorRate = builder.errorRate;
+        this.throttleRate = builder.throttleRate;
+        this.globalQuote = load("global-quote-IBM.json");
+        this.timeSeriesDaily = load("time-series-daily-IBM.json");
+        this.throttleNote = load("throttle-note.json");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public AlphaVantageStubServer start(int port) {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(port)
+                .route(routes -> routes.get("/query", this::handle))
+                .bindNow();
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port() + "/query";
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long throttledCount() {
+        return throttled.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        requests.incrementAndGet();
+        Map<String, List<String>> params = new QueryStringDecoder(request.uri()).parameters();
+        String function = first(params, "function");
+        String symbol = first(params, "symbol");
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpResponseStatus status = HttpResponseStatus.OK;
+        String body;
+        if (random.nextDouble() < errorRate) {
+            failed.incrementAndGet();
+            status = HttpResponseStatus.INTERNAL_SERVER_ERROR;
+            body = "{}";
+        } else if (random.nextDouble() < throttleRate) {
+            throttled.incrementAndGet();
+            body = throttleNote;
+        } else if ("GLOBAL_QUOTE".equals(function)) {
+            body = globalQuote.replace("\"01. symbol\": \"IBM\"", "\"01. symbol\": \"" + symbol + "\"");
+        } else if ("TIME_SERIES_DAILY".equals(function)) {
+            body = timeSeriesDaily.replace("\"2. Symbol\": \"IBM\"", "\"2. Symbol\": \"" + symbol + "\"");
+        } else {
+            body = "{\"Error Message\": \"Invalid API call. Function " + function + " is not recorded.\"}";
+        }
+
+        long delayMillis = latency.toMillis();
+        if (!jitter.isZero()) {
+            delayMillis += random.nextLong(-jitter.toMillis(), jitter.toMillis() + 1);
+        }
+        return response.status(status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just(body).delayElement(Duration.ofMillis(Math.max(0, delayMillis))));
+    }
+
+    private static String first(Map<String, List<String>> params, String name) {
+        List<String> values = params.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static String load(String name) {
+        try (InputStream in = AlphaVantageStubServer.class.getResourceAsStream("/alphavantage/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing recorded payload: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        try (AlphaVantageStubServer stub = builder()
+                .latency(Duration.ofMillis(Long.getLong("stub.latency-ms", 100)))
+                .jitter(Duration.ofMillis(Long.getLong("stub.jitter-ms", 30)))
+                .errorRate(Double.parseDouble(System.getProperty("stub.error-rate", "0")))
+                .throttleRate(Double.parseDouble(System.getProperty("stub.throttle-rate", "0")))
+                .build()
+                .start(port)) {
+            System.out.println("AlphaVantage stub listening on " + stub.baseUrl());
+            Thread.currentThread().join();
+        }
+    }
+
+    public static class Builder {
+
+        private Duration latency = Duration.ZERO;
+        private Duration jitter = Duration.ZERO;
+        private double errorRate;
+        private double throttleRate;
+
+        public Builder latency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        public Builder jitter(Duration jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder throttleRate(double throttleRate) {
+            this.throttleRate = throttleRate;
+            return this;
+        }
+
+        public AlphaVantageStubServer build() {
+            return new AlphaVantageStubServer(this);
+        }
+    }
+}
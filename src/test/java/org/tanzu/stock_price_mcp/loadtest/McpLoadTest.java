@@ -0,0 +1,171 @@
+package org.tanzu.stock_price_mcp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: drives POST /mcp/tools/call against the app, which talks
+ * to the local AlphaVantage stub. Reports throughput and p50/p99/p999 latency to
+ * the console and to target/load-test/report.json, and fails when the configured
+ * latency or error budget is exceeded.
+ *
+ * <p>Run with {@code ./mvnw -Pload-test test}. Tune with system properties, e.g.
+ * {@code -Dloadtest.requests=20000 -Dloadtest.concurrency=400 -Dstub.latency-ms=150}.
+ */
+@Tag("load-test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class McpLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final int SYMBOLS = Integer.getInteger("loadtest.symbols", 100);
+    private static final long MAX_P99_MILLIS = Long.getLong("loadtest.max-p99-ms", 5000);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    private static final AlphaVantageStubServer STUB = AlphaVantageStubServer.builder()
+            .latency(Duration.ofMillis(Long.getLong("stub.latency-ms", 50)))
+            .jitter(Duration.ofMillis(Long.getLong("stub.jitter-ms", 20)))
+            .errorRate(Double.parseDouble(System.getProperty("stub.error-rate", "0")))
+            .throttleRate(Double.parseDouble(System.getProperty("stub.throttle-rate", "0")))
+            .build()
+            .start(0);
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        registry.add("alphavantage.api.base-url", STUB::baseUrl);
+        registry.add("alphavantage.api.cache.enabled", () -> System.getProperty("loadtest.cache", "false"));
+        registry.add("alphavantage.api.rate-limit.enabled", () -> "false");
+        registry.add("logging.level.org.tanzu.stock_price_mcp", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void quoteToolUnderLoad() throws IOException {
+        ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+
+        // Warm up the JIT and connection pool before measuring
+        run(client, Math.min(REQUESTS, 500));
+
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long[] latencies = run(client, REQUESTS, errors);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        connections.dispose();
+
+        Arrays.sort(latencies);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", REQUESTS);
+        report.put("concurrency", CONCURRENCY);
+        report.put("errors", errors.get());
+        report.put("durationMillis", elapsed.toMillis());
+        report.put("throughputPerSecond", Math.round(REQUESTS / (elapsed.toNanos() / 1e9)));
+        report.put("p50Millis", percentileMillis(latencies, 0.50));
+        report.put("p99Millis", percentileMillis(latencies, 0.99));
+        report.put("p999Millis", percentileMillis(latencies, 0.999));
+        report.put("maxMillis", latencies[latencies.length - 1] / 1e6);
+        report.put("upstreamRequests", STUB.requestCount());
+
+        Path reportFile = Path.of("target", "load-test", "report.json");
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        System.out.println("MCP load test report: " + report);
+
+        double errorRate = (double) errors.get() / REQUESTS;
+        assertTrue(errorRate <= MAX_ERROR_RATE, "Error rate " + errorRate + " exceeds " + MAX_ERROR_RATE);
+        assertTrue((double) report.get("p99Millis") <= MAX_P99_MILLIS,
+                "p99 " + report.get("p99Millis") + "ms exceeds " + MAX_P99_MILLIS + "ms");
+    }
+
+    private long[] run(WebClient client, int requests) {
+        return run(client, requests, new AtomicLong());
+    }
+
+    private long[] run(WebClient client, int requests, AtomicLong errors) {
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(i -> timedCall(client, symbol(i), errors), CONCURRENCY)
+                .collectList()
+                .block(Duration.ofMinutes(10));
+        assertNotNull(latencies);
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> timedCall(WebClient client, String symbol, AtomicLong errors) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return client.post()
+                    .uri("/mcp/tools/call")
+                    .bodyValue(Map.of("name", "quote", "arguments", Map.of("symbol", symbol)))
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                    .doOnNext(response -> {
+                        List<Map<String, Object>> content = (List<Map<String, Object>>) response.get("content");
+                        Map<String, Object> text = (Map<String, Object>) content.get(0).get("text");
+                        if (text.containsKey("error")) {
+                            errors.incrementAndGet();
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        errors.incrementAndGet();
+                        return Mono.empty();
+                    })
+                    .then(Mono.fromSupplier(() -> System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Deterministic symbol names AA..ZZ style, SYMBOLS distinct values
+     */
+    private static String symbol(int i) {
+        int n = i % SYMBOLS;
+        return "" + (char) ('A' + n / 26 % 26) + (char) ('A' + n % 26) + "X";
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
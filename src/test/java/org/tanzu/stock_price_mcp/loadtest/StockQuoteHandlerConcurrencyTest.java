@@ -0,0 +1,86 @@
+package org.tanzu.stock_price_mcp.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.service.StockQuoteService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test for the MCP tool endpoint: with a servlet pool of 10 platform threads
+ * and a 500ms upstream, 400 concurrent quote calls must overlap instead of being
+ * serialized by the pool (400 / 10 * 500ms = 20s).
+ *
+ * <p>Timing-dependent, so it runs with the load tests: {@code ./mvnw -Pload-test test}.
+ */
+@Tag("load-test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=10",
+        "server.tomcat.threads.min-spare=10",
+        "server.tomcat.max-connections=1000",
+        "server.tomcat.accept-count=1000",
+        "spring.threads.virtual.enabled=false",
+        "alphavantage.api.http.warmup-connections=0"
+})
+class StockQuoteHandlerConcurrencyTest {
+
+    private static final int CONCURRENT_CALLS = 400;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(500);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @MockitoBean
+    private StockQuoteService stockQuoteService;
+
+    @Test
+    void testCallTool_SustainsConcurrencyBeyondServletPool() {
+        AlphaVantageResponse response = new AlphaVantageResponse();
+        response.setData("Global Quote", Map.of("01. symbol", "IBM"));
+        when(stockQuoteService.isValidSymbol(anyString())).thenReturn(true);
+        when(stockQuoteService.getStockQuote(anyString()))
+                .thenReturn(Mono.delay(UPSTREAM_LATENCY).thenReturn(response));
+
+        WebClient client = webClientBuilder.baseUrl("http://localhost:" + port).build();
+        callConcurrently(client, 20);
+
+        long start = System.nanoTime();
+        List<Map<String, Object>> results = callConcurrently(client, CONCURRENT_CALLS);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertNotNull(results);
+        assertEquals(CONCURRENT_CALLS, results.size());
+        results.forEach(result -> assertTrue(result.containsKey("content")));
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(8)) < 0,
+                "Expected concurrent calls to overlap, took " + elapsed);
+    }
+
+    private List<Map<String, Object>> callConcurrently(WebClient client, int calls) {
+        return Flux.range(0, calls)
+                .flatMap(i -> client.post()
+                        .uri("/mcp/tools/call")
+                        .bodyValue(Map.of("name", "quote", "arguments", Map.of("symbol", "IBM")))
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}), calls)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,180 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.mcp.server.autoconfigure.McpServerProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.service.IndicatorService;
+import org.tanzu.stock_price_mcp.service.StockQuoteService;
+import org.tanzu.stock_price_mcp.service.TimeSeriesService;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class McpJsonRpcHandlerTest {
+
+    @Mock
+    private StockQuoteService stockQuoteService;
+
+    @Mock
+    private TimeSeriesService timeSeriesService;
+
+    @Mock
+    private IndicatorService indicatorService;
+
+    private AlphaVantageConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private McpJsonRpcHandler rpcHandler;
+
+    @BeforeEach
+    void setUp() {
+        config = new AlphaVantageConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        StockQuoteHandler handler = new StockQuoteHandler(stockQuoteService, timeSeriesService, indicatorService,
+                config, objectMapper, meterRegistry);
+        rpcHandler = new McpJsonRpcHandler(new McpTools(handler, objectMapper), objectMapper, config,
+                new McpServerProperties(), meterRegistry);
+    }
+
+    private static byte[] body(String json) {
+        return json.replace('\'', '"').getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String quoteCall(int id, String symbol) {
+        return "{'jsonrpc':'2.0','id':" + id + ",'method':'tools/call','params':{'name':'quote','arguments':{'symbol':'"
+                + symbol + "'}}}";
+    }
+
+    private void stubQuote(String symbol, Duration latency) {
+        AlphaVantageResponse response = new AlphaVantageResponse();
+        response.setData("Global Quote", Map.of("01. symbol", symbol));
+        when(stockQuoteService.getStockQuote(symbol)).thenReturn(Mono.delay(latency).thenReturn(response));
+    }
+
+    private static int id(Map<String, Object> response) {
+        return ((JsonNode) response.get("id")).asInt();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int errorCode(Map<String, Object> response) {
+        return (int) ((Map<String, Object>) response.get("error")).get("code");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCall_BatchRunsConcurrentlyAndAnswersInRequestOrder() {
+        when(stockQuoteService.isValidSymbol(anyString())).thenReturn(true);
+        stubQuote("IBM", Duration.ofMillis(300));
+        stubQuote("AAPL", Duration.ofMillis(300));
+        stubQuote("MSFT", Duration.ofMillis(10));
+
+        long start = System.nanoTime();
+        ResponseEntity<Object> response = rpcHandler.call(body("[" + quoteCall(1, "IBM") + ","
+                + quoteCall(2, "AAPL") + "," + quoteCall(3, "MSFT") + "]")).block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<Map<String, Object>> responses = (List<Map<String, Object>>) response.getBody();
+        assertEquals(List.of(1, 2, 3), responses.stream().map(McpJsonRpcHandlerTest::id).toList());
+        McpSchema.CallToolResult result = (McpSchema.CallToolResult) responses.get(0).get("result");
+        assertFalse(result.isError());
+        assertTrue(((McpSchema.TextContent) result.content().get(0)).text().contains("IBM"));
+        assertTrue(elapsed.compareTo(Duration.ofMillis(600)) < 0, "Expected calls to overlap, took " + elapsed);
+        assertEquals(3.0, meterRegistry.get(McpJsonRpcHandler.BATCH_SIZE).summary().totalAmount());
+    }
+
+    @Test
+    void testStream_EmitsResponsesAsTheyComplete() {
+        when(stockQuoteService.isValidSymbol(anyString())).thenReturn(true);
+        stubQuote("IBM", Duration.ofMillis(200));
+        stubQuote("MSFT", Duration.ofMillis(10));
+
+        List<ServerSentEvent<Map<String, Object>>> events = rpcHandler
+                .stream(body("[" + quoteCall(1, "IBM") + "," + quoteCall(2, "MSFT") + "]"))
+                .collectList().block();
+
+        assertEquals(List.of(2, 1), events.stream().map(event -> id(event.data())).toList());
+        assertEquals("message", events.get(0).event());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCall_InitializeAndListTools() {
+        ResponseEntity<Object> response = rpcHandler.call(body("[{'jsonrpc':'2.0','id':1,'method':'initialize',"
+                + "'params':{'protocolVersion':'2024-11-05'}},{'jsonrpc':'2.0','id':2,'method':'tools/list'}]")).block();
+
+        List<Map<String, Object>> responses = (List<Map<String, Object>>) response.getBody();
+        Map<String, Object> initialize = (Map<String, Object>) responses.get(0).get("result");
+        assertEquals("2024-11-05", initialize.get("protocolVersion"));
+        assertTrue(((Map<String, Object>) initialize.get("capabilities")).containsKey("tools"));
+        List<McpSchema.Tool> tools = (List<McpSchema.Tool>) ((Map<String, Object>) responses.get(1).get("result"))
+                .get("tools");
+        assertEquals(List.of("batch_quote", "indicators", "quote", "time_series", "validate_symbol"),
+                tools.stream().map(McpSchema.Tool::name).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCall_ReportsProtocolErrorsPerMessage() {
+        ResponseEntity<Object> response = rpcHandler.call(body("[{'jsonrpc':'2.0','id':1,'method':'resources/list'},"
+                + "{'jsonrpc':'2.0','id':2,'method':'tools/call','params':{'name':'no_such_tool'}},"
+                + "{'jsonrpc':'2.0','id':3,'method':'tools/call','params':{'name':'quote','arguments':[]}},"
+                + "{'id':4,'method':'ping'},"
+                + "{'jsonrpc':'2.0','method':'notifications/initialized'},"
+                + "{'jsonrpc':'2.0','id':5,'method':'ping'}]")).block();
+
+        List<Map<String, Object>> responses = (List<Map<String, Object>>) response.getBody();
+        assertEquals(5, responses.size());
+        assertEquals(McpSchema.ErrorCodes.METHOD_NOT_FOUND, errorCode(responses.get(0)));
+        assertEquals(McpSchema.ErrorCodes.INVALID_PARAMS, errorCode(responses.get(1)));
+        assertEquals(McpSchema.ErrorCodes.INVALID_PARAMS, errorCode(responses.get(2)));
+        assertEquals(McpSchema.ErrorCodes.INVALID_REQUEST, errorCode(responses.get(3)));
+        assertEquals(Map.of(), responses.get(4).get("result"));
+    }
+
+    @Test
+    void testCall_RejectsMalformedBodies() {
+        config.getRpc().setMaxBatchSize(2);
+
+        Map<?, ?> parseError = (Map<?, ?>) rpcHandler.call(body("{not json")).block().getBody();
+        Map<?, ?> emptyBatch = (Map<?, ?>) rpcHandler.call(body("[]")).block().getBody();
+        Map<?, ?> oversized = (Map<?, ?>) rpcHandler.call(body("[{'jsonrpc':'2.0','id':1,'method':'ping'},"
+                + "{'jsonrpc':'2.0','id':2,'method':'ping'},{'jsonrpc':'2.0','id':3,'method':'ping'}]"))
+                .block().getBody();
+
+        assertEquals(McpSchema.ErrorCodes.PARSE_ERROR, ((Map<?, ?>) parseError.get("error")).get("code"));
+        assertEquals(McpSchema.ErrorCodes.INVALID_REQUEST, ((Map<?, ?>) emptyBatch.get("error")).get("code"));
+        assertEquals(McpSchema.ErrorCodes.INVALID_REQUEST, ((Map<?, ?>) oversized.get("error")).get("code"));
+    }
+
+    @Test
+    void testCall_NotificationsOnlyAreAccepted() {
+        ResponseEntity<Object> single = rpcHandler.call(body("{'jsonrpc':'2.0','method':'notifications/initialized'}"))
+                .block();
+        ResponseEntity<Object> batch = rpcHandler.call(body("[{'jsonrpc':'2.0','method':'notifications/initialized'},"
+                + "{'jsonrpc':'2.0','method':'ping'}]")).block();
+
+        assertEquals(HttpStatus.ACCEPTED, single.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, batch.getStatusCode());
+    }
+}
@@ -0,0 +1,108 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.service.StockQuoteService;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * The tools over the real MCP transports: an SDK client session on /sse, and
+ * batched JSON-RPC on /mcp/rpc in both response modes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "alphavantage.api.http.warmup-connections=0")
+class McpServerTransportTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @MockitoBean
+    private StockQuoteService stockQuoteService;
+
+    private void stubQuotes() {
+        when(stockQuoteService.isValidSymbol(anyString())).thenReturn(true);
+        when(stockQuoteService.getStockQuote(anyString())).thenAnswer(invocation -> {
+            AlphaVantageResponse response = new AlphaVantageResponse();
+            response.setData("Global Quote", Map.of("01. symbol", invocation.getArgument(0)));
+            return Mono.just(response);
+        });
+    }
+
+    private static String batch() {
+        return """
+                [{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"quote","arguments":{"symbol":"IBM"}}},
+                 {"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"quote","arguments":{"symbol":"MSFT"}}}]
+                """;
+    }
+
+    @Test
+    void testSseSession_ListsAndCallsTools() {
+        stubQuotes();
+        McpSyncClient client = McpClient.sync(HttpClientSseClientTransport.builder("http://localhost:" + port).build())
+                .requestTimeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            client.initialize();
+
+            List<String> tools = client.listTools().tools().stream().map(McpSchema.Tool::name).toList();
+            McpSchema.CallToolResult result = client.callTool(
+                    new McpSchema.CallToolRequest("quote", Map.of("symbol", "IBM")));
+
+            assertTrue(tools.containsAll(List.of("quote", "batch_quote", "time_series", "indicators")));
+            assertFalse(result.isError());
+            assertTrue(((McpSchema.TextContent) result.content().get(0)).text().contains("IBM"));
+        } finally {
+            client.closeGracefully();
+        }
+    }
+
+    @Test
+    void testRpc_AnswersBatchAsJsonOrEventStream() {
+        stubQuotes();
+        WebClient client = webClientBuilder.baseUrl("http://localhost:" + port).build();
+
+        List<Map<String, Object>> json = client.post().uri("/mcp/rpc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(batch())
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
+                .block(Duration.ofSeconds(10));
+        List<ServerSentEvent<Map<String, Object>>> events = client.post().uri("/mcp/rpc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(batch())
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>>() {})
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of(1, 2), json.stream().map(response -> response.get("id")).toList());
+        assertTrue(json.get(1).get("result").toString().contains("MSFT"));
+        assertEquals(2, events.size());
+        events.forEach(event -> assertTrue(event.data().containsKey("result")));
+    }
+}
@@ -0,0 +1,264 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.IndicatorSpec;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import org.tanzu.stock_price_mcp.service.IndicatorService;
+import org.tanzu.stock_price_mcp.service.StockQuoteService;
+import org.tanzu.stock_price_mcp.service.TimeSeriesService;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockQuoteHandlerTest {
+
+    @Mock
+    private StockQuoteService stockQuoteService;
+
+    @Mock
+    private TimeSeriesService timeSeriesService;
+
+    @Mock
+    private IndicatorService indicatorService;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private AlphaVantageConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private StockQuoteHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        config = new AlphaVantageConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new StockQuoteHandler(stockQuoteService, timeSeriesService, indicatorService, config,
+                objectMapper, meterRegistry);
+    }
+
+    private Map<String, Object> callTool(String name, Map<String, Object> arguments) {
+        Map<String, Object> result = handler.invoke(name, arguments).block();
+        assertNotNull(result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> property(Map<String, Object> tools, String tool, String property) {
+        for (Map<String, Object> definition : (List<Map<String, Object>>) tools.get("tools")) {
+            if (tool.equals(definition.get("name"))) {
+                Map<String, Object> schema = (Map<String, Object>) definition.get("inputSchema");
+                return (Map<String, Object>) ((Map<String, Object>) schema.get("properties")).get(property);
+            }
+        }
+        throw new AssertionError("No tool " + tool);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListTools_ServesSchemasWithEtag() throws IOException {
+        ResponseEntity<byte[]> response = handler.listTools(null);
+        String etag = response.getHeaders().getETag();
+        Map<String, Object> tools = objectMapper.readValue(response.getBody(), Map.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(etag);
+        assertEquals(List.of("batch_quote", "indicators", "quote", "time_series", "validate_symbol"),
+                ((List<Map<String, Object>>) tools.get("tools")).stream().map(tool -> tool.get("name")).toList());
+        assertEquals(Map.of("type", "array", "items", Map.of("type", "string"), "maxItems", 50,
+                        "description", "Stock ticker symbols (e.g., ['IBM', 'AAPL', 'MSFT']). Each must be 1-5 letters."),
+                property(tools, "batch_quote", "symbols"));
+        assertEquals(5000, property(tools, "time_series", "limit").get("maximum"));
+        assertEquals("date", property(tools, "time_series", "from").get("format"));
+        assertTrue(((String) property(tools, "indicators", "limit").get("description")).endsWith("Defaults to 100."));
+
+        ResponseEntity<byte[]> revalidated = handler.listTools("W/" + etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertNull(revalidated.getBody());
+        assertEquals(HttpStatus.OK, handler.listTools("\"stale\"").getStatusCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCallTool_WritesResultAsTextContent() throws IOException {
+        when(stockQuoteService.isValidSymbol("IBM")).thenReturn(true);
+
+        ResponseEntity<byte[]> response = handler.callTool(Map.of("name", "validate_symbol",
+                "arguments", Map.of("symbol", "IBM"))).block();
+
+        Map<String, Object> body = objectMapper.readValue(response.getBody(), Map.class);
+        Map<String, Object> content = ((List<Map<String, Object>>) body.get("content")).get(0);
+        assertEquals("text", content.get("type"));
+        assertEquals(true, ((Map<String, Object>) content.get("text")).get("valid"));
+    }
+
+    @Test
+    void testCallTool_DoesNotBlockOnUpstream() {
+        Sinks.One<AlphaVantageResponse> upstream = Sinks.one();
+        when(stockQuoteService.isValidSymbol("IBM")).thenReturn(true);
+        when(stockQuoteService.getStockQuote("IBM")).thenReturn(upstream.asMono());
+
+        // Assembling and subscribing returns at once; the servlet thread is not held while upstream is pending
+        Mono<ResponseEntity<byte[]>> call = handler.callTool(Map.of("name", "quote",
+                "arguments", Map.of("symbol", "IBM")));
+
+        StepVerifier.create(call)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(50))
+                .then(() -> upstream.tryEmitValue(new AlphaVantageResponse()))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.getStatusCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testCallTool_BindsTypedArguments() {
+        Map<String, Object> result = callTool("time_series", Map.of("symbol", "IBM", "limit", "ten"));
+
+        assertEquals("Invalid arguments", result.get("error"));
+        assertEquals("Argument 'limit' has an invalid value", result.get("message"));
+        assertEquals("Invalid arguments", callTool("batch_quote", Map.of("symbols", Map.of("a", 1))).get("error"));
+    }
+
+    @Test
+    void testBatchQuote_AcceptsCommaSeparatedSymbols() {
+        when(stockQuoteService.isValidSymbol(anyString())).thenReturn(false);
+
+        Map<String, Object> result = callTool("batch_quote", Map.of("symbols", "BAD1, BAD2"));
+
+        assertEquals(2, result.get("requested"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchQuote_ReturnsPerSymbolResultsAndErrors() {
+        AlphaVantageResponse ibm = new AlphaVantageResponse();
+        ibm.setData("Global Quote", Map.of("01. symbol", "IBM"));
+        when(stockQuoteService.isValidSymbol(anyString())).thenAnswer(inv -> !"BAD1".equals(inv.getArgument(0)));
+        when(stockQuoteService.getStockQuote("IBM")).thenReturn(Mono.just(ibm));
+        when(stockQuoteService.getStockQuote("AAPL"))
+                .thenReturn(Mono.error(new AlphaVantageException("Rate limited", "RATE_LIMITED")));
+
+        Map<String, Object> result = callTool("batch_quote", Map.of("symbols", List.of("IBM", "ibm", "AAPL", "BAD1")));
+
+        Map<String, Object> results = (Map<String, Object>) result.get("results");
+        Map<String, Object> errors = (Map<String, Object>) result.get("errors");
+        assertEquals(3, result.get("requested"));
+        assertEquals(ibm.getData(), results.get("IBM"));
+        assertEquals("RATE_LIMITED", ((Map<String, Object>) errors.get("AAPL")).get("code"));
+        assertTrue(errors.containsKey("BAD1"));
+        verify(stockQuoteService, times(1)).getStockQuote("IBM");
+    }
+
+    @Test
+    void testBatchQuote_RejectsTooManySymbols() {
+        config.getBatch().setMaxSymbols(2);
+
+        Map<String, Object> result = callTool("batch_quote", Map.of("symbols", List.of("IBM", "AAPL", "MSFT")));
+
+        assertEquals("Invalid symbols", result.get("error"));
+    }
+
+    @Test
+    void testBatchQuote_MissingSymbols() {
+        Map<String, Object> result = callTool("batch_quote", Map.of());
+
+        assertEquals("Missing symbols", result.get("error"));
+    }
+
+    @Test
+    void testCallTool_RecordsToolMetrics() {
+        when(stockQuoteService.isValidSymbol("IBM")).thenReturn(true);
+
+        callTool("validate_symbol", Map.of("symbol", "IBM"));
+        callTool("batch_quote", Map.of());
+        callTool("no_such_tool", Map.of());
+
+        assertEquals(1, meterRegistry.get(StockQuoteHandler.TOOL_TIMER)
+                .tags("tool", "validate_symbol", "result", "success").timer().count());
+        assertEquals(1, meterRegistry.get(StockQuoteHandler.TOOL_TIMER)
+                .tags("tool", "batch_quote", "result", "error").timer().count());
+        assertEquals(1, meterRegistry.get(StockQuoteHandler.TOOL_TIMER)
+                .tags("tool", "unknown", "result", "error").timer().count());
+        assertEquals(0.0, meterRegistry.get(StockQuoteHandler.TOOL_ACTIVE).gauge().value());
+    }
+
+    @Test
+    void testTimeSeries_ReturnsStoredBars() {
+        Bar bar = new Bar(LocalDate.of(2025, 7, 25), 190.37, 190.42, 189.32, 189.84, 3872427);
+        when(stockQuoteService.isValidSymbol("ibm")).thenReturn(true);
+        when(timeSeriesService.getBars("IBM", TimeSeriesInterval.WEEKLY, LocalDate.of(2025, 7, 1), null, 10))
+                .thenReturn(Mono.just(List.of(bar)));
+
+        Map<String, Object> result = callTool("time_series",
+                Map.of("symbol", "ibm", "interval", "weekly", "from", "2025-07-01", "limit", 10));
+
+        assertEquals("IBM", result.get("symbol"));
+        assertEquals("weekly", result.get("interval"));
+        assertEquals(List.of(bar), result.get("bars"));
+    }
+
+    @Test
+    void testTimeSeries_RejectsInvalidArguments() {
+        when(stockQuoteService.isValidSymbol("IBM")).thenReturn(true);
+
+        assertEquals("Invalid interval", callTool("time_series", Map.of("symbol", "IBM", "interval", "hourly")).get("error"));
+        assertEquals("Invalid arguments", callTool("time_series", Map.of("symbol", "IBM", "from", "07/01/2025")).get("error"));
+        assertEquals("Invalid limit", callTool("time_series", Map.of("symbol", "IBM", "limit", 0)).get("error"));
+    }
+
+    @Test
+    void testIndicators_ParsesIndicatorsAndReturnsValues() {
+        List<Map<String, Object>> points = List.of(Map.of("date", "2025-07-25", "rsi", 61.5));
+        when(stockQuoteService.isValidSymbol("ibm")).thenReturn(true);
+        when(indicatorService.getIndicators("IBM", TimeSeriesInterval.DAILY,
+                List.of(IndicatorSpec.rsi(14), IndicatorSpec.sma(50), IndicatorSpec.macd(12, 26, 9)), 5))
+                .thenReturn(Mono.just(Map.of("rsi(14)", points)));
+
+        Map<String, Object> result = callTool("indicators", Map.of("symbol", "ibm", "limit", 5,
+                "indicators", List.of("rsi", Map.of("name", "sma", "period", 50), Map.of("name", "MACD"))));
+
+        assertEquals("IBM", result.get("symbol"));
+        assertEquals(Map.of("rsi(14)", points), result.get("indicators"));
+    }
+
+    @Test
+    void testIndicators_RejectsInvalidArguments() {
+        when(stockQuoteService.isValidSymbol("IBM")).thenReturn(true);
+        config.getIndicators().setMaxIndicators(2);
+
+        assertEquals("Invalid indicators", callTool("indicators", Map.of("symbol", "IBM")).get("error"));
+        assertEquals("Invalid indicators",
+                callTool("indicators", Map.of("symbol", "IBM", "indicators", List.of("sma", "ema", "rsi"))).get("error"));
+        assertEquals("Invalid indicators",
+                callTool("indicators", Map.of("symbol", "IBM", "indicators", List.of("vwap"))).get("error"));
+        assertEquals("Invalid indicators", callTool("indicators", Map.of("symbol", "IBM",
+                "indicators", List.of(Map.of("name", "macd", "fast", 26, "slow", 12)))).get("error"));
+        assertEquals("Invalid indicators", callTool("indicators", Map.of("symbol", "IBM",
+                "indicators", List.of(Map.of("name", "sma", "period", 10_000)))).get("error"));
+        assertEquals("Invalid limit",
+                callTool("indicators", Map.of("symbol", "IBM", "indicators", List.of("rsi"), "limit", 0)).get("error"));
+    }
+}
@@ -0,0 +1,68 @@
+package org.tanzu.stock_price_mcp.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    record EchoArguments(
+        @McpToolParam(description = "Text to echo", required = true) String text,
+        @McpToolParam(description = "Times to repeat, at most ${echo.max}", schema = "{\"maximum\": ${echo.max}}")
+        int times
+    ) {
+    }
+
+    static class EchoTools {
+
+        @McpTool(name = "echo", description = "Echo text")
+        Mono<Map<String, Object>> echo(EchoArguments arguments) {
+            return Mono.just(Map.of("text", arguments.text().repeat(Math.max(1, arguments.times()))));
+        }
+    }
+
+    static class DuplicateTools extends EchoTools {
+
+        @McpTool(name = "echo", description = "Echo text again")
+        Mono<Map<String, Object>> echoAgain(EchoArguments arguments) {
+            return echo(arguments);
+        }
+    }
+
+    static class UntypedTools {
+
+        @McpTool(name = "untyped", description = "Takes a raw map")
+        Mono<Map<String, Object>> untyped(Map<String, Object> arguments) {
+            return Mono.just(arguments);
+        }
+    }
+
+    @Test
+    void testRegistry_DerivesSchemaAndBindsArguments() {
+        ToolRegistry registry = new ToolRegistry(new EchoTools(), objectMapper, Map.of("echo.max", 3));
+
+        assertEquals(List.of(new ToolRegistry.Tool("echo", "Echo text", "{\"type\":\"object\",\"properties\":{"
+                + "\"text\":{\"type\":\"string\",\"description\":\"Text to echo\"},"
+                + "\"times\":{\"type\":\"integer\",\"maximum\":3,\"description\":\"Times to repeat, at most 3\"}},"
+                + "\"required\":[\"text\"]}")), registry.tools());
+        assertEquals(Map.of("text", "abab"),
+                registry.call("echo", Map.of("text", "ab", "times", "2", "extra", true)).block());
+        assertEquals("Unknown tool", registry.call("shout", Map.of()).block().get("error"));
+        assertEquals("Invalid arguments", registry.call("echo", Map.of("times", List.of(1))).block().get("error"));
+    }
+
+    @Test
+    void testRegistry_RejectsInvalidDeclarations() {
+        assertThrows(IllegalStateException.class,
+                () -> new ToolRegistry(new DuplicateTools(), objectMapper, Map.of("echo.max", 3)));
+        assertThrows(IllegalStateException.class, () -> new ToolRegistry(new UntypedTools(), objectMapper, Map.of()));
+        assertThrows(IllegalStateException.class, () -> new ToolRegistry(new EchoTools(), objectMapper, Map.of()));
+    }
+}
@@ -0,0 +1,92 @@
+package org.tanzu.stock_price_mcp.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaVantageResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] payload(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/alphavantage/" + name)) {
+            assertNotNull(in, "Missing payload " + name);
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testDeserialize_GlobalQuoteIsTyped() throws IOException {
+        AlphaVantageResponse response = objectMapper.readValue(payload("global-quote-IBM.json"), AlphaVantageResponse.class);
+
+        GlobalQuote quote = response.getGlobalQuote();
+        assertNotNull(quote);
+        assertEquals("IBM", quote.symbol());
+        assertEquals(new BigDecimal("189.8400"), quote.price());
+        assertEquals(4105629L, quote.volume());
+        assertEquals(LocalDate.of(2025, 7, 25), quote.latestTradingDay());
+        assertEquals(new BigDecimal("0.5455"), quote.changePercent());
+        assertFalse(response.hasError());
+    }
+
+    @Test
+    void testDeserialize_MalformedQuoteValueIsParseError() {
+        String json = """
+                {"Global Quote": {"01. symbol": "IBM", "07. latest trading day": "-"}}""";
+
+        AlphaVantageException error = assertThrows(AlphaVantageException.class,
+                () -> objectMapper.readValue(json, AlphaVantageResponse.class));
+        assertEquals(AlphaVantageResponse.PARSE_ERROR, error.getErrorCode());
+    }
+
+    @Test
+    void testSerialize_KeepsAlphaVantageShape() throws IOException {
+        byte[] json = payload("global-quote-IBM.json");
+        AlphaVantageResponse response = objectMapper.readValue(json, AlphaVantageResponse.class);
+
+        JsonNode expected = objectMapper.readTree(json);
+        assertEquals(expected, objectMapper.valueToTree(response.getData()));
+    }
+
+    @Test
+    void testDeserialize_EmptyQuoteRoundTrips() throws IOException {
+        AlphaVantageResponse response = objectMapper.readValue("{\"Global Quote\": {}}", AlphaVantageResponse.class);
+
+        assertTrue(response.getGlobalQuote().isEmpty());
+        assertEquals("{\"Global Quote\":{}}", objectMapper.writeValueAsString(response.getData()));
+    }
+
+    @Test
+    void testDeserialize_OtherFunctionsStayRaw() throws IOException {
+        String json = """
+                {"Meta Data": {"2. Symbol": "IBM"}, "Time Series (Daily)": {"2025-07-25": {"1. open": "187.52"}}, "Tags": [1, 2]}""";
+
+        AlphaVantageResponse response = objectMapper.readValue(json, AlphaVantageResponse.class);
+
+        assertNull(response.getGlobalQuote());
+        assertEquals(Map.of("2. Symbol", "IBM"), response.getData().get("Meta Data"));
+        assertEquals(List.of(1, 2), response.getData().get("Tags"));
+    }
+
+    @Test
+    void testIsThrottled() throws IOException {
+        AlphaVantageResponse note = objectMapper.readValue("{\"Note\": \"Thank you for using Alpha Vantage!\"}",
+                AlphaVantageResponse.class);
+        AlphaVantageResponse error = objectMapper.readValue("{\"Error Message\": \"Invalid API call.\"}",
+                AlphaVantageResponse.class);
+
+        assertTrue(note.isThrottled());
+        assertTrue(error.hasError());
+        assertFalse(error.isThrottled());
+    }
+}
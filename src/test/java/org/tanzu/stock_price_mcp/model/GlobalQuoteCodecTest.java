@@ -0,0 +1,40 @@
+package org.tanzu.stock_price_mcp.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalQuoteCodecTest {
+
+    @Test
+    void testEncode_RoundTripsEveryField() {
+        GlobalQuote quote = new GlobalQuote("IBM", new BigDecimal("190.3694"), new BigDecimal("190.4170"),
+                new BigDecimal("189.3179"), new BigDecimal("189.8400"), 3872427, LocalDate.of(2025, 7, 25),
+                new BigDecimal("192.5400"), new BigDecimal("-2.7000"), new BigDecimal("-1.4023"));
+
+        byte[] encoded = GlobalQuoteCodec.encode(quote);
+
+        assertEquals(quote, GlobalQuoteCodec.decode(encoded));
+        assertTrue(encoded.length < 64, "Encoded quote took " + encoded.length + " bytes");
+    }
+
+    @Test
+    void testEncode_KeepsMissingFieldsAndHugeDecimals() {
+        GlobalQuote quote = new GlobalQuote("BRK.A", null, null, null,
+                new BigDecimal("123456789012345678901234567890.5"), 0, null, null, null, null);
+
+        assertEquals(quote, GlobalQuoteCodec.decode(GlobalQuoteCodec.encode(quote)));
+    }
+
+    @Test
+    void testDecode_RejectsUnknownVersion() {
+        byte[] encoded = GlobalQuoteCodec.encode(new GlobalQuote(null, null, null, null, null, 0,
+                null, null, null, null));
+        encoded[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> GlobalQuoteCodec.decode(encoded));
+    }
+}
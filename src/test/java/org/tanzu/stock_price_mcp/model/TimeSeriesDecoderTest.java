@@ -0,0 +1,102 @@
+package org.tanzu.stock_price_mcp.model;
+
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesDecoderTest {
+
+    private byte[] payload(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/alphavantage/" + name)) {
+            assertNotNull(in, "Missing payload " + name);
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Feed the payload in small chunks, splitting tokens across chunk boundaries
+     */
+    private static List<Bar> decode(TimeSeriesDecoder decoder, byte[] payload, int chunkSize) throws IOException {
+        List<Bar> bars = new ArrayList<>();
+        for (int offset = 0; offset < payload.length && !decoder.isDone(); offset += chunkSize) {
+            bars.addAll(decoder.decode(ByteBuffer.wrap(payload, offset, Math.min(chunkSize, payload.length - offset))));
+        }
+        bars.addAll(decoder.finish());
+        return bars;
+    }
+
+    @Test
+    void testDecode_ReadsEveryBarAcrossChunks() throws IOException {
+        TimeSeriesDecoder decoder = new TimeSeriesDecoder(TimeSeriesInterval.DAILY, null, null);
+
+        List<Bar> bars = decode(decoder, payload("time-series-daily-IBM.json"), 7);
+
+        assertEquals(100, bars.size());
+        assertEquals(new Bar(LocalDate.of(2025, 7, 25), 190.3694, 190.4170, 189.3179, 189.8400, 3872427), bars.get(0));
+        assertTrue(decoder.isSeriesSeen());
+        assertNull(decoder.errorMessage());
+    }
+
+    @Test
+    void testDecode_FiltersRangeAndStopsBeforeStart() throws IOException {
+        byte[] payload = payload("time-series-daily-IBM.json");
+        TimeSeriesDecoder decoder = new TimeSeriesDecoder(TimeSeriesInterval.DAILY,
+                LocalDate.of(2025, 7, 21), LocalDate.of(2025, 7, 24));
+
+        List<Bar> bars = new ArrayList<>();
+        int fed = 0;
+        while (fed < payload.length && !decoder.isDone()) {
+            int length = Math.min(64, payload.length - fed);
+            bars.addAll(decoder.decode(ByteBuffer.wrap(payload, fed, length)));
+            fed += length;
+        }
+        bars.addAll(decoder.finish());
+
+        assertEquals(List.of(LocalDate.of(2025, 7, 24), LocalDate.of(2025, 7, 23), LocalDate.of(2025, 7, 22),
+                LocalDate.of(2025, 7, 21)), bars.stream().map(Bar::date).toList());
+        assertTrue(fed < payload.length / 4, "Decoding should stop early, fed " + fed + " of " + payload.length);
+    }
+
+    @Test
+    void testDecode_ReportsThrottleNote() throws IOException {
+        TimeSeriesDecoder decoder = new TimeSeriesDecoder(TimeSeriesInterval.DAILY, null, null);
+
+        List<Bar> bars = decode(decoder, payload("throttle-note.json"), 16);
+
+        assertTrue(bars.isEmpty());
+        assertTrue(decoder.isThrottled());
+        assertTrue(decoder.errorMessage().startsWith("Thank you for using Alpha Vantage!"));
+        assertFalse(decoder.isSeriesSeen());
+    }
+
+    @Test
+    void testDecode_ReportsErrorMessage() throws IOException {
+        TimeSeriesDecoder decoder = new TimeSeriesDecoder(TimeSeriesInterval.WEEKLY, null, null);
+
+        decode(decoder, """
+                {"Error Message": "Invalid API call."}""".getBytes(StandardCharsets.UTF_8), 5);
+
+        assertEquals("Invalid API call.", decoder.errorMessage());
+        assertFalse(decoder.isThrottled());
+    }
+
+    @Test
+    void testDecode_MalformedBarValueIsParseError() {
+        TimeSeriesDecoder decoder = new TimeSeriesDecoder(TimeSeriesInterval.DAILY, null, null);
+        byte[] payload = """
+                {"Time Series (Daily)": {"2025-07-25": {"1. open": "None", "4. close": "189.84"}}}"""
+                .getBytes(StandardCharsets.UTF_8);
+
+        AlphaVantageException error = assertThrows(AlphaVantageException.class, () -> decode(decoder, payload, 16));
+        assertEquals(AlphaVantageResponse.PARSE_ERROR, error.getErrorCode());
+    }
+}
@@ -0,0 +1,41 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaVantageMetricsTest {
+
+    @Test
+    void testBindTo_ReadsComponentStats() {
+        AlphaVantageConfig config = new AlphaVantageConfig();
+        config.setKey("test-key-1234");
+        QuoteCache quoteCache = new QuoteCache(config);
+        ApiKeyPool apiKeyPool = new ApiKeyPool(List.of("test-key-1234", "other-key-1234"), Duration.ofSeconds(60),
+                System::nanoTime);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new AlphaVantageMetrics(quoteCache, new RequestCoalescer(), new AlphaVantageRateLimiter(config), apiKeyPool,
+                new QuoteSubscriptionService(null, config)).bindTo(registry);
+
+        quoteCache.put("IBM", new AlphaVantageResponse());
+        quoteCache.get("IBM");
+        quoteCache.get("AAPL");
+        apiKeyPool.nextKey();
+        apiKeyPool.markThrottled("other-key-1234");
+
+        assertEquals(1.0, registry.get("alphavantage.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("alphavantage.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("alphavantage.cache.size").gauge().value());
+        assertEquals(1.0, registry.get("alphavantage.keys.requests").tag("key", "0").functionCounter().count());
+        assertEquals(1.0, registry.get("alphavantage.keys.throttled").tag("key", "1").functionCounter().count());
+        assertEquals(1.0, registry.get("alphavantage.keys.cooling.down").tag("key", "1").gauge().value());
+        assertEquals(0.0, registry.get("alphavantage.ratelimit.queue.depth").gauge().value());
+        assertEquals(0.0, registry.get("alphavantage.subscriptions.symbols").gauge().value());
+    }
+}
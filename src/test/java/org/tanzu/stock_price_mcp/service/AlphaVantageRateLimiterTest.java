@@ -0,0 +1,83 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaVantageRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private AlphaVantageRateLimiter createLimiter(int perMinute, int perDay, int maxQueueDepth, Duration maxWait) {
+        AlphaVantageConfig.RateLimit settings = new AlphaVantageConfig.RateLimit();
+        settings.setRequestsPerMinute(perMinute);
+        settings.setRequestsPerDay(perDay);
+        settings.setMaxQueueDepth(maxQueueDepth);
+        settings.setMaxWait(maxWait);
+        return new AlphaVantageRateLimiter(settings, 1, now::get);
+    }
+
+    @Test
+    void testReserve_BurstThenQueuesInArrivalOrder() {
+        AlphaVantageRateLimiter limiter = createLimiter(2, 1000, 10, Duration.ofMinutes(5));
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(Duration.ofSeconds(30).toNanos(), limiter.reserve());
+        assertEquals(Duration.ofSeconds(60).toNanos(), limiter.reserve());
+        assertEquals(2, limiter.stats().queueDepth());
+    }
+
+    @Test
+    void testReserve_RefillsOverTime() {
+        AlphaVantageRateLimiter limiter = createLimiter(2, 1000, 10, Duration.ofMinutes(5));
+        limiter.reserve();
+        limiter.reserve();
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    void testReserve_DailyBucketApplies() {
+        AlphaVantageRateLimiter limiter = createLimiter(100, 1, 10, Duration.ofSeconds(30));
+        limiter.reserve();
+
+        AlphaVantageException ex = assertThrows(AlphaVantageException.class, limiter::reserve);
+        assertEquals(AlphaVantageRateLimiter.RATE_LIMITED, ex.getErrorCode());
+    }
+
+    @Test
+    void testReserve_ShedsWhenQueueFull() {
+        AlphaVantageRateLimiter limiter = createLimiter(1, 1000, 1, Duration.ofMinutes(5));
+        limiter.reserve();
+        limiter.reserve();
+
+        AlphaVantageException ex = assertThrows(AlphaVantageException.class, limiter::reserve);
+        assertEquals(AlphaVantageRateLimiter.RATE_LIMITED, ex.getErrorCode());
+        assertEquals(1, limiter.stats().rejected());
+        assertEquals(2, limiter.stats().granted());
+    }
+
+    @Test
+    void testAcquire_CancelledWaiterRefundsBothBuckets() {
+        AlphaVantageRateLimiter limiter = createLimiter(1, 1, 10, Duration.ofDays(3));
+        limiter.reserve();
+
+        Disposable waiting = limiter.acquire().subscribe();
+        assertEquals(1, limiter.stats().queueDepth());
+        waiting.dispose();
+
+        assertEquals(0, limiter.stats().queueDepth());
+        assertEquals(1, limiter.stats().granted());
+        // Without the refund the day bucket would put this caller two days out
+        assertEquals(Duration.ofDays(1).toNanos(), limiter.reserve());
+    }
+}
@@ -0,0 +1,546 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaVantageServiceTest {
+
+    private static final String IBM_QUOTE = """
+            {"Global Quote": {"01. symbol": "IBM", "05. price": "189.8400"}}""";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicInteger failingCalls = new AtomicInteger();
+    private final Set<Integer> refusedCalls = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Duration> callLatencies = new ConcurrentHashMap<>();
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> usedKeys = new CopyOnWriteArrayList<>();
+    private final List<URI> requestedUris = new CopyOnWriteArrayList<>();
+
+    private AlphaVantageConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private String responseBody;
+
+    @BeforeEach
+    void setUp() {
+        config = new AlphaVantageConfig();
+        config.setKey("test-key");
+        config.setBaseUrl("https://www.alphavantage.co/query");
+        meterRegistry = new SimpleMeterRegistry();
+        responseBody = IBM_QUOTE;
+        upstreamCalls.set(0);
+        usedKeys.clear();
+        requestedUris.clear();
+    }
+
+    private AlphaVantageService createService() {
+        return createService(Duration.ZERO);
+    }
+
+    private AlphaVantageService createService(Duration upstreamLatency) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    int call = upstreamCalls.incrementAndGet();
+                    if (refusedCalls.contains(call) || failingCalls.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                        return Mono.error(new ConnectException("Connection refused"));
+                    }
+                    requestedUris.add(request.url());
+                    usedKeys.add(UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst("apikey"));
+                    Mono<ClientResponse> response = Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(responseBody)
+                            .build());
+                    Duration latency = callLatencies.getOrDefault(call, upstreamLatency);
+                    return latency.isZero() ? response : response.delayElement(latency);
+                })
+                .build();
+        return new AlphaVantageService(webClient, config, new QuoteCache(config.getCache(), now::get),
+                new SharedQuoteCache(new InMemorySharedQuoteStore(), config, meterRegistry), new RequestCoalescer(),
+                new AlphaVantageRateLimiter(config), new ApiKeyPool(config), new UpstreamResilience(config), meterRegistry);
+    }
+
+    @Test
+    void testGetGlobalQuote_ServesRepeatedSymbolFromCache() {
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .assertNext(response -> assertTrue(response.getData().containsKey("Global Quote")))
+                .verifyComplete();
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .assertNext(response -> assertTrue(response.getData().containsKey("Global Quote")))
+                .verifyComplete();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_MalformedQuoteIsParseErrorAndNotRetried() {
+        responseBody = """
+                {"Global Quote": {"01. symbol": "IBM", "05. price": "None"}}""";
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .expectErrorSatisfies(error -> assertEquals(AlphaVantageResponse.PARSE_ERROR,
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_DoesNotCacheApiErrors() {
+        responseBody = """
+                {"Error Message": "Invalid API call. Please retry or visit the documentation for GLOBAL_QUOTE."}""";
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .expectError(AlphaVantageException.class)
+                .verify();
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .expectError(AlphaVantageException.class)
+                .verify();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_WhileRevalidateServesStaleAndRefreshes() {
+        config.getCache().setStaleMode(AlphaVantageConfig.Cache.StaleMode.WHILE_REVALIDATE);
+        AlphaVantageService service = createService();
+        service.getGlobalQuote("IBM").block();
+        now.addAndGet(Duration.ofSeconds(90).toNanos());
+        responseBody = """
+                {"Global Quote": {"01. symbol": "IBM", "05. price": "190.0000"}}""";
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .assertNext(response -> {
+                    assertTrue(response.isStale());
+                    assertEquals(Map.of("stale", true, "ageSeconds", 90L),
+                            response.getData().get(AlphaVantageResponse.STALENESS_FIELD));
+                    assertEquals(new BigDecimal("189.8400"), response.getGlobalQuote().price());
+                })
+                .verifyComplete();
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .assertNext(response -> {
+                    assertFalse(response.isStale());
+                    assertEquals(new BigDecimal("190.0000"), response.getGlobalQuote().price());
+                })
+                .verifyComplete();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_OnErrorServesStaleWhenThrottled() {
+        config.getCache().setStaleMode(AlphaVantageConfig.Cache.StaleMode.ON_ERROR);
+        AlphaVantageService service = createService();
+        service.getGlobalQuote("IBM").block();
+        now.addAndGet(Duration.ofSeconds(90).toNanos());
+        responseBody = """
+                {"Note": "Thank you for using Alpha Vantage! Please consider upgrading."}""";
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .assertNext(response -> assertTrue(response.isStale()))
+                .verifyComplete();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_NoStaleModeRefetchesExpiredQuote() {
+        AlphaVantageService service = createService();
+        service.getGlobalQuote("IBM").block();
+        now.addAndGet(Duration.ofSeconds(90).toNanos());
+        responseBody = """
+                {"Note": "Thank you for using Alpha Vantage! Please consider upgrading."}""";
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .expectError(AlphaVantageException.class)
+                .verify();
+    }
+
+    @Test
+    void testGetGlobalQuote_CacheDisabled() {
+        config.getCache().setEnabled(false);
+        AlphaVantageService service = createService();
+
+        service.getGlobalQuote("IBM").block();
+        service.getGlobalQuote("IBM").block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_CoalescesConcurrentCalls() {
+        config.getCache().setEnabled(false);
+        AlphaVantageService service = createService(Duration.ofMillis(200));
+
+        StepVerifier.create(Flux.range(0, 50).flatMap(i -> service.getGlobalQuote("TSLA")))
+                .expectNextCount(50)
+                .verifyComplete();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testCallAlphaVantageFunction_CoalescesOnlyIdenticalParams() {
+        AlphaVantageService service = createService(Duration.ofMillis(200));
+
+        StepVerifier.create(Flux.merge(
+                        service.callAlphaVantageFunction("TIME_SERIES_DAILY", "IBM", Map.of("outputsize", "compact")),
+                        service.callAlphaVantageFunction("TIME_SERIES_DAILY", "ibm", Map.of("outputsize", "compact")),
+                        service.callAlphaVantageFunction("TIME_SERIES_DAILY", "IBM", Map.of("outputsize", "full"))))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_ShedsLoadWhenRateLimited() {
+        config.getCache().setEnabled(false);
+        config.getRateLimit().setRequestsPerMinute(1);
+        config.getRateLimit().setMaxWait(Duration.ofSeconds(5));
+        AlphaVantageService service = createService();
+
+        service.getGlobalQuote("IBM").block();
+
+        StepVerifier.create(service.getGlobalQuote("AAPL"))
+                .expectErrorSatisfies(error -> assertEquals(AlphaVantageRateLimiter.RATE_LIMITED,
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_SpreadsCallsAcrossKeyPool() {
+        config.getCache().setEnabled(false);
+        config.setKeys(List.of("key-two", "key-three"));
+        AlphaVantageService service = createService();
+
+        service.getGlobalQuote("IBM").block();
+        service.getGlobalQuote("AAPL").block();
+        service.getGlobalQuote("MSFT").block();
+        service.getGlobalQuote("GOOGL").block();
+
+        assertEquals(List.of("test-key", "key-two", "key-three", "test-key"), usedKeys);
+    }
+
+    @Test
+    void testGetGlobalQuote_CoolsDownThrottledKey() {
+        config.getCache().setEnabled(false);
+        config.setKeys(List.of("key-two"));
+        responseBody = """
+                {"Note": "Thank you for using Alpha Vantage! Please consider upgrading."}""";
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .expectErrorSatisfies(error -> assertEquals(AlphaVantageRateLimiter.RATE_LIMITED,
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+        responseBody = IBM_QUOTE;
+        service.getGlobalQuote("AAPL").block();
+        service.getGlobalQuote("MSFT").block();
+
+        assertEquals(List.of("test-key", "key-two", "key-two"), usedKeys);
+    }
+
+    @Test
+    void testGetGlobalQuote_UsesConfiguredBaseUrl() {
+        config.setBaseUrl("http://localhost:8089/query");
+        AlphaVantageService service = createService();
+
+        service.getGlobalQuote("IBM").block();
+
+        URI uri = requestedUris.get(0);
+        assertEquals("http", uri.getScheme());
+        assertEquals("localhost", uri.getHost());
+        assertEquals(8089, uri.getPort());
+        assertEquals("/query", uri.getPath());
+        assertTrue(uri.getQuery().contains("function=GLOBAL_QUOTE"));
+        assertTrue(uri.getQuery().contains("symbol=IBM"));
+    }
+
+    @Test
+    void testGetGlobalQuote_BatchesConcurrentSymbolsIntoBulkCall() {
+        config.getBatching().setEnabled(true);
+        config.getBatching().setWindow(Duration.ofMillis(20));
+        responseBody = """
+                {"endpoint": "Realtime Bulk Quotes", "data": [
+                  {"symbol": "IBM", "timestamp": "2025-07-22 16:00:00.000", "close": "189.8400", "volume": "1200"},
+                  {"symbol": "AAPL", "timestamp": "2025-07-22 16:00:00.000", "close": "212.4800", "volume": "3400"}
+                ]}""";
+        AlphaVantageService service = createService();
+
+        var quotes = Mono.zip(service.getGlobalQuote("IBM"), service.getGlobalQuote("AAPL")).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertTrue(requestedUris.get(0).getQuery().contains("function=REALTIME_BULK_QUOTES"));
+        assertEquals(new BigDecimal("189.8400"), quotes.getT1().getGlobalQuote().price());
+        assertEquals(new BigDecimal("212.4800"), quotes.getT2().getGlobalQuote().price());
+    }
+
+    @Test
+    void testGetGlobalQuote_RecordsUpstreamMetrics() {
+        config.getCache().setEnabled(false);
+        AlphaVantageService service = createService();
+
+        service.getGlobalQuote("IBM").block();
+        responseBody = """
+                {"Error Message": "Invalid API call."}""";
+        StepVerifier.create(service.getGlobalQuote("BAD"))
+                .expectError(AlphaVantageException.class)
+                .verify();
+
+        assertEquals(1, meterRegistry.get(AlphaVantageService.UPSTREAM_TIMER)
+                .tags("function", "GLOBAL_QUOTE", "outcome", "SUCCESS", "status", "200").timer().count());
+        assertEquals(1, meterRegistry.get(AlphaVantageService.UPSTREAM_TIMER)
+                .tags("function", "GLOBAL_QUOTE", "outcome", "API_ERROR").timer().count());
+        assertEquals(1.0, meterRegistry.get(AlphaVantageService.ERROR_COUNTER)
+                .tags("function", "GLOBAL_QUOTE", "code", "API_ERROR").counter().count());
+        assertEquals(0.0, meterRegistry.get(AlphaVantageService.UPSTREAM_ACTIVE).gauge().value());
+    }
+
+    @Test
+    void testGetGlobalQuote_RetriesNetworkErrors() {
+        config.getResilience().setRetryBackoff(Duration.ofMillis(1));
+        failingCalls.set(2);
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .assertNext(response -> assertEquals("IBM", response.getGlobalQuote().symbol()))
+                .verifyComplete();
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(2.0, meterRegistry.get(AlphaVantageService.RETRY_COUNTER)
+                .tag("function", "GLOBAL_QUOTE").counter().count());
+    }
+
+    @Test
+    void testGetGlobalQuote_GivesUpAfterMaxRetries() {
+        config.getResilience().setRetryBackoff(Duration.ofMillis(1));
+        failingCalls.set(10);
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .expectErrorSatisfies(error -> assertEquals("NETWORK_ERROR",
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_DoesNotRetryApiErrors() {
+        config.getResilience().setRetryBackoff(Duration.ofMillis(1));
+        responseBody = """
+                {"Error Message": "Invalid API call."}""";
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .expectError(AlphaVantageException.class)
+                .verify();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_OpenCircuitFailsFast() {
+        config.getCache().setEnabled(false);
+        config.getResilience().setMaxRetries(0);
+        config.getResilience().setSlidingWindow(2);
+        config.getResilience().setMinimumCalls(2);
+        failingCalls.set(10);
+        AlphaVantageService service = createService();
+
+        for (String symbol : List.of("IBM", "AAPL")) {
+            StepVerifier.create(service.getGlobalQuote(symbol))
+                    .expectErrorSatisfies(error -> assertEquals("NETWORK_ERROR",
+                            ((AlphaVantageException) error).getErrorCode()))
+                    .verify();
+        }
+        StepVerifier.create(service.getGlobalQuote("MSFT"))
+                .expectErrorSatisfies(error -> assertEquals(UpstreamResilience.CIRCUIT_OPEN,
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_OpenCircuitServesStaleQuote() {
+        config.getCache().setStaleMode(AlphaVantageConfig.Cache.StaleMode.ON_ERROR);
+        config.getResilience().setMaxRetries(0);
+        config.getResilience().setSlidingWindow(2);
+        config.getResilience().setMinimumCalls(1);
+        AlphaVantageService service = createService();
+        service.getGlobalQuote("IBM").block();
+        failingCalls.set(10);
+        StepVerifier.create(service.getGlobalQuote("AAPL"))
+                .expectError(AlphaVantageException.class)
+                .verify();
+        now.addAndGet(Duration.ofSeconds(90).toNanos());
+
+        StepVerifier.create(service.getGlobalQuote("IBM"))
+                .assertNext(response -> assertTrue(response.isStale()))
+                .verifyComplete();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetGlobalQuote_HedgesSlowCall() {
+        config.getCache().setEnabled(false);
+        config.getResilience().setHedgingEnabled(true);
+        config.getResilience().setMinLatencySamples(1);
+        callLatencies.put(2, Duration.ofSeconds(10));
+        AlphaVantageService service = createService();
+        service.getGlobalQuote("IBM").block();
+
+        Duration elapsed = StepVerifier.create(service.getGlobalQuote("AAPL"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "hedge should win, took " + elapsed);
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get(AlphaVantageService.HEDGE_COUNTER)
+                .tag("function", "GLOBAL_QUOTE").counter().count());
+    }
+
+    @Test
+    void testGetGlobalQuote_FailedHedgeDoesNotFailTheCall() {
+        config.getCache().setEnabled(false);
+        config.getResilience().setHedgingEnabled(true);
+        config.getResilience().setMinLatencySamples(1);
+        config.getResilience().setMaxRetries(0);
+        callLatencies.put(2, Duration.ofMillis(500));
+        refusedCalls.add(3);
+        AlphaVantageService service = createService();
+        service.getGlobalQuote("IBM").block();
+
+        StepVerifier.create(service.getGlobalQuote("AAPL"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void testStreamTimeSeries_DecodesBarsInRange() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/alphavantage/time-series-daily-IBM.json")) {
+            responseBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        AlphaVantageService service = createService();
+
+        List<Bar> bars = service.streamTimeSeries(TimeSeriesInterval.DAILY, "ibm", "compact",
+                LocalDate.of(2025, 7, 24), null).collectList().block();
+
+        assertEquals(List.of(LocalDate.of(2025, 7, 25), LocalDate.of(2025, 7, 24)), bars.stream().map(Bar::date).toList());
+        assertTrue(requestedUris.get(0).getQuery().contains("function=TIME_SERIES_DAILY"));
+        assertTrue(requestedUris.get(0).getQuery().contains("outputsize=compact"));
+    }
+
+    @Test
+    void testStreamTimeSeries_ThrottleNoteCoolsDownKey() {
+        config.setKeys(List.of("key-two"));
+        responseBody = """
+                {"Note": "Thank you for using Alpha Vantage! Please consider upgrading."}""";
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "compact", null, null))
+                .expectErrorSatisfies(error -> assertEquals(AlphaVantageRateLimiter.RATE_LIMITED,
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+        responseBody = IBM_QUOTE;
+        service.getGlobalQuote("AAPL").block();
+
+        assertEquals(List.of("test-key", "key-two"), usedKeys);
+        assertEquals(1, meterRegistry.get(AlphaVantageService.UPSTREAM_TIMER)
+                .tags("function", "TIME_SERIES_DAILY", "outcome", AlphaVantageRateLimiter.RATE_LIMITED).timer().count());
+    }
+
+    @Test
+    void testStreamTimeSeries_MalformedBarIsParseErrorAndNotRetried() {
+        responseBody = """
+                {"Time Series (Daily)": {"2025-07-25": {"1. open": "-", "4. close": "189.84"}}}""";
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "compact", null, null))
+                .expectErrorSatisfies(error -> assertEquals(AlphaVantageResponse.PARSE_ERROR,
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testStreamTimeSeries_MissingSeriesIsApiError() {
+        AlphaVantageService service = createService();
+
+        StepVerifier.create(service.streamTimeSeries(TimeSeriesInterval.WEEKLY, "IBM", "compact", null, null))
+                .expectErrorSatisfies(error -> assertEquals("API_ERROR", ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+    }
+
+    @Test
+    void testStreamTimeSeries_MaxTimeoutBoundsTheWholeDownload() throws IOException {
+        String body;
+        try (InputStream in = getClass().getResourceAsStream("/alphavantage/time-series-daily-IBM.json")) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        int chunkSize = body.length() / 6 + 1;
+        Flux<String> chunks = Flux.range(0, 6)
+                .map(i -> body.substring(Math.min(body.length(), i * chunkSize), Math.min(body.length(), (i + 1) * chunkSize)))
+                .delayElements(Duration.ofMillis(150));
+        config.getResilience().setMaxTimeout(Duration.ofMillis(500));
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(chunks.map(chunk -> DefaultDataBufferFactory.sharedInstance
+                                .wrap(chunk.getBytes(StandardCharsets.UTF_8))))
+                        .build()))
+                .build();
+        AlphaVantageService service = new AlphaVantageService(webClient, config, new QuoteCache(config.getCache(), now::get),
+                new SharedQuoteCache(new InMemorySharedQuoteStore(), config, meterRegistry), new RequestCoalescer(),
+                new AlphaVantageRateLimiter(config), new ApiKeyPool(config), new UpstreamResilience(config), meterRegistry);
+
+        // every chunk arrives well within max-timeout, the whole body does not
+        StepVerifier.create(service.streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "compact", null, null))
+                .thenConsumeWhile(bar -> true)
+                .expectErrorSatisfies(error -> assertEquals("NETWORK_ERROR", ((AlphaVantageException) error).getErrorCode()))
+                .verify(Duration.ofSeconds(5));
+    }
+}
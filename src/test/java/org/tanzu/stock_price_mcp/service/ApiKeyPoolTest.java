@@ -0,0 +1,48 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyPoolTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testNextKey_RotatesLeastRecentlyUsed() {
+        ApiKeyPool pool = new ApiKeyPool(List.of("alpha", "bravo", "charlie"), Duration.ofSeconds(60), now::get);
+
+        assertEquals("alpha", pool.nextKey());
+        assertEquals("bravo", pool.nextKey());
+        assertEquals("charlie", pool.nextKey());
+        assertEquals("alpha", pool.nextKey());
+    }
+
+    @Test
+    void testMarkThrottled_SkipsKeyUntilCooldownEnds() {
+        ApiKeyPool pool = new ApiKeyPool(List.of("alpha", "bravo"), Duration.ofSeconds(60), now::get);
+        pool.markThrottled("alpha");
+
+        assertEquals("bravo", pool.nextKey());
+        assertEquals("bravo", pool.nextKey());
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertEquals("alpha", pool.nextKey());
+    }
+
+    @Test
+    void testNextKey_AllKeysCoolingDown() {
+        ApiKeyPool pool = new ApiKeyPool(List.of("alpha"), Duration.ofSeconds(60), now::get);
+        pool.markThrottled("alpha");
+
+        AlphaVantageException ex = assertThrows(AlphaVantageException.class, pool::nextKey);
+        assertEquals(AlphaVantageRateLimiter.RATE_LIMITED, ex.getErrorCode());
+        assertEquals(1, pool.stats().get(0).throttled());
+        assertEquals("****lpha", pool.stats().get(0).key());
+    }
+}
@@ -0,0 +1,145 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarStoreTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final Instant FETCHED = Instant.parse("2025-07-25T20:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private static List<Bar> bars(int fromDay, int count) {
+        List<Bar> bars = new ArrayList<>();
+        for (int i = fromDay; i < fromDay + count; i++) {
+            bars.add(new Bar(START.plusDays(i), 100 + i, 101 + i, 99 + i, 100.5 + i, 1000L + i));
+        }
+        return bars;
+    }
+
+    @Test
+    void testQuery_ReturnsRangeOldestFirst() {
+        BarStore store = new BarStore(directory, 16);
+        store.merge("IBM", TimeSeriesInterval.DAILY, bars(0, 10), FETCHED);
+
+        List<Bar> range = store.query("IBM", TimeSeriesInterval.DAILY, START.plusDays(2), START.plusDays(5), 100);
+
+        assertEquals(bars(2, 4), range);
+        assertEquals(List.of(), store.query("IBM", TimeSeriesInterval.WEEKLY, null, null, 100));
+    }
+
+    @Test
+    void testQuery_LimitKeepsMostRecentBars() {
+        BarStore store = new BarStore(directory, 16);
+        store.merge("IBM", TimeSeriesInterval.DAILY, bars(0, 10), FETCHED);
+
+        assertEquals(bars(7, 3), store.query("IBM", TimeSeriesInterval.DAILY, null, null, 3));
+    }
+
+    @Test
+    void testMerge_AppendsNewerAndReplacesLastBar() {
+        BarStore store = new BarStore(directory, 16);
+        store.merge("IBM", TimeSeriesInterval.DAILY, bars(0, 5), FETCHED);
+        Bar revised = new Bar(START.plusDays(4), 1, 2, 3, 4, 5);
+        List<Bar> update = new ArrayList<>(bars(2, 2));
+        update.add(revised);
+        update.addAll(bars(5, 2));
+
+        int appended = store.merge("IBM", TimeSeriesInterval.DAILY, update, FETCHED.plusSeconds(60));
+
+        assertEquals(2, appended);
+        assertEquals(7, store.size("IBM", TimeSeriesInterval.DAILY));
+        assertEquals(revised, store.query("IBM", TimeSeriesInterval.DAILY, START.plusDays(4), START.plusDays(4), 1).get(0));
+        assertEquals(START.plusDays(6), store.lastDate("IBM", TimeSeriesInterval.DAILY));
+        assertEquals(FETCHED.plusSeconds(60), store.lastFetched("IBM", TimeSeriesInterval.DAILY));
+    }
+
+    @Test
+    void testMerge_GrowsPastInitialCapacity() {
+        BarStore store = new BarStore(directory, 16);
+        int count = BarStore.INITIAL_CAPACITY * 2 + 10;
+        store.merge("IBM", TimeSeriesInterval.DAILY, bars(0, BarStore.INITIAL_CAPACITY - 1), FETCHED);
+        store.merge("IBM", TimeSeriesInterval.DAILY, bars(BarStore.INITIAL_CAPACITY - 1, count - BarStore.INITIAL_CAPACITY + 1), FETCHED);
+
+        assertEquals(count, store.size("IBM", TimeSeriesInterval.DAILY));
+        assertEquals(bars(0, count), store.query("IBM", TimeSeriesInterval.DAILY, null, null, count));
+    }
+
+    @Test
+    void testOpen_ReadsBarsWrittenByEarlierInstance() {
+        new BarStore(directory, 16).merge("IBM", TimeSeriesInterval.DAILY, bars(0, 3), FETCHED);
+
+        BarStore reopened = new BarStore(directory, 16);
+
+        assertEquals(bars(0, 3), reopened.query("IBM", TimeSeriesInterval.DAILY, null, null, 10));
+        assertEquals(FETCHED, reopened.lastFetched("IBM", TimeSeriesInterval.DAILY));
+        assertNull(reopened.lastFetched("AAPL", TimeSeriesInterval.DAILY));
+        assertNull(reopened.lastDate("AAPL", TimeSeriesInterval.DAILY));
+    }
+
+    @Test
+    void testMerge_ReplacesBarOfCurrentWeekAndMonth() {
+        BarStore store = new BarStore(directory, 16);
+        LocalDate wednesday = LocalDate.of(2025, 7, 23);
+        LocalDate friday = wednesday.with(DayOfWeek.FRIDAY);
+        Bar closedWeek = new Bar(LocalDate.of(2025, 7, 18), 1, 1, 1, 1, 1);
+        store.merge("IBM", TimeSeriesInterval.WEEKLY, List.of(closedWeek, new Bar(wednesday, 2, 2, 2, 2, 2)), FETCHED);
+
+        Bar fridayBar = new Bar(friday, 3, 3, 3, 3, 3);
+        int appended = store.merge("IBM", TimeSeriesInterval.WEEKLY, List.of(fridayBar), FETCHED.plusSeconds(60));
+
+        assertEquals(0, appended);
+        assertEquals(List.of(closedWeek, fridayBar), store.query("IBM", TimeSeriesInterval.WEEKLY, null, null, 10));
+
+        store.merge("IBM", TimeSeriesInterval.MONTHLY, List.of(new Bar(wednesday, 2, 2, 2, 2, 2)), FETCHED);
+        store.merge("IBM", TimeSeriesInterval.MONTHLY, List.of(fridayBar, new Bar(LocalDate.of(2025, 8, 1), 4, 4, 4, 4, 4)),
+                FETCHED);
+        assertEquals(2, store.size("IBM", TimeSeriesInterval.MONTHLY));
+        // Daily bars on different days are distinct
+        store.merge("IBM", TimeSeriesInterval.DAILY, List.of(new Bar(wednesday, 2, 2, 2, 2, 2), fridayBar), FETCHED);
+        assertEquals(2, store.size("IBM", TimeSeriesInterval.DAILY));
+    }
+
+    @Test
+    void testReads_DoNotCreateFilesForUnknownSeries() {
+        BarStore store = new BarStore(directory, 16);
+
+        assertNull(store.lastFetched("NOPE", TimeSeriesInterval.DAILY));
+        assertNull(store.lastDate("NOPE", TimeSeriesInterval.DAILY));
+        assertEquals(0, store.size("NOPE", TimeSeriesInterval.DAILY));
+        assertEquals(List.of(), store.query("NOPE", TimeSeriesInterval.DAILY, null, null, 10));
+
+        assertFalse(Files.exists(directory.resolve("NOPE-daily.bars")));
+        assertEquals(0, store.openFiles());
+    }
+
+    @Test
+    void testOpenFiles_EvictsLeastRecentlyUsed() {
+        BarStore store = new BarStore(directory, 2);
+        store.merge("IBM", TimeSeriesInterval.DAILY, bars(0, 3), FETCHED);
+        store.merge("AAPL", TimeSeriesInterval.DAILY, bars(0, 4), FETCHED);
+        store.size("IBM", TimeSeriesInterval.DAILY);
+
+        store.merge("MSFT", TimeSeriesInterval.DAILY, bars(0, 5), FETCHED);
+
+        assertEquals(2, store.openFiles());
+        // The evicted file is mapped again with its bars intact
+        assertEquals(bars(0, 4), store.query("AAPL", TimeSeriesInterval.DAILY, null, null, 10));
+        assertEquals(3, store.size("IBM", TimeSeriesInterval.DAILY));
+        assertEquals(2, store.openFiles());
+    }
+}
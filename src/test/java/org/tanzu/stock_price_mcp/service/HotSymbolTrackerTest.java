@@ -0,0 +1,34 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotSymbolTrackerTest {
+
+    @Test
+    void testTop_RanksByRequestCount() {
+        HotSymbolTracker tracker = new HotSymbolTracker();
+        tracker.record("AAPL");
+        tracker.record("IBM");
+        tracker.record("IBM");
+        tracker.record("MSFT");
+
+        assertEquals(List.of("IBM", "AAPL"), tracker.top(2));
+    }
+
+    @Test
+    void testDecay_ForgetsRarelyRequestedSymbols() {
+        HotSymbolTracker tracker = new HotSymbolTracker();
+        tracker.record("IBM");
+        tracker.record("IBM");
+        tracker.record("AAPL");
+
+        tracker.decay();
+
+        assertEquals(List.of("IBM"), tracker.top(10));
+        assertEquals(1, tracker.size());
+    }
+}
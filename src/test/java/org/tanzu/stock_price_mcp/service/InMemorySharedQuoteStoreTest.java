@@ -0,0 +1,37 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemorySharedQuoteStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final InMemorySharedQuoteStore store = new InMemorySharedQuoteStore(now::get);
+
+    @Test
+    void testTryLock_OnlyOwnerUnlocksAndLocksExpire() {
+        assertTrue(store.tryLock("lock", "a", Duration.ofSeconds(10)).block());
+        assertFalse(store.tryLock("lock", "b", Duration.ofSeconds(10)).block());
+
+        store.unlock("lock", "b").block();
+        assertFalse(store.tryLock("lock", "b", Duration.ofSeconds(10)).block());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(store.tryLock("lock", "b", Duration.ofSeconds(10)).block());
+        store.unlock("lock", "b").block();
+        assertTrue(store.tryLock("lock", "a", Duration.ofSeconds(10)).block());
+    }
+
+    @Test
+    void testGet_ExpiresAfterTtl() {
+        store.put("quote", new byte[]{1, 2}, Duration.ofSeconds(60)).block();
+        assertArrayEquals(new byte[]{1, 2}, store.get("quote").block());
+
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertNull(store.get("quote").block());
+    }
+}
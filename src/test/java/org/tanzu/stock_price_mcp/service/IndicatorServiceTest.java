@@ -0,0 +1,206 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.IndicatorSpec;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndicatorServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-07-25T21:00:00Z");
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final List<IndicatorSpec> ALL = List.of(IndicatorSpec.sma(5), IndicatorSpec.ema(5),
+            IndicatorSpec.rsi(3), IndicatorSpec.macd(3, 6, 4), IndicatorSpec.bollinger(5, 2));
+
+    @Mock
+    private AlphaVantageService alphaVantageService;
+
+    @TempDir
+    Path directory;
+
+    private BarStore barStore;
+
+    @BeforeEach
+    void setUp() {
+        barStore = new BarStore(directory, 16);
+    }
+
+    private IndicatorService createService() {
+        TimeSeriesService timeSeriesService = new TimeSeriesService(alphaVantageService, barStore,
+                new RequestCoalescer(), Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        return new IndicatorService(timeSeriesService, barStore, 10);
+    }
+
+    private static List<Bar> bars(int from, double... closes) {
+        List<Bar> bars = new ArrayList<>();
+        for (int i = 0; i < closes.length; i++) {
+            double close = closes[i];
+            bars.add(new Bar(FIRST_DAY.plusDays(from + i), close, close, close, close, 1000));
+        }
+        return bars;
+    }
+
+    private void store(List<Bar> bars) {
+        barStore.merge("IBM", TimeSeriesInterval.DAILY, bars, NOW);
+    }
+
+    private Map<String, List<Map<String, Object>>> compute(IndicatorService service, List<IndicatorSpec> specs,
+                                                          int limit) {
+        return service.getIndicators("IBM", TimeSeriesInterval.DAILY, specs, limit).block();
+    }
+
+    private static double[] closes(int count) {
+        double[] closes = new double[count];
+        for (int i = 0; i < count; i++) {
+            closes[i] = 100 + 10 * Math.sin(i / 3.0) + i * 0.5;
+        }
+        return closes;
+    }
+
+    @Test
+    void testGetIndicators_ComputesKnownValues() {
+        store(bars(0, 1, 2, 3, 4, 5, 6, 5, 4));
+
+        Map<String, List<Map<String, Object>>> result = compute(createService(),
+                List.of(IndicatorSpec.sma(3), IndicatorSpec.rsi(3), IndicatorSpec.bollinger(3, 2)), 100);
+
+        List<Map<String, Object>> sma = result.get("sma(3)");
+        assertEquals(6, sma.size());
+        assertEquals("2025-01-03", sma.get(0).get("date"));
+        assertEquals(2.0, sma.get(0).get("sma"));
+        assertEquals(5.0, sma.get(5).get("sma"));
+        List<Map<String, Object>> rsi = result.get("rsi(3)");
+        assertEquals("2025-01-04", rsi.get(0).get("date"));
+        assertEquals(100.0, rsi.get(0).get("rsi"));
+        // Wilder smoothing over the two falling days: gain 1 -> 2/3 -> 4/9, loss 0 -> 1/3 -> 5/9
+        assertEquals(100 - 100 / (1 + (4.0 / 9) / (5.0 / 9)), (double) rsi.get(4).get("rsi"), 1e-9);
+        Map<String, Object> band = result.get("bollinger(3,2.0)").get(0);
+        assertEquals(2.0, band.get("middle"));
+        assertEquals(2 + 2 * Math.sqrt(2.0 / 3), (double) band.get("upper"), 1e-9);
+        assertEquals(2 - 2 * Math.sqrt(2.0 / 3), (double) band.get("lower"), 1e-9);
+    }
+
+    @Test
+    void testGetIndicators_MacdMatchesDirectEmaComputation() {
+        double[] closes = closes(40);
+        store(bars(0, closes));
+
+        List<Map<String, Object>> macd = compute(createService(), List.of(IndicatorSpec.macd(3, 6, 4)), 1)
+                .get("macd(3,6,4)");
+
+        IndicatorCalculator.Ema fast = new IndicatorCalculator.Ema(3);
+        IndicatorCalculator.Ema slow = new IndicatorCalculator.Ema(6);
+        IndicatorCalculator.Ema signal = new IndicatorCalculator.Ema(4);
+        double line = Double.NaN;
+        double signalValue = Double.NaN;
+        for (double close : closes) {
+            line = fast.next(close) - slow.next(close);
+            if (!Double.isNaN(line)) {
+                signalValue = signal.next(line);
+            }
+        }
+        assertEquals(line, (double) macd.get(0).get("macd"), 1e-9);
+        assertEquals(signalValue, (double) macd.get(0).get("signal"), 1e-9);
+        assertEquals(line - signalValue, (double) macd.get(0).get("histogram"), 1e-9);
+    }
+
+    @Test
+    void testGetIndicators_IncrementalUpdatesMatchFullRecompute() {
+        double[] closes = closes(60);
+        IndicatorService incremental = createService();
+        store(bars(0, Arrays.copyOfRange(closes, 0, 30)));
+        compute(incremental, ALL, 100);
+        for (int day = 30; day < 60; day += 7) {
+            int end = Math.min(60, day + 7);
+            store(bars(day, Arrays.copyOfRange(closes, day, end)));
+            compute(incremental, ALL, 100);
+        }
+
+        assertEquals(compute(createService(), ALL, 100), compute(incremental, ALL, 100));
+    }
+
+    @Test
+    void testGetIndicators_RecomputesReplacedLatestBar() {
+        double[] closes = closes(30);
+        IndicatorService service = createService();
+        store(bars(0, closes));
+        compute(service, ALL, 10);
+
+        // The latest daily bar is provisional until the day closes
+        store(bars(29, closes[29] + 7));
+        Map<String, List<Map<String, Object>>> updated = compute(service, ALL, 10);
+
+        assertEquals(compute(createService(), ALL, 10), updated);
+        List<Map<String, Object>> sma = updated.get("sma(5)");
+        double expected = (closes[25] + closes[26] + closes[27] + closes[28] + closes[29] + 7) / 5;
+        assertEquals(expected, (double) sma.get(sma.size() - 1).get("sma"), 1e-9);
+    }
+
+    @Test
+    void testGetIndicators_AddsIndicatorToExistingSeries() {
+        double[] closes = closes(30);
+        IndicatorService service = createService();
+        store(bars(0, Arrays.copyOfRange(closes, 0, 20)));
+        compute(service, List.of(IndicatorSpec.sma(5)), 100);
+        store(bars(20, Arrays.copyOfRange(closes, 20, 30)));
+        compute(service, List.of(IndicatorSpec.sma(5)), 100);
+
+        assertEquals(compute(createService(), ALL, 100), compute(service, ALL, 100));
+        verifyNoInteractions(alphaVantageService);
+    }
+
+    @Test
+    void testGetIndicators_FetchesBarsOnceForManyIndicators() {
+        double[] closes = closes(100);
+        List<Bar> newestFirst = bars(0, closes).reversed();
+        when(alphaVantageService.streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "full", null, null))
+                .thenReturn(Flux.fromIterable(newestFirst));
+        List<IndicatorSpec> ten = List.of(IndicatorSpec.sma(5), IndicatorSpec.sma(20), IndicatorSpec.sma(50),
+                IndicatorSpec.ema(12), IndicatorSpec.ema(26), IndicatorSpec.rsi(14), IndicatorSpec.rsi(7),
+                IndicatorSpec.macd(12, 26, 9), IndicatorSpec.bollinger(20, 2), IndicatorSpec.bollinger(20, 1.5));
+
+        Map<String, List<Map<String, Object>>> result = createService()
+                .getIndicators(" ibm ", TimeSeriesInterval.DAILY, ten, 5).block();
+
+        assertEquals(10, result.size());
+        result.values().forEach(points -> assertEquals(5, points.size()));
+        verify(alphaVantageService, times(1)).streamTimeSeries(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testParse_AppliesDefaultsAndRejectsInvalidSpecs() {
+        assertEquals(IndicatorSpec.rsi(14), IndicatorSpec.parse("RSI"));
+        assertEquals(IndicatorSpec.macd(12, 26, 9), IndicatorSpec.parse(Map.of("name", "macd")));
+        assertEquals(IndicatorSpec.bollinger(10, 2.5),
+                IndicatorSpec.parse(Map.of("name", "bollinger", "period", 10, "deviations", "2.5")));
+        assertThrows(IllegalArgumentException.class, () -> IndicatorSpec.parse("vwap"));
+        assertThrows(IllegalArgumentException.class, () -> IndicatorSpec.parse(Map.of("name", "sma", "period", 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> IndicatorSpec.parse(Map.of("name", "macd", "fast", 26, "slow", 12)));
+    }
+}
@@ -0,0 +1,173 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteBatcherTest {
+
+    private final List<List<String>> bulkCalls = new CopyOnWriteArrayList<>();
+    private final List<String> singleCalls = new CopyOnWriteArrayList<>();
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AlphaVantageConfig.Batching settings;
+    private Mono<AlphaVantageResponse> bulkResult;
+
+    @BeforeEach
+    void setUp() {
+        settings = new AlphaVantageConfig.Batching();
+        settings.setEnabled(true);
+        settings.setWindow(Duration.ofMillis(50));
+        settings.setMaxBatchSize(3);
+        bulkResult = null;
+    }
+
+    private QuoteBatcher createBatcher() {
+        return new QuoteBatcher(settings, symbols -> {
+            bulkCalls.add(symbols);
+            return bulkResult != null ? bulkResult : Mono.just(bulkResponse(symbols));
+        }, symbol -> {
+            singleCalls.add(symbol);
+            AlphaVantageResponse response = new AlphaVantageResponse();
+            response.setData(GlobalQuote.FIELD, new GlobalQuote(symbol, null, null, null, BigDecimal.ONE, 0,
+                    null, null, null, null));
+            return Mono.just(response);
+        }, meterRegistry, scheduler);
+    }
+
+    private static AlphaVantageResponse bulkResponse(List<String> symbols) {
+        List<Map<String, String>> data = new ArrayList<>();
+        for (String symbol : symbols) {
+            data.add(Map.of("symbol", symbol, "timestamp", "2025-07-22 16:00:00.000", "close", "100.50",
+                    "volume", "1200", "change_percent", "0.25"));
+        }
+        AlphaVantageResponse response = new AlphaVantageResponse();
+        response.setData("endpoint", "Realtime Bulk Quotes");
+        response.setData("data", data);
+        return response;
+    }
+
+    private static <T> List<T> collect(List<Mono<T>> monos) {
+        List<T> results = new CopyOnWriteArrayList<>();
+        monos.forEach(mono -> mono.subscribe(results::add));
+        return results;
+    }
+
+    @Test
+    void testFetch_BatchesLookupsWithinWindow() {
+        QuoteBatcher batcher = createBatcher();
+
+        List<AlphaVantageResponse> results = collect(List.of(batcher.fetch("IBM"), batcher.fetch("AAPL")));
+        assertTrue(bulkCalls.isEmpty());
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+
+        assertEquals(List.of(List.of("IBM", "AAPL")), bulkCalls);
+        assertEquals(2, results.size());
+        GlobalQuote quote = results.get(0).getGlobalQuote();
+        assertEquals("IBM", quote.symbol());
+        assertEquals(new BigDecimal("100.50"), quote.price());
+        assertEquals(LocalDate.of(2025, 7, 22), quote.latestTradingDay());
+        assertEquals(1.0, meterRegistry.get(QuoteBatcher.BATCH_COUNTER).tag("type", "bulk").counter().count());
+    }
+
+    @Test
+    void testFetch_SendsFullBatchWithoutWaiting() {
+        QuoteBatcher batcher = createBatcher();
+
+        List<AlphaVantageResponse> results = collect(List.of(
+                batcher.fetch("IBM"), batcher.fetch("AAPL"), batcher.fetch("MSFT"), batcher.fetch("TSLA")));
+
+        assertEquals(List.of(List.of("IBM", "AAPL", "MSFT")), bulkCalls);
+        assertEquals(3, results.size());
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+        assertEquals(List.of("TSLA"), singleCalls);
+        assertEquals(4, results.size());
+    }
+
+    @Test
+    void testFetch_SharesQuoteAmongLookupsOfSameSymbol() {
+        QuoteBatcher batcher = createBatcher();
+
+        List<AlphaVantageResponse> results = collect(List.of(batcher.fetch("IBM"), batcher.fetch("IBM")));
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+
+        assertEquals(List.of("IBM"), singleCalls);
+        assertTrue(bulkCalls.isEmpty());
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void testFetch_FetchesMissingSymbolsSingly() {
+        bulkResult = Mono.just(bulkResponse(List.of("IBM")));
+        QuoteBatcher batcher = createBatcher();
+
+        List<AlphaVantageResponse> results = collect(List.of(batcher.fetch("IBM"), batcher.fetch("XYZ")));
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+
+        assertEquals(List.of("XYZ"), singleCalls);
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void testFetch_FallsBackWithoutBulkEntitlement() {
+        bulkResult = Mono.error(new AlphaVantageException("This is a premium endpoint.", "API_ERROR"));
+        settings.setEntitlementRetry(Duration.ofMinutes(10));
+        QuoteBatcher batcher = createBatcher();
+
+        List<AlphaVantageResponse> results = collect(List.of(batcher.fetch("IBM"), batcher.fetch("AAPL")));
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+        assertEquals(2, results.size());
+        assertEquals(List.of("IBM", "AAPL"), singleCalls);
+
+        collect(List.of(batcher.fetch("MSFT"), batcher.fetch("TSLA")));
+        assertEquals(1, bulkCalls.size());
+        assertEquals(List.of("IBM", "AAPL", "MSFT", "TSLA"), singleCalls);
+
+        scheduler.advanceTimeBy(Duration.ofMinutes(10));
+        collect(List.of(batcher.fetch("MSFT"), batcher.fetch("TSLA")));
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+        assertEquals(2, bulkCalls.size());
+        assertEquals(2.0, meterRegistry.get(QuoteBatcher.BATCH_COUNTER).tag("type", "fallback").counter().count());
+    }
+
+    @Test
+    void testFetch_FailsBatchOnOtherErrors() {
+        bulkResult = Mono.error(new AlphaVantageException("Rate limited", AlphaVantageRateLimiter.RATE_LIMITED));
+        QuoteBatcher batcher = createBatcher();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        batcher.fetch("IBM").subscribe(response -> { }, errors::add);
+        batcher.fetch("AAPL").subscribe(response -> { }, errors::add);
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+
+        assertEquals(2, errors.size());
+        assertTrue(singleCalls.isEmpty());
+    }
+
+    @Test
+    void testFetch_DisabledGoesStraightToSingleFetch() {
+        settings.setEnabled(false);
+        QuoteBatcher batcher = createBatcher();
+
+        assertNotNull(batcher.fetch("IBM").block());
+
+        assertEquals(List.of("IBM"), singleCalls);
+        assertTrue(bulkCalls.isEmpty());
+    }
+}
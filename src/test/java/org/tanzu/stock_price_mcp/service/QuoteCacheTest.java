@@ -0,0 +1,136 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private QuoteCache createCache(Duration ttl, int maxSize) {
+        return createCache(ttl, maxSize, AlphaVantageConfig.Cache.StaleMode.NONE);
+    }
+
+    private QuoteCache createCache(Duration ttl, int maxSize, AlphaVantageConfig.Cache.StaleMode staleMode) {
+        AlphaVantageConfig.Cache settings = new AlphaVantageConfig.Cache();
+        settings.setTtl(ttl);
+        settings.setMaxSize(maxSize);
+        settings.setStaleMode(staleMode);
+        settings.setMaxStale(Duration.ofMinutes(5));
+        return new QuoteCache(settings, now::get);
+    }
+
+    @Test
+    void testGet_HitAndMissCounters() {
+        QuoteCache cache = createCache(Duration.ofSeconds(60), 10);
+        AlphaVantageResponse response = new AlphaVantageResponse();
+
+        assertNull(cache.get("IBM"));
+        cache.put("IBM", response);
+        assertSame(response, cache.get("IBM"));
+
+        QuoteCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void testGet_ExpiresAfterTtl() {
+        QuoteCache cache = createCache(Duration.ofSeconds(60), 10);
+        cache.put("IBM", new AlphaVantageResponse());
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertNull(cache.get("IBM"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        QuoteCache cache = createCache(Duration.ofSeconds(60), 2);
+        cache.put("IBM", new AlphaVantageResponse());
+        cache.put("AAPL", new AlphaVantageResponse());
+        cache.get("IBM");
+
+        cache.put("MSFT", new AlphaVantageResponse());
+
+        assertNotNull(cache.get("IBM"));
+        assertNull(cache.get("AAPL"));
+        assertNotNull(cache.get("MSFT"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testLookup_KeepsStaleEntryUntilMaxStale() {
+        QuoteCache cache = createCache(Duration.ofSeconds(60), 10, AlphaVantageConfig.Cache.StaleMode.WHILE_REVALIDATE);
+        AlphaVantageResponse response = new AlphaVantageResponse();
+        cache.put("IBM", response);
+
+        now.addAndGet(Duration.ofSeconds(90).toNanos());
+        QuoteCache.Lookup lookup = cache.lookup("IBM");
+
+        assertNull(cache.get("IBM"));
+        assertTrue(lookup.stale());
+        assertSame(response, lookup.response());
+        assertEquals(Duration.ofSeconds(90), lookup.age());
+        assertTrue(lookup.staleResponse().isStale());
+        assertFalse(response.isStale());
+
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertNull(cache.lookup("IBM"));
+        assertEquals(2, cache.stats().staleHits());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testRestore_KeepsAgeAndSkipsExpiredOrNewer() {
+        QuoteCache cache = createCache(Duration.ofSeconds(60), 10);
+        AlphaVantageResponse newer = new AlphaVantageResponse();
+        cache.put("MSFT", newer);
+
+        assertTrue(cache.restore(new QuoteCache.CachedQuote("IBM", new AlphaVantageResponse(), Duration.ofSeconds(50))));
+        assertFalse(cache.restore(new QuoteCache.CachedQuote("AAPL", new AlphaVantageResponse(), Duration.ofSeconds(60))));
+        assertFalse(cache.restore(new QuoteCache.CachedQuote("MSFT", new AlphaVantageResponse(), Duration.ZERO)));
+
+        assertSame(newer, cache.get("MSFT"));
+        assertNull(cache.get("AAPL"));
+        assertEquals(Duration.ofSeconds(50), cache.lookup("IBM").age());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertNull(cache.get("IBM"));
+    }
+
+    @Test
+    void testEntries_LeastRecentlyUsedFirst() {
+        QuoteCache cache = createCache(Duration.ofSeconds(60), 10);
+        cache.put("IBM", new AlphaVantageResponse());
+        cache.put("AAPL", new AlphaVantageResponse());
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        cache.get("IBM");
+
+        assertEquals(List.of("AAPL", "IBM"), cache.entries().stream().map(QuoteCache.CachedQuote::symbol).toList());
+        assertEquals(Duration.ofSeconds(5), cache.entries().get(0).age());
+    }
+
+    @Test
+    void testIsFresh_DoesNotCountLookups() {
+        QuoteCache cache = createCache(Duration.ofSeconds(60), 10, AlphaVantageConfig.Cache.StaleMode.WHILE_REVALIDATE);
+        cache.put("IBM", new AlphaVantageResponse());
+
+        assertTrue(cache.isFresh("IBM"));
+        assertFalse(cache.isFresh("AAPL"));
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertFalse(cache.isFresh("IBM"));
+
+        assertEquals(Duration.ofMinutes(6), cache.maxAge());
+        assertEquals(0, cache.stats().hits() + cache.stats().misses());
+    }
+}
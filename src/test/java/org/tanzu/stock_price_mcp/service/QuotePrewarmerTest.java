@@ -0,0 +1,184 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuotePrewarmerTest {
+
+    // Tuesday 2025-07-22, 10:00 and 20:00 in New York
+    private static final Instant MARKET_HOURS = Instant.parse("2025-07-22T14:00:00Z");
+    private static final Instant OFF_HOURS = Instant.parse("2025-07-23T00:00:00Z");
+
+    @Mock
+    private AlphaVantageService alphaVantageService;
+
+    private final AtomicLong now = new AtomicLong();
+    private final HotSymbolTracker hotSymbolTracker = new HotSymbolTracker();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AlphaVantageConfig.Prewarm settings;
+    private AlphaVantageConfig.RateLimit rateLimit;
+    private QuoteCache quoteCache;
+
+    @BeforeEach
+    void setUp() {
+        settings = new AlphaVantageConfig.Prewarm();
+        settings.setEnabled(true);
+        settings.setSymbols(List.of("ibm", "AAPL"));
+        rateLimit = new AlphaVantageConfig.RateLimit();
+        rateLimit.setRequestsPerMinute(60);
+        rateLimit.setRequestsPerDay(10_000);
+        quoteCache = new QuoteCache(new AlphaVantageConfig.Cache(), now::get);
+    }
+
+    private QuotePrewarmer createPrewarmer(AlphaVantageRateLimiter rateLimiter, Instant instant) {
+        return new QuotePrewarmer(alphaVantageService, hotSymbolTracker, rateLimiter, quoteCache, settings, meterRegistry,
+                Clock.fixed(instant, ZoneOffset.UTC), VirtualTimeScheduler.create());
+    }
+
+    private QuotePrewarmer createPrewarmer(Instant instant) {
+        return createPrewarmer(new AlphaVantageRateLimiter(rateLimit, 1, now::get), instant);
+    }
+
+    @Test
+    void testBuildWatchlist_CombinesConfiguredAndLearnedSymbols() {
+        hotSymbolTracker.record("MSFT");
+        hotSymbolTracker.record("MSFT");
+        hotSymbolTracker.record("IBM");
+        hotSymbolTracker.record("TSLA");
+        settings.setLearnedSymbols(2);
+        settings.setMaxSymbols(3);
+
+        assertEquals(List.of("IBM", "AAPL", "MSFT"), createPrewarmer(MARKET_HOURS).buildWatchlist());
+    }
+
+    @Test
+    void testTick_RefreshesWatchlistRoundRobin() {
+        when(alphaVantageService.refreshGlobalQuote(anyString())).thenReturn(Mono.just(new AlphaVantageResponse()));
+        QuotePrewarmer prewarmer = createPrewarmer(MARKET_HOURS);
+
+        prewarmer.tick().block();
+        prewarmer.tick().block();
+        prewarmer.tick().block();
+
+        verify(alphaVantageService, times(2)).refreshGlobalQuote("IBM");
+        verify(alphaVantageService, times(1)).refreshGlobalQuote("AAPL");
+        assertEquals(3, meterRegistry.get(QuotePrewarmer.REFRESH_COUNTER).tag("result", "success").counter().count());
+    }
+
+    @Test
+    void testTick_SkipsWithoutSpareRateLimitPermits() {
+        rateLimit.setRequestsPerMinute(2);
+        AlphaVantageRateLimiter rateLimiter = new AlphaVantageRateLimiter(rateLimit, 1, now::get);
+        rateLimiter.reserve();
+        QuotePrewarmer prewarmer = createPrewarmer(rateLimiter, MARKET_HOURS);
+
+        prewarmer.tick().block();
+
+        verify(alphaVantageService, never()).refreshGlobalQuote(anyString());
+        assertEquals(1, meterRegistry.get(QuotePrewarmer.REFRESH_COUNTER).tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void testTick_SurvivesRefreshErrors() {
+        when(alphaVantageService.refreshGlobalQuote(anyString()))
+                .thenReturn(Mono.error(new AlphaVantageException("Rate limited", AlphaVantageRateLimiter.RATE_LIMITED)));
+        QuotePrewarmer prewarmer = createPrewarmer(MARKET_HOURS);
+
+        prewarmer.tick().block();
+
+        assertEquals(1, meterRegistry.get(QuotePrewarmer.REFRESH_COUNTER).tag("result", "error").counter().count());
+    }
+
+    @Test
+    void testTickInterval_SpreadsPassAndSlowsOffHours() {
+        QuotePrewarmer marketHours = createPrewarmer(MARKET_HOURS);
+        QuotePrewarmer offHours = createPrewarmer(OFF_HOURS);
+        when(alphaVantageService.refreshGlobalQuote(anyString())).thenReturn(Mono.empty());
+        marketHours.tick().block();
+        offHours.tick().block();
+
+        assertEquals(Duration.ofSeconds(150), marketHours.tickInterval());
+        assertEquals(Duration.ofMinutes(30), offHours.tickInterval());
+    }
+
+    @Test
+    void testTickInterval_NeverExceedsBudgetShare() {
+        rateLimit.setRequestsPerMinute(5);
+        settings.setBudgetShare(0.5);
+        when(alphaVantageService.refreshGlobalQuote(anyString())).thenReturn(Mono.empty());
+        QuotePrewarmer prewarmer = createPrewarmer(MARKET_HOURS);
+        prewarmer.tick().block();
+        settings.setMarketHoursInterval(Duration.ofSeconds(10));
+
+        assertEquals(Duration.ofSeconds(24), prewarmer.tickInterval());
+    }
+
+    @Test
+    void testTick_SkipsSymbolsWithFreshQuotes() {
+        when(alphaVantageService.refreshGlobalQuote(anyString())).thenReturn(Mono.just(new AlphaVantageResponse()));
+        quoteCache.put("IBM", new AlphaVantageResponse());
+        QuotePrewarmer prewarmer = createPrewarmer(MARKET_HOURS);
+
+        prewarmer.tick().block();
+        prewarmer.tick().block();
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        prewarmer.tick().block();
+
+        verify(alphaVantageService, times(1)).refreshGlobalQuote("AAPL");
+        verify(alphaVantageService, times(1)).refreshGlobalQuote("IBM");
+        assertEquals(1, meterRegistry.get(QuotePrewarmer.REFRESH_COUNTER).tag("result", "fresh").counter().count());
+    }
+
+    @Test
+    void testTick_LeavesClientShareOfDailyPermits() {
+        rateLimit.setRequestsPerDay(10);
+        settings.setBudgetShare(0.5);
+        AlphaVantageRateLimiter rateLimiter = new AlphaVantageRateLimiter(rateLimit, 1, now::get);
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.reserve();
+        }
+        QuotePrewarmer prewarmer = createPrewarmer(rateLimiter, MARKET_HOURS);
+
+        prewarmer.tick().block();
+
+        verify(alphaVantageService, never()).refreshGlobalQuote(anyString());
+        assertEquals(1, meterRegistry.get(QuotePrewarmer.REFRESH_COUNTER).tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void testTickInterval_NeverExceedsDailyBudgetShare() {
+        rateLimit.setRequestsPerMinute(5);
+        rateLimit.setRequestsPerDay(25);
+        settings.setBudgetShare(0.5);
+        when(alphaVantageService.refreshGlobalQuote(anyString())).thenReturn(Mono.empty());
+        QuotePrewarmer prewarmer = createPrewarmer(MARKET_HOURS);
+        prewarmer.tick().block();
+
+        // 12.5 pre-warm refreshes a day
+        assertEquals(Duration.ofSeconds(6912), prewarmer.tickInterval());
+    }
+}
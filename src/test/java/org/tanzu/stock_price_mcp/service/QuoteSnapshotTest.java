@@ -0,0 +1,160 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class QuoteSnapshotTest {
+
+    private static final Instant WRITTEN_AT = Instant.parse("2025-07-22T14:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong();
+    private AlphaVantageConfig.Cache cacheSettings;
+    private AlphaVantageConfig.Snapshot settings;
+    private VirtualTimeScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        cacheSettings = new AlphaVantageConfig.Cache();
+        cacheSettings.setTtl(Duration.ofSeconds(60));
+        settings = new AlphaVantageConfig.Snapshot();
+        settings.setEnabled(true);
+        settings.setFile(directory.resolve("snapshots").resolve("quotes.snapshot"));
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    private QuoteSnapshot createSnapshot(QuoteCache cache, Instant instant) {
+        return new QuoteSnapshot(cache, settings, Clock.fixed(instant, ZoneOffset.UTC), scheduler);
+    }
+
+    private static AlphaVantageResponse quote(String symbol, String price) {
+        AlphaVantageResponse response = new AlphaVantageResponse();
+        response.setData(GlobalQuote.FIELD, new GlobalQuote(symbol, null, null, null, new BigDecimal(price), 1000L,
+                LocalDate.of(2025, 7, 21), null, null, null));
+        return response;
+    }
+
+    @Test
+    void testWriteAndLoad_RestoresQuotesWithTheirAge() {
+        QuoteCache cache = new QuoteCache(cacheSettings, now::get);
+        cache.put("IBM", quote("IBM", "189.8400"));
+        now.addAndGet(Duration.ofSeconds(20).toNanos());
+        cache.put("AAPL", quote("AAPL", "212.4800"));
+
+        assertEquals(2, createSnapshot(cache, WRITTEN_AT).write());
+
+        QuoteCache restarted = new QuoteCache(cacheSettings, now::get);
+        assertEquals(2, createSnapshot(restarted, WRITTEN_AT.plusSeconds(30)).load());
+        assertEquals(new BigDecimal("189.8400"), restarted.get("IBM").getGlobalQuote().price());
+        assertEquals(Duration.ofSeconds(50), restarted.lookup("IBM").age());
+        assertEquals(Duration.ofSeconds(30), restarted.lookup("AAPL").age());
+    }
+
+    @Test
+    void testLoad_SkipsQuotesPastTtl() {
+        QuoteCache cache = new QuoteCache(cacheSettings, now::get);
+        cache.put("IBM", quote("IBM", "189.8400"));
+        now.addAndGet(Duration.ofSeconds(50).toNanos());
+        cache.put("AAPL", quote("AAPL", "212.4800"));
+        createSnapshot(cache, WRITTEN_AT).write();
+
+        QuoteCache restarted = new QuoteCache(cacheSettings, now::get);
+
+        assertEquals(1, createSnapshot(restarted, WRITTEN_AT.plusSeconds(20)).load());
+        assertNull(restarted.get("IBM"));
+        assertNotNull(restarted.get("AAPL"));
+    }
+
+    @Test
+    void testLoad_MissingFileStartsCold() {
+        QuoteCache cache = new QuoteCache(cacheSettings, now::get);
+
+        assertEquals(0, createSnapshot(cache, WRITTEN_AT).load());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void testLoad_TruncatedFileRestoresCompleteRecords() throws IOException {
+        QuoteCache cache = new QuoteCache(cacheSettings, now::get);
+        cache.put("IBM", quote("IBM", "189.8400"));
+        cache.put("AAPL", quote("AAPL", "212.4800"));
+        createSnapshot(cache, WRITTEN_AT).write();
+        Path file = settings.getFile();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        QuoteCache restarted = new QuoteCache(cacheSettings, now::get);
+
+        assertEquals(1, createSnapshot(restarted, WRITTEN_AT).load());
+        assertNotNull(restarted.get("IBM"));
+    }
+
+    @Test
+    void testLoad_IgnoresUnknownFormat() throws IOException {
+        Files.createDirectories(settings.getFile().getParent());
+        Files.writeString(settings.getFile(), "not a snapshot");
+        QuoteCache cache = new QuoteCache(cacheSettings, now::get);
+
+        assertEquals(0, createSnapshot(cache, WRITTEN_AT).load());
+    }
+
+    @Test
+    void testStop_WritesFinalSnapshot() {
+        QuoteCache cache = new QuoteCache(cacheSettings, now::get);
+        settings.setInterval(Duration.ofHours(1));
+        QuoteSnapshot snapshot = createSnapshot(cache, WRITTEN_AT);
+        snapshot.start();
+        cache.put("IBM", quote("IBM", "189.8400"));
+
+        snapshot.stop();
+
+        assertFalse(snapshot.isRunning());
+        QuoteCache restarted = new QuoteCache(cacheSettings, now::get);
+        assertEquals(1, createSnapshot(restarted, WRITTEN_AT).load());
+    }
+
+    @Test
+    void testStart_KeepsWritingAfterLoadAndWriteFailures() {
+        QuoteCache cache = new QuoteCache(cacheSettings, now::get);
+        cache.put("IBM", quote("IBM", "189.8400"));
+        createSnapshot(cache, WRITTEN_AT).write();
+        QuoteCache failing = mock(QuoteCache.class);
+        when(failing.restore(any())).thenThrow(new IllegalStateException("restore failed"));
+        when(failing.entries())
+                .thenThrow(new IllegalStateException("entries failed"))
+                .thenReturn(List.of());
+        settings.setInterval(Duration.ofMinutes(1));
+        QuoteSnapshot snapshot = createSnapshot(failing, WRITTEN_AT);
+
+        snapshot.start();
+        scheduler.advanceTimeBy(Duration.ofMinutes(3));
+
+        assertTrue(snapshot.isRunning());
+        verify(failing, times(3)).entries();
+        snapshot.stop();
+    }
+}
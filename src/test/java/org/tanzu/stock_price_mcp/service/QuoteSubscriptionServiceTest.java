@@ -0,0 +1,155 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteSubscriptionServiceTest {
+
+    @Mock
+    private AlphaVantageService alphaVantageService;
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final AtomicInteger polls = new AtomicInteger();
+    private AlphaVantageConfig.Subscriptions settings;
+    private QuoteSubscriptionService subscriptionService;
+
+    @BeforeEach
+    void setUp() {
+        settings = new AlphaVantageConfig.Subscriptions();
+        settings.setPollInterval(Duration.ofSeconds(60));
+        subscriptionService = new QuoteSubscriptionService(alphaVantageService, settings, scheduler);
+    }
+
+    private static AlphaVantageResponse quote(String symbol, String price) {
+        AlphaVantageResponse response = new AlphaVantageResponse();
+        response.setData(GlobalQuote.FIELD, new GlobalQuote(symbol, null, null, null, new BigDecimal(price), 0,
+                null, null, null, null));
+        return response;
+    }
+
+    private void stubPrices(String symbol, String... prices) {
+        when(alphaVantageService.getGlobalQuote(symbol)).thenAnswer(inv -> {
+            int poll = polls.getAndIncrement();
+            return Mono.just(quote(symbol, prices[Math.min(poll, prices.length - 1)]));
+        });
+    }
+
+    @Test
+    void testSubscribe_PollsOncePerIntervalForAllSubscribers() {
+        stubPrices("IBM", "189.84", "190.10", "190.10", "191.00");
+        List<AlphaVantageResponse> first = new CopyOnWriteArrayList<>();
+        List<AlphaVantageResponse> second = new CopyOnWriteArrayList<>();
+
+        Disposable a = subscriptionService.subscribe("IBM").subscribe(first::add);
+        Disposable b = subscriptionService.subscribe("ibm").subscribe(second::add);
+        scheduler.advanceTimeBy(Duration.ofSeconds(180));
+
+        assertEquals(4, polls.get());
+        assertEquals(1, subscriptionService.activeSymbols());
+        assertEquals(2, subscriptionService.activeSubscribers());
+        // The unchanged third poll is not pushed; the late subscriber got the latest quote on join
+        assertEquals(List.of("189.84", "190.10", "191.00"), first.stream()
+                .map(response -> response.getGlobalQuote().price().toPlainString()).toList());
+        assertEquals(first, second);
+
+        a.dispose();
+        b.dispose();
+    }
+
+    @Test
+    void testSubscribe_StopsPollingAfterLastSubscriberLeaves() {
+        stubPrices("IBM", "189.84");
+
+        Disposable a = subscriptionService.subscribe("IBM").subscribe();
+        Disposable b = subscriptionService.subscribe("IBM").subscribe();
+        a.dispose();
+        scheduler.advanceTimeBy(Duration.ofSeconds(60));
+        assertEquals(2, polls.get());
+
+        b.dispose();
+        scheduler.advanceTimeBy(Duration.ofSeconds(300));
+
+        assertEquals(2, polls.get());
+        assertEquals(0, subscriptionService.activeSymbols());
+        assertEquals(0, subscriptionService.activeSubscribers());
+    }
+
+    @Test
+    void testSubscribe_KeepsPollingAfterUpstreamError() {
+        when(alphaVantageService.getGlobalQuote("IBM")).thenAnswer(inv -> polls.getAndIncrement() == 0
+                ? Mono.error(new AlphaVantageException("Rate limited", AlphaVantageRateLimiter.RATE_LIMITED))
+                : Mono.just(quote("IBM", "189.84")));
+        List<AlphaVantageResponse> received = new CopyOnWriteArrayList<>();
+
+        Disposable subscription = subscriptionService.subscribe("IBM").subscribe(received::add);
+        scheduler.advanceTimeBy(Duration.ofSeconds(60));
+
+        assertEquals(1, received.size());
+        subscription.dispose();
+    }
+
+    @Test
+    void testSubscribe_LimitsDistinctSymbols() {
+        settings.setMaxSymbols(1);
+        subscriptionService = new QuoteSubscriptionService(alphaVantageService, settings, scheduler);
+        stubPrices("IBM", "189.84");
+
+        Disposable subscription = subscriptionService.subscribe("IBM").subscribe();
+
+        StepVerifier.create(subscriptionService.subscribe("AAPL"))
+                .expectErrorSatisfies(error -> assertEquals(QuoteSubscriptionService.SUBSCRIPTION_LIMIT,
+                        ((AlphaVantageException) error).getErrorCode()))
+                .verify();
+        AlphaVantageException rejected = assertThrows(AlphaVantageException.class,
+                () -> subscriptionService.checkCapacity(List.of("IBM", "AAPL")));
+        assertEquals(QuoteSubscriptionService.SUBSCRIPTION_LIMIT, rejected.getErrorCode());
+        subscriptionService.checkCapacity(List.of("IBM"));
+        assertEquals(1, subscriptionService.activeSymbols());
+
+        subscription.dispose();
+        assertEquals(0, subscriptionService.activeSymbols());
+        stubPrices("AAPL", "227.52");
+        StepVerifier.create(subscriptionService.subscribe("AAPL").take(1))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testSubscribe_ReconnectAfterLastLeaveStartsOnePoller() {
+        stubPrices("IBM", "189.84");
+
+        Disposable first = subscriptionService.subscribe("IBM").subscribe();
+        first.dispose();
+        Disposable second = subscriptionService.subscribe("IBM").subscribe();
+        Disposable third = subscriptionService.subscribe("IBM").subscribe();
+        scheduler.advanceTimeBy(Duration.ofSeconds(60));
+
+        // One poll from the first stream, then one stream polling at 0s and 60s
+        assertEquals(3, polls.get());
+        assertEquals(1, subscriptionService.activeSymbols());
+        second.dispose();
+        third.dispose();
+        assertEquals(0, subscriptionService.activeSymbols());
+    }
+}
@@ -0,0 +1,161 @@
+package org.tanzu.stock_price_mcp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
+import org.tanzu.stock_price_mcp.model.GlobalQuote;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedQuoteCacheTest {
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AlphaVantageConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new AlphaVantageConfig();
+        config.getSharedCache().setEnabled(true);
+        config.getSharedCache().setPollInterval(Duration.ofMillis(10));
+        config.getSharedCache().setLockWait(Duration.ofSeconds(2));
+    }
+
+    private static AlphaVantageResponse quote(String symbol) {
+        AlphaVantageResponse response = new AlphaVantageResponse();
+        response.setData(GlobalQuote.FIELD, new GlobalQuote(symbol, null, null, null, new BigDecimal("189.84"), 100,
+                null, null, null, null));
+        return response;
+    }
+
+    private Supplier<Mono<AlphaVantageResponse>> fetch(String symbol, Duration latency) {
+        return () -> Mono.fromSupplier(() -> {
+            fetches.incrementAndGet();
+            return quote(symbol);
+        }).delayElement(latency);
+    }
+
+    @Test
+    void testLoad_InstancesShareOneUpstreamFetch() {
+        SharedQuoteStore store = new InMemorySharedQuoteStore();
+        SharedQuoteCache first = new SharedQuoteCache(store, config, meterRegistry);
+        SharedQuoteCache second = new SharedQuoteCache(store, config, meterRegistry);
+
+        List<AlphaVantageResponse> responses = Flux.merge(
+                        first.load("IBM", fetch("IBM", Duration.ofMillis(100))),
+                        second.load("IBM", fetch("IBM", Duration.ofMillis(100))))
+                .map(QuoteCache.CachedQuote::response)
+                .collectList()
+                .block();
+        AlphaVantageResponse later = second.load("IBM", fetch("IBM", Duration.ZERO)).block().response();
+
+        assertEquals(1, fetches.get());
+        assertEquals(2, responses.size());
+        assertEquals(responses.get(0).getGlobalQuote(), responses.get(1).getGlobalQuote());
+        assertEquals(responses.get(0).getGlobalQuote(), later.getGlobalQuote());
+        assertEquals(1, meterRegistry.get("alphavantage.shared.cache.lock.waits").counter().count());
+        assertEquals(1, meterRegistry.get(SharedQuoteCache.REQUEST_COUNTER).tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testLoad_FetchesWhenLockHolderNeverDelivers() {
+        config.getSharedCache().setLockWait(Duration.ofMillis(50));
+        SharedQuoteStore store = new InMemorySharedQuoteStore();
+        store.tryLock("stock-price-mcp:quote:IBM:lock", "other-instance", Duration.ofSeconds(10)).block();
+        SharedQuoteCache cache = new SharedQuoteCache(store, config, meterRegistry);
+
+        StepVerifier.create(cache.load("IBM", fetch("IBM", Duration.ZERO)))
+                .assertNext(quote -> assertEquals("IBM", quote.response().getGlobalQuote().symbol()))
+                .verifyComplete();
+
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void testLoad_FallsBackToUpstreamWhenStoreFails() {
+        SharedQuoteStore broken = new InMemorySharedQuoteStore() {
+            @Override
+            public Mono<byte[]> get(String key) {
+                return Mono.error(new IllegalStateException("Connection refused"));
+            }
+
+            @Override
+            public Mono<Boolean> tryLock(String key, String owner, Duration ttl) {
+                return Mono.error(new IllegalStateException("Connection refused"));
+            }
+        };
+        SharedQuoteCache cache = new SharedQuoteCache(broken, config, meterRegistry);
+
+        StepVerifier.create(cache.load("IBM", fetch("IBM", Duration.ZERO)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(1, fetches.get());
+        assertEquals(1, meterRegistry.get(SharedQuoteCache.ERROR_COUNTER).tag("operation", "read").counter().count());
+    }
+
+    @Test
+    void testLoad_DisabledCallsUpstreamDirectly() {
+        config.getSharedCache().setEnabled(false);
+        SharedQuoteStore store = new InMemorySharedQuoteStore();
+        SharedQuoteCache cache = new SharedQuoteCache(store, config, meterRegistry);
+
+        cache.load("IBM", fetch("IBM", Duration.ZERO)).block();
+        cache.load("IBM", fetch("IBM", Duration.ZERO)).block();
+
+        assertEquals(2, fetches.get());
+        assertNull(store.get("stock-price-mcp:quote:IBM").block());
+    }
+
+    @Test
+    void testLoad_SharedQuoteKeepsItsAge() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        config.getCache().setTtl(Duration.ofSeconds(60));
+        SharedQuoteStore store = new InMemorySharedQuoteStore();
+        SharedQuoteCache cache = new SharedQuoteCache(store, config, meterRegistry, now::get);
+        cache.load("IBM", fetch("IBM", Duration.ZERO)).block();
+
+        now.addAndGet(Duration.ofSeconds(45).toMillis());
+        QuoteCache.CachedQuote shared = cache.load("IBM", fetch("IBM", Duration.ZERO)).block();
+
+        assertEquals(1, fetches.get());
+        assertEquals(Duration.ofSeconds(45), shared.age());
+
+        // As old as the per-instance TTL: a miss, so a revalidation goes upstream
+        now.addAndGet(Duration.ofSeconds(15).toMillis());
+        QuoteCache.CachedQuote refreshed = cache.load("IBM", fetch("IBM", Duration.ZERO)).block();
+
+        assertEquals(2, fetches.get());
+        assertEquals(Duration.ZERO, refreshed.age());
+    }
+
+    @Test
+    void testLoad_FallsBackWhenRedisIsUnreachable() {
+        // Nothing listens on port 1; constructing the store must not connect
+        try (RedisSharedQuoteStore store = new RedisSharedQuoteStore("redis://localhost:1")) {
+            SharedQuoteCache cache = new SharedQuoteCache(store, config, meterRegistry);
+
+            StepVerifier.create(cache.load("IBM", fetch("IBM", Duration.ZERO)))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            StepVerifier.create(cache.load("IBM", fetch("IBM", Duration.ZERO)))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        assertEquals(2, fetches.get());
+        assertEquals(2, meterRegistry.get(SharedQuoteCache.ERROR_COUNTER).tag("operation", "read").counter().count());
+    }
+}
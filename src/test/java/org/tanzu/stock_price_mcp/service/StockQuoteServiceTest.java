@@ -9,16 +9,13 @@ import org.tanzu.stock_price_mcp.model.AlphaVantageResponse;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
-import java.util.Collections;
-import java.util.Set;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.mock;
 
 @ExtendWith(MockitoExtension.class)
 class StockQuoteServiceTest {
@@ -26,14 +23,11 @@ class StockQuoteServiceTest {
     @Mock
     private AlphaVantageService alphaVantageService;
 
-    @Mock
-    private Validator validator;
-
     private StockQuoteService stockQuoteService;
 
     @BeforeEach
     void setUp() {
-        stockQuoteService = new StockQuoteService(alphaVantageService, validator);
+        stockQuoteService = new StockQuoteService(alphaVantageService, new SymbolTable(100, null), new HotSymbolTracker());
     }
 
     @Test
@@ -43,6 +37,7 @@ class StockQuoteServiceTest {
         assertTrue(stockQuoteService.isValidSymbol("MSFT"));
         assertTrue(stockQuoteService.isValidSymbol("A"));
         assertTrue(stockQuoteService.isValidSymbol("GOOGL"));
+        assertTrue(stockQuoteService.isValidSymbol(" aapl "));
     }
 
     @Test
@@ -63,7 +58,6 @@ class StockQuoteServiceTest {
         AlphaVantageResponse mockResponse = new AlphaVantageResponse();
         mockResponse.setData("test", "data");
 
-        when(validator.validate(any())).thenReturn(Collections.emptySet());
         when(alphaVantageService.getGlobalQuote(anyString())).thenReturn(Mono.just(mockResponse));
 
         // Act & Assert
@@ -74,16 +68,32 @@ class StockQuoteServiceTest {
 
     @Test
     void testGetStockQuote_InvalidSymbol() {
-        // Arrange - Mock the validator to return validation errors
-        @SuppressWarnings("unchecked")
-        ConstraintViolation<Object> violation = mock(ConstraintViolation.class);
-        when(violation.getMessage()).thenReturn("Invalid symbol format");
-        when(validator.validate(any())).thenReturn(Set.of(violation));
-
         // Act & Assert - Invalid symbol should be caught by validation
         StepVerifier.create(stockQuoteService.getStockQuote("INVALID123"))
-                .expectError(IllegalArgumentException.class)
+                .expectErrorMessage("Stock symbol must be 1-5 letters")
+                .verify();
+        verify(alphaVantageService, never()).getGlobalQuote(anyString());
+    }
+
+    @Test
+    void testGetStockQuote_NormalizesSymbolOnce() {
+        AlphaVantageResponse mockResponse = new AlphaVantageResponse();
+        when(alphaVantageService.getGlobalQuote(eq("IBM"))).thenReturn(Mono.just(mockResponse));
+
+        StepVerifier.create(stockQuoteService.getStockQuote(" ibm "))
+                .expectNext(mockResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetStockQuote_RejectsUnlistedSymbol() {
+        int[] listed = {SymbolTable.encode("AAPL"), SymbolTable.encode("IBM")};
+        stockQuoteService = new StockQuoteService(alphaVantageService, new SymbolTable(100, listed), new HotSymbolTracker());
+
+        StepVerifier.create(stockQuoteService.getStockQuote("ZZZZ"))
+                .expectErrorMessage("Unknown stock symbol: ZZZZ")
                 .verify();
+        verify(alphaVantageService, never()).getGlobalQuote(anyString());
     }
 
     @Test
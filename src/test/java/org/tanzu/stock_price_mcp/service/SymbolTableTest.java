@@ -0,0 +1,89 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTableTest {
+
+    @Test
+    void testEncode_TrimsAndIgnoresCase() {
+        assertEquals(SymbolTable.encode("IBM"), SymbolTable.encode(" ibm\t"));
+        assertEquals("GOOGL", SymbolTable.decode(SymbolTable.encode("googl")));
+        assertEquals("A", SymbolTable.decode(SymbolTable.encode("a")));
+    }
+
+    @Test
+    void testEncode_RejectsMalformedSymbols() {
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode(null));
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode(""));
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode("   "));
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode("TOOLONG"));
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode("IBM1"));
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode("BRK.B"));
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode("I BM"));
+        assertEquals(SymbolTable.INVALID, SymbolTable.encode("ÄBC"));
+    }
+
+    @Test
+    void testEncode_SortsLikeSymbols() {
+        assertTrue(SymbolTable.encode("A") < SymbolTable.encode("AA"));
+        assertTrue(SymbolTable.encode("AA") < SymbolTable.encode("AB"));
+        assertTrue(SymbolTable.encode("AZZZZ") < SymbolTable.encode("B"));
+        assertTrue(SymbolTable.encode("ZZZZZ") > 0);
+    }
+
+    @Test
+    void testNormalize_ReturnsOneInstancePerSymbol() {
+        SymbolTable table = new SymbolTable(100, null);
+
+        String first = table.normalize(" msft ");
+
+        assertEquals("MSFT", first);
+        assertSame(first, table.normalize("MSFT"));
+        assertSame(first, table.normalize("Msft"));
+        assertNull(table.normalize("MSFT1"));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testNormalize_StopsInterningAtCapacity() {
+        SymbolTable table = new SymbolTable(2, null);
+        table.normalize("A");
+        table.normalize("B");
+
+        String c = table.normalize("C");
+
+        assertEquals("C", c);
+        assertNotSame(c, table.normalize("C"));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void testReadListing_TakesFirstColumnAndSkipsOthers() throws IOException {
+        String csv = """
+                symbol,name,exchange,assetType,ipoDate,delistingDate,status
+                IBM,International Business Machines Corp,NYSE,Stock,1962-01-02,null,Active
+                BRK-B,Berkshire Hathaway Inc,NYSE,Stock,1996-05-09,null,Active
+                AAPL,Apple Inc,NASDAQ,Stock,1980-12-12,null,Active
+                IBM,International Business Machines Corp,NYSE,Stock,1962-01-02,null,Active
+                """;
+
+        int[] listed = SymbolTable.readListing(new StringReader(csv));
+
+        assertArrayEquals(new int[]{SymbolTable.encode("AAPL"), SymbolTable.encode("IBM")}, listed);
+    }
+
+    @Test
+    void testIsValid_ChecksReferenceList() {
+        SymbolTable table = new SymbolTable(100, new int[]{SymbolTable.encode("AAPL"), SymbolTable.encode("IBM")});
+
+        assertTrue(table.isValid("ibm"));
+        assertFalse(table.isValid("MSFT"));
+        assertNull(table.normalize("MSFT"));
+        assertEquals(2, table.listedCount());
+    }
+}
@@ -0,0 +1,146 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+import org.tanzu.stock_price_mcp.model.Bar;
+import org.tanzu.stock_price_mcp.model.TimeSeriesDecoder;
+import org.tanzu.stock_price_mcp.model.TimeSeriesInterval;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeSeriesServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-07-25T21:00:00Z");
+
+    @Mock
+    private AlphaVantageService alphaVantageService;
+
+    @TempDir
+    Path directory;
+
+    private BarStore barStore;
+    private List<Bar> dailyBars;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        barStore = new BarStore(directory, 16);
+        try (InputStream in = getClass().getResourceAsStream("/alphavantage/time-series-daily-IBM.json")) {
+            TimeSeriesDecoder decoder = new TimeSeriesDecoder(TimeSeriesInterval.DAILY, null, null);
+            dailyBars = new ArrayList<>(decoder.decode(ByteBuffer.wrap(in.readAllBytes())));
+            dailyBars.addAll(decoder.finish());
+        }
+    }
+
+    private TimeSeriesService createService(Instant now) {
+        return new TimeSeriesService(alphaVantageService, barStore, new RequestCoalescer(), Duration.ofHours(1),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    /**
+     * Mimic the streaming decode: newest first, stopping before the requested start date
+     */
+    private Flux<Bar> barsFrom(LocalDate from) {
+        return Flux.fromIterable(dailyBars).takeWhile(bar -> from == null || !bar.date().isBefore(from));
+    }
+
+    @Test
+    void testGetBars_FillsStoreOnceThenReadsLocally() {
+        when(alphaVantageService.streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "full", null, null))
+                .thenReturn(barsFrom(null));
+        TimeSeriesService service = createService(NOW);
+
+        List<Bar> first = service.getBars("ibm", TimeSeriesInterval.DAILY, null, null, 5).block();
+        List<Bar> second = service.getBars("IBM", TimeSeriesInterval.DAILY, LocalDate.of(2025, 7, 21), null, 100).block();
+
+        assertEquals(5, first.size());
+        assertEquals(LocalDate.of(2025, 7, 25), first.get(4).date());
+        assertEquals(189.84, first.get(4).close());
+        assertEquals(5, second.size());
+        assertEquals(100, barStore.size("IBM", TimeSeriesInterval.DAILY));
+        verify(alphaVantageService, times(1)).streamTimeSeries(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetBars_RefreshesIncrementallyWhenStale() {
+        LocalDate lastDate = LocalDate.of(2025, 7, 25);
+        when(alphaVantageService.streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "full", null, null))
+                .thenReturn(barsFrom(null));
+        when(alphaVantageService.streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "compact", lastDate, null))
+                .thenReturn(barsFrom(lastDate));
+        createService(NOW).getBars("IBM", TimeSeriesInterval.DAILY, null, null, 5).block();
+
+        createService(NOW.plus(Duration.ofHours(2))).getBars("IBM", TimeSeriesInterval.DAILY, null, null, 5).block();
+
+        verify(alphaVantageService).streamTimeSeries(TimeSeriesInterval.DAILY, "IBM", "compact", lastDate, null);
+        assertEquals(100, barStore.size("IBM", TimeSeriesInterval.DAILY));
+    }
+
+    @Test
+    void testGetBars_CoalescesConcurrentRefreshes() {
+        when(alphaVantageService.streamTimeSeries(eq(TimeSeriesInterval.DAILY), eq("IBM"), eq("full"), isNull(), isNull()))
+                .thenReturn(barsFrom(null).delaySubscription(Duration.ofMillis(50)));
+        TimeSeriesService service = createService(NOW);
+
+        Flux.merge(service.getBars("IBM", TimeSeriesInterval.DAILY, null, null, 5),
+                        service.getBars("IBM", TimeSeriesInterval.DAILY, null, null, 5))
+                .blockLast();
+
+        verify(alphaVantageService, times(1)).streamTimeSeries(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetBars_ServesStoredBarsWhenRefreshFails() {
+        barStore.merge("IBM", TimeSeriesInterval.DAILY, dailyBars.reversed(), NOW.minus(Duration.ofHours(2)));
+        when(alphaVantageService.streamTimeSeries(any(), any(), any(), any(), any()))
+                .thenReturn(Flux.error(new AlphaVantageException("Rate limited", AlphaVantageRateLimiter.RATE_LIMITED)));
+
+        List<Bar> bars = createService(NOW).getBars("IBM", TimeSeriesInterval.DAILY, null, null, 3).block();
+
+        assertEquals(3, bars.size());
+    }
+
+    @Test
+    void testGetBars_FailsWhenNothingStored() {
+        when(alphaVantageService.streamTimeSeries(any(), any(), any(), any(), any()))
+                .thenReturn(Flux.error(new AlphaVantageException("Rate limited", AlphaVantageRateLimiter.RATE_LIMITED)));
+
+        StepVerifier.create(createService(NOW).getBars("IBM", TimeSeriesInterval.DAILY, null, null, 3))
+                .expectError(AlphaVantageException.class)
+                .verify();
+    }
+
+    @Test
+    void testOutputSize_FullOnlyWhenCompactCannotReachLastBar() {
+        LocalDate today = LocalDate.of(2025, 7, 25);
+
+        assertEquals("full", TimeSeriesService.outputSize(null, today));
+        assertEquals("compact", TimeSeriesService.outputSize(today.minusDays(3), today));
+        assertEquals("full", TimeSeriesService.outputSize(today.minusDays(TimeSeriesService.COMPACT_DAYS + 1), today));
+    }
+}
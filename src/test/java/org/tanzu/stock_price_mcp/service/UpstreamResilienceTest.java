@@ -0,0 +1,163 @@
+package org.tanzu.stock_price_mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.tanzu.stock_price_mcp.config.AlphaVantageConfig;
+import org.tanzu.stock_price_mcp.exception.AlphaVantageException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamResilienceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private AlphaVantageConfig.Resilience settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new AlphaVantageConfig.Resilience();
+        settings.setMinLatencySamples(10);
+        settings.setSlidingWindow(10);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setOpenDuration(Duration.ofSeconds(30));
+        settings.setHalfOpenCalls(2);
+    }
+
+    private UpstreamResilience createResilience() {
+        return new UpstreamResilience(settings, now::get);
+    }
+
+    private static void recordLatencies(UpstreamResilience resilience, int count, Duration latency) {
+        for (int i = 0; i < count; i++) {
+            resilience.onSuccess(latency.toNanos());
+        }
+    }
+
+    @Test
+    void testTimeout_UsesMaxUntilEnoughSamples() {
+        UpstreamResilience resilience = createResilience();
+        recordLatencies(resilience, 9, Duration.ofMillis(100));
+
+        assertEquals(Duration.ofSeconds(30), resilience.timeout());
+    }
+
+    @Test
+    void testTimeout_AdaptsToP99WithinBounds() {
+        UpstreamResilience resilience = createResilience();
+        recordLatencies(resilience, 99, Duration.ofMillis(500));
+        recordLatencies(resilience, 1, Duration.ofSeconds(1));
+
+        assertEquals(Duration.ofSeconds(2), resilience.timeout());
+
+        recordLatencies(resilience, 100, Duration.ofSeconds(1));
+        assertEquals(Duration.ofSeconds(3), resilience.timeout());
+
+        recordLatencies(resilience, 200, Duration.ofSeconds(20));
+        assertEquals(Duration.ofSeconds(30), resilience.timeout());
+    }
+
+    @Test
+    void testHedgeDelay_OnlyWhenEnabledAndSampled() {
+        UpstreamResilience resilience = createResilience();
+        recordLatencies(resilience, 95, Duration.ofMillis(100));
+        recordLatencies(resilience, 5, Duration.ofMillis(900));
+        assertNull(resilience.hedgeDelay());
+
+        settings.setHedgingEnabled(true);
+
+        assertEquals(Duration.ofMillis(100), resilience.hedgeDelay());
+    }
+
+    @Test
+    void testBreaker_OpensAtFailureRateAndFailsFast() {
+        UpstreamResilience resilience = createResilience();
+        resilience.onSuccess(1);
+        resilience.onFailure();
+        resilience.onFailure();
+        assertEquals(UpstreamResilience.State.CLOSED, resilience.state());
+
+        resilience.onSuccess(1);
+        resilience.onFailure();
+
+        assertEquals(UpstreamResilience.State.OPEN, resilience.state());
+        assertFalse(resilience.tryAcquire());
+    }
+
+    @Test
+    void testBreaker_HalfOpenClosesAfterTrialSuccesses() {
+        UpstreamResilience resilience = createResilience();
+        for (int i = 0; i < 4; i++) {
+            resilience.onFailure();
+        }
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(resilience.tryAcquire());
+        assertTrue(resilience.tryAcquire());
+        assertFalse(resilience.tryAcquire());
+        resilience.onSuccess(1);
+        resilience.onSuccess(1);
+
+        assertEquals(UpstreamResilience.State.CLOSED, resilience.state());
+        assertEquals(0, resilience.snapshot().bufferedCalls());
+    }
+
+    @Test
+    void testBreaker_HalfOpenReopensOnFailure() {
+        UpstreamResilience resilience = createResilience();
+        for (int i = 0; i < 4; i++) {
+            resilience.onFailure();
+        }
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(resilience.tryAcquire());
+        resilience.onFailure();
+
+        assertEquals(UpstreamResilience.State.OPEN, resilience.state());
+        assertFalse(resilience.tryAcquire());
+    }
+
+    @Test
+    void testBreaker_IgnoredCallReturnsTrialPermit() {
+        UpstreamResilience resilience = createResilience();
+        for (int i = 0; i < 4; i++) {
+            resilience.onFailure();
+        }
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(resilience.tryAcquire());
+        assertTrue(resilience.tryAcquire());
+
+        resilience.onIgnored();
+
+        assertTrue(resilience.tryAcquire());
+    }
+
+    @Test
+    void testBreaker_Disabled() {
+        settings.setCircuitBreakerEnabled(false);
+        UpstreamResilience resilience = createResilience();
+        for (int i = 0; i < 10; i++) {
+            resilience.onFailure();
+        }
+
+        assertTrue(resilience.tryAcquire());
+        assertEquals(UpstreamResilience.State.CLOSED, resilience.state());
+    }
+
+    @Test
+    void testIsFailure_OnlyUnreachableOrFailingUpstream() {
+        assertTrue(UpstreamResilience.isFailure(new ConnectException("Connection refused")));
+        assertTrue(UpstreamResilience.isFailure(new TimeoutException()));
+        assertTrue(UpstreamResilience.isFailure(WebClientResponseException.create(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", null, null, null)));
+        assertFalse(UpstreamResilience.isFailure(WebClientResponseException.create(
+                HttpStatus.NOT_FOUND.value(), "Not Found", null, null, null)));
+        assertFalse(UpstreamResilience.isFailure(new AlphaVantageException("Invalid API call", "API_ERROR")));
+    }
+}